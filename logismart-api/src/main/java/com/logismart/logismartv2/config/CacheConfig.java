@@ -0,0 +1,64 @@
+package com.logismart.logismartv2.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Local Caffeine caches. Each cache is registered explicitly with its own size and TTL;
+ * entries are also evicted by the owning service when the underlying data changes.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DELIVERY_PERSON_STATS = "deliveryPersonStats";
+
+    public static final String PARCEL_SEARCH_COUNTS = "parcelSearchCounts";
+
+    public static final String PARCELS = "parcels";
+
+    @Value("${app.cache.delivery-person-stats.ttl-seconds:60}")
+    private long deliveryPersonStatsTtlSeconds;
+
+    @Value("${app.cache.delivery-person-stats.max-size:10000}")
+    private long deliveryPersonStatsMaxSize;
+
+    @Value("${app.cache.parcel-search-counts.ttl-seconds:30}")
+    private long parcelSearchCountsTtlSeconds;
+
+    @Value("${app.cache.parcel-search-counts.max-size:1000}")
+    private long parcelSearchCountsMaxSize;
+
+    @Value("${app.cache.parcels.ttl-seconds:300}")
+    private long parcelsTtlSeconds;
+
+    @Value("${app.cache.parcels.max-size:10000}")
+    private long parcelsMaxSize;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(DELIVERY_PERSON_STATS, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(deliveryPersonStatsTtlSeconds))
+                .maximumSize(deliveryPersonStatsMaxSize)
+                .build());
+        cacheManager.registerCustomCache(PARCEL_SEARCH_COUNTS, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(parcelSearchCountsTtlSeconds))
+                .maximumSize(parcelSearchCountsMaxSize)
+                .build());
+        // Hit/miss counts are published as cache.gets{cache=parcels} through the actuator metrics
+        cacheManager.registerCustomCache(PARCELS, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(parcelsTtlSeconds))
+                .maximumSize(parcelsMaxSize)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,24 @@
+package com.logismart.logismartv2.config;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.logismart.logismartv2.repository.ParcelFieldSet;
+
+/**
+ * Jackson side of a {@link ParcelFieldSet}: the {@link #FILTER_ID} filter on ParcelResponseDTO,
+ * serializing only the requested fields.
+ */
+public final class ParcelFieldFilters {
+
+    public static final String FILTER_ID = "parcelFields";
+
+    private ParcelFieldFilters() {
+    }
+
+    public static FilterProvider of(ParcelFieldSet fieldSet) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, fieldSet.isAll()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fieldSet.getFields()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.logismart.logismartv2.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the nightly parcel counter repair.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -12,9 +12,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -76,6 +78,23 @@ public class DeliveryHistoryController {
         return ResponseEntity.ok(histories);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all delivery history entries as NDJSON",
+            description = "Streams every delivery history entry as one JSON document per line, " +
+                    "in constant memory whatever the number of rows"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportDeliveryHistory() {
+        log.info("REST: Exporting all delivery history entries");
+        StreamingResponseBody body = deliveryHistoryService::exportAll;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/parcel/{parcelId}")
     @Operation(
             summary = "Get history timeline for a parcel",
@@ -1,13 +1,22 @@
 package com.logismart.logismartv2.controller;
 
 import com.logismart.logismartv2.dto.deliveryhistory.DeliveryHistoryResponseDTO;
+import com.logismart.logismartv2.dto.deliveryhistory.ParcelHistoryDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelBulkResultDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelCreateDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelCreateWithRecipientDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelCursorPageDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanResultDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelUpdateDTO;
 import com.logismart.logismartv2.entity.ParcelPriority;
 import com.logismart.logismartv2.entity.ParcelStatus;
 import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.repository.ParcelAccess;
+import com.logismart.logismartv2.repository.ParcelFieldSet;
+import com.logismart.logismartv2.service.IdempotencyService;
+import com.logismart.logismartv2.service.ParcelBulkService;
 import com.logismart.logismartv2.service.ParcelService;
 import com.logismart.security.entity.User;
 import com.logismart.security.service.CustomOAuth2User;
@@ -21,15 +30,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/parcels")
@@ -39,6 +55,15 @@ import java.util.Map;
 public class ParcelController {
 
     private final ParcelService parcelService;
+    private final ParcelBulkService parcelBulkService;
+    private final IdempotencyService idempotencyService;
+
+    // Strong ETag of a versioned representation: a sparse fieldset is a different representation
+    private static String eTag(String version, String fields) {
+        ParcelFieldSet fieldSet = ParcelFieldSet.parse(fields);
+        String representation = fieldSet.isAll() ? "" : "-" + Integer.toHexString(fieldSet.toString().hashCode());
+        return "\"" + version + representation + "\"";
+    }
 
     private String extractUserId(org.springframework.security.core.Authentication authentication) {
         Object principal = authentication.getPrincipal();
@@ -50,6 +75,27 @@ public class ParcelController {
         throw new BadRequestException("Unable to determine user identity");
     }
 
+    // 201 for the first request with an Idempotency-Key and for its replays, which are flagged
+    private static ResponseEntity<ParcelResponseDTO> created(IdempotencyService.Result<ParcelResponseDTO> result) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.response());
+    }
+
+    private ParcelAccess extractAccess(org.springframework.security.core.Authentication authentication) {
+        var authorities = authentication.getAuthorities();
+        if (authorities.stream().anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"))) {
+            return ParcelAccess.ALL;
+        }
+        if (authorities.stream().anyMatch(a -> a.getAuthority().equals("ROLE_CLIENT"))) {
+            return ParcelAccess.SENDER;
+        }
+        if (authorities.stream().anyMatch(a -> a.getAuthority().equals("ROLE_LIVREUR"))) {
+            return ParcelAccess.DELIVERY_PERSON;
+        }
+        throw new BadRequestException("Invalid role for this endpoint");
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT')")
     @Operation(
@@ -57,15 +103,20 @@ public class ParcelController {
             description = "Creates a new parcel with sender, recipient, and products. " +
                     "For CLIENT role, senderClientId is automatically set from authenticated user. " +
                     "For MANAGER role, senderClientId must be provided. " +
-                    "Automatically creates product associations and initial delivery history."
+                    "Automatically creates product associations and initial delivery history. " +
+                    "With an Idempotency-Key header, a retry of the same request returns the original " +
+                    "response (Idempotent-Replayed: true) instead of creating another parcel."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Parcel created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data"),
-            @ApiResponse(responseCode = "404", description = "Sender, Recipient, or Product not found")
+            @ApiResponse(responseCode = "201", description = "Parcel created successfully, or replayed"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data, or Idempotency-Key reused with another body"),
+            @ApiResponse(responseCode = "404", description = "Sender, Recipient, or Product not found"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress")
     })
     public ResponseEntity<ParcelResponseDTO> createParcel(
             @Valid @RequestBody ParcelCreateDTO dto,
+            @Parameter(description = "Client-generated key that makes retries of this request safe (optional)")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             org.springframework.security.core.Authentication authentication) {
 
         // For CLIENT role, automatically set senderClientId from authenticated user
@@ -86,10 +137,50 @@ public class ParcelController {
 
         log.info("REST: Creating new parcel for sender ID: {} to recipient ID: {}",
                 dto.getSenderClientId(), dto.getRecipientId());
+        if (idempotencyKey != null) {
+            return created(idempotencyService.execute(extractUserId(authentication), "POST /api/parcels",
+                    idempotencyKey, dto, ParcelResponseDTO.class, ParcelResponseDTO::getId,
+                    () -> parcelService.create(dto)));
+        }
         ParcelResponseDTO created = parcelService.create(dto);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT')")
+    @Operation(
+            summary = "Create parcels in bulk",
+            description = "Creates up to 1000 parcels in one request, with their product lines and initial " +
+                    "delivery history. Referenced senders, recipients and products are checked once for the " +
+                    "whole request and rows are inserted in JDBC batches. Invalid items are reported in the " +
+                    "per-item results and skipped; valid items are created together. " +
+                    "For CLIENT role, senderClientId is set from the authenticated user on every item."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "No items, or more items than allowed")
+    })
+    public ResponseEntity<ParcelBulkResultDTO> createParcelsBulk(
+            @RequestBody List<ParcelCreateDTO> items,
+            org.springframework.security.core.Authentication authentication) {
+
+        var authorities = authentication.getAuthorities();
+        boolean isClient = authorities.stream().anyMatch(a -> a.getAuthority().equals("ROLE_CLIENT"));
+        boolean isManager = authorities.stream().anyMatch(a -> a.getAuthority().equals("ROLE_MANAGER"));
+
+        if (isClient && !isManager) {
+            String senderClientId = parcelService.getSenderClientIdByUserId(extractUserId(authentication));
+            if (senderClientId == null) {
+                throw new BadRequestException("No SenderClient profile found for your account. Please contact administrator.");
+            }
+            items.stream().filter(Objects::nonNull).forEach(item -> item.setSenderClientId(senderClientId));
+        }
+
+        log.info("REST: Bulk creating {} parcels", items.size());
+        ParcelBulkResultDTO result = parcelBulkService.createAll(items);
+        return ResponseEntity.ok(result);
+    }
+
     @PostMapping("/with-recipient")
     @PreAuthorize("hasRole('CLIENT')")
     @Operation(
@@ -97,20 +188,30 @@ public class ParcelController {
             description = "Creates a new parcel with recipient information inline. " +
                     "The recipient is created automatically. " +
                     "senderClientId is automatically set from authenticated user. " +
-                    "This endpoint is designed for CLIENT role to create delivery requests."
+                    "This endpoint is designed for CLIENT role to create delivery requests. " +
+                    "With an Idempotency-Key header, a retry of the same request returns the original " +
+                    "response (Idempotent-Replayed: true) without creating another parcel or recipient."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Parcel created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data"),
-            @ApiResponse(responseCode = "404", description = "Product not found")
+            @ApiResponse(responseCode = "201", description = "Parcel created successfully, or replayed"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data, or Idempotency-Key reused with another body"),
+            @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress")
     })
     public ResponseEntity<ParcelResponseDTO> createParcelWithRecipient(
             @Valid @RequestBody ParcelCreateWithRecipientDTO dto,
+            @Parameter(description = "Client-generated key that makes retries of this request safe (optional)")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             org.springframework.security.core.Authentication authentication) {
 
         String userId = extractUserId(authentication);
         log.info("REST: CLIENT creating parcel with recipient info - userId: {}", userId);
 
+        if (idempotencyKey != null) {
+            return created(idempotencyService.execute(userId, "POST /api/parcels/with-recipient",
+                    idempotencyKey, dto, ParcelResponseDTO.class, ParcelResponseDTO::getId,
+                    () -> parcelService.createWithRecipient(dto, userId)));
+        }
         ParcelResponseDTO created = parcelService.createWithRecipient(dto, userId);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
@@ -119,18 +220,34 @@ public class ParcelController {
     @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT', 'LIVREUR')")
     @Operation(
             summary = "Get parcel by ID",
-            description = "Retrieves a parcel by its unique identifier with all relationships loaded"
+            description = "Retrieves a parcel by its unique identifier with all relationships loaded. " +
+                    "Returns an ETag; send it back in If-None-Match to get 304 while the parcel is unchanged."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Parcel found"),
+            @ApiResponse(responseCode = "304", description = "Parcel unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Parcel not found")
     })
     public ResponseEntity<ParcelResponseDTO> getParcelById(
             @Parameter(description = "Parcel ID", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields,
+            ServletWebRequest webRequest) {
         log.info("REST: Finding parcel by ID: {}", id);
-        ParcelResponseDTO parcel = parcelService.findById(id);
-        return ResponseEntity.ok(parcel);
+        long version = parcelService.getParcelVersion(id);
+        String eTag = eTag(Long.toString(version), fields);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        ParcelService.VersionedParcel parcel = parcelService.findVersionedById(id, version);
+        if (parcel.version() != version) {
+            // An update committed between the version check and this read: tag the body with the version
+            // it was mapped from, replacing the header the check already wrote
+            eTag = eTag(Long.toString(parcel.version()), fields);
+            webRequest.getResponse().setHeader(HttpHeaders.ETAG, eTag);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(parcel.response());
     }
 
     @GetMapping
@@ -139,6 +256,7 @@ public class ParcelController {
             summary = "Get all parcels with pagination",
             description = "Retrieves a paginated list of all parcels. " +
                     "Supports pagination (page, size) and sorting (sort=field,direction). " +
+                    "Totals are cached briefly; with estimateTotal=true they come from planner statistics. " +
                     "Example: /api/parcels?page=0&size=10&sort=createdAt,desc"
     )
     @ApiResponses(value = {
@@ -147,10 +265,43 @@ public class ParcelController {
     public ResponseEntity<Page<ParcelResponseDTO>> getAllParcels(
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
             @Parameter(description = "Pagination parameters (page, size, sort)", required = false)
-            Pageable pageable) {
+            Pageable pageable,
+            @Parameter(description = "Use the database's estimated row count as totalElements instead of an exact count")
+            @RequestParam(defaultValue = "false") boolean estimateTotal,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding all parcels with pagination: page={}, size={}",
                 pageable.getPageNumber(), pageable.getPageSize());
-        Page<ParcelResponseDTO> parcels = parcelService.findAll(pageable);
+        Page<ParcelResponseDTO> parcels = parcelService.findAll(pageable, estimateTotal, fields);
+        return ResponseEntity.ok(parcels);
+    }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(
+            summary = "Get all parcels with cursor pagination",
+            description = "Keyset-paginated list of all parcels: every page costs the same however deep, " +
+                    "and no total count is computed. Pass the returned nextCursor to get the next page. " +
+                    "Sort keys: createdAt, weight, destinationCity (ties broken by id). " +
+                    "Example: /api/parcels/cursor?size=50&sort=createdAt&direction=DESC"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcels retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort key or page size")
+    })
+    public ResponseEntity<ParcelCursorPageDTO> getAllParcelsByCursor(
+            @Parameter(description = "Cursor returned by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort key, ignored when a cursor is given")
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction, ignored when a cursor is given")
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
+        log.info("REST: Finding all parcels by cursor: size={}", size);
+        ParcelCursorPageDTO parcels = parcelService.findAllByCursor(cursor, sort, direction, size, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -210,9 +361,11 @@ public class ParcelController {
     })
     public ResponseEntity<List<ParcelResponseDTO>> getParcelsByStatus(
             @Parameter(description = "Parcel status (CREATED, COLLECTED, IN_STOCK, IN_TRANSIT, DELIVERED)", required = true)
-            @PathVariable ParcelStatus status) {
+            @PathVariable ParcelStatus status,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels with status: {}", status);
-        List<ParcelResponseDTO> parcels = parcelService.findByStatus(status);
+        List<ParcelResponseDTO> parcels = parcelService.findByStatus(status, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -227,9 +380,11 @@ public class ParcelController {
     })
     public ResponseEntity<List<ParcelResponseDTO>> getParcelsByPriority(
             @Parameter(description = "Parcel priority (NORMAL, URGENT, EXPRESS)", required = true)
-            @PathVariable ParcelPriority priority) {
+            @PathVariable ParcelPriority priority,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels with priority: {}", priority);
-        List<ParcelResponseDTO> parcels = parcelService.findByPriority(priority);
+        List<ParcelResponseDTO> parcels = parcelService.findByPriority(priority, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -264,14 +419,153 @@ public class ParcelController {
             @RequestParam(required = false) Boolean unassignedOnly,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
             @Parameter(description = "Pagination parameters (page, size, sort)")
-            Pageable pageable) {
+            Pageable pageable,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
 
         log.info("REST: Searching parcels with filters - status: {}, priority: {}, zoneId: {}, city: {}, deliveryPersonId: {}, senderClientId: {}, recipientId: {}, unassignedOnly: {}",
                 status, priority, zoneId, destinationCity, deliveryPersonId, senderClientId, recipientId, unassignedOnly);
 
         Page<ParcelResponseDTO> parcels = parcelService.searchParcels(
                 status, priority, zoneId, destinationCity, deliveryPersonId,
-                senderClientId, recipientId, unassignedOnly, pageable);
+                senderClientId, recipientId, unassignedOnly, pageable, fields);
+
+        return ResponseEntity.ok(parcels);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(
+            summary = "Export parcels as NDJSON",
+            description = "Streams every parcel matching the /api/parcels/search filters as one JSON document " +
+                    "per line, in constant memory whatever the number of rows. Replaces the unbounded " +
+                    "status, priority, sender, zone, city and unassigned lists for bulk reads. " +
+                    "Example: /api/parcels/export?status=IN_TRANSIT&zoneId=..."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportParcels(
+            @Parameter(description = "Filter by status (optional)")
+            @RequestParam(required = false) ParcelStatus status,
+            @Parameter(description = "Filter by priority (optional)")
+            @RequestParam(required = false) ParcelPriority priority,
+            @Parameter(description = "Filter by zone ID (optional)")
+            @RequestParam(required = false) String zoneId,
+            @Parameter(description = "Filter by destination city (optional)")
+            @RequestParam(required = false) String destinationCity,
+            @Parameter(description = "Filter by delivery person ID (optional)")
+            @RequestParam(required = false) String deliveryPersonId,
+            @Parameter(description = "Filter by sender client ID (optional)")
+            @RequestParam(required = false) String senderClientId,
+            @Parameter(description = "Filter by recipient ID (optional)")
+            @RequestParam(required = false) String recipientId,
+            @Parameter(description = "Show only unassigned parcels (optional)")
+            @RequestParam(required = false) Boolean unassignedOnly,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
+
+        log.info("REST: Exporting parcels with filters - status: {}, priority: {}, zoneId: {}, city: {}, deliveryPersonId: {}, senderClientId: {}, recipientId: {}, unassignedOnly: {}",
+                status, priority, zoneId, destinationCity, deliveryPersonId, senderClientId, recipientId, unassignedOnly);
+
+        StreamingResponseBody body = out -> parcelService.exportParcels(status, priority, zoneId, destinationCity,
+                deliveryPersonId, senderClientId, recipientId, unassignedOnly, fields, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/search/slice")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(
+            summary = "Advanced parcel search without total count",
+            description = "Same filters and pagination as /api/parcels/search, but returns a slice: " +
+                    "it only tells whether there is a next page, so no COUNT query is run. " +
+                    "Example: /api/parcels/search/slice?status=IN_TRANSIT&page=0&size=10&sort=createdAt,desc"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcels retrieved successfully")
+    })
+    public ResponseEntity<Slice<ParcelResponseDTO>> searchParcelsSlice(
+            @Parameter(description = "Filter by status (optional)")
+            @RequestParam(required = false) ParcelStatus status,
+            @Parameter(description = "Filter by priority (optional)")
+            @RequestParam(required = false) ParcelPriority priority,
+            @Parameter(description = "Filter by zone ID (optional)")
+            @RequestParam(required = false) String zoneId,
+            @Parameter(description = "Filter by destination city (optional)")
+            @RequestParam(required = false) String destinationCity,
+            @Parameter(description = "Filter by delivery person ID (optional)")
+            @RequestParam(required = false) String deliveryPersonId,
+            @Parameter(description = "Filter by sender client ID (optional)")
+            @RequestParam(required = false) String senderClientId,
+            @Parameter(description = "Filter by recipient ID (optional)")
+            @RequestParam(required = false) String recipientId,
+            @Parameter(description = "Show only unassigned parcels (optional)")
+            @RequestParam(required = false) Boolean unassignedOnly,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC)
+            @Parameter(description = "Pagination parameters (page, size, sort)")
+            Pageable pageable,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
+
+        log.info("REST: Searching parcel slice with filters - status: {}, priority: {}, zoneId: {}, city: {}, deliveryPersonId: {}, senderClientId: {}, recipientId: {}, unassignedOnly: {}",
+                status, priority, zoneId, destinationCity, deliveryPersonId, senderClientId, recipientId, unassignedOnly);
+
+        Slice<ParcelResponseDTO> parcels = parcelService.searchParcelsSlice(
+                status, priority, zoneId, destinationCity, deliveryPersonId,
+                senderClientId, recipientId, unassignedOnly, pageable, fields);
+
+        return ResponseEntity.ok(parcels);
+    }
+
+    @GetMapping("/search/cursor")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(
+            summary = "Advanced parcel search with cursor pagination",
+            description = "Same filters as /api/parcels/search, keyset-paginated: pass the returned " +
+                    "nextCursor (with the same filters) to get the next page. No total count is computed. " +
+                    "Sort keys: createdAt, weight, destinationCity (ties broken by id). " +
+                    "Example: /api/parcels/search/cursor?status=IN_TRANSIT&size=50"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcels retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, sort key or page size")
+    })
+    public ResponseEntity<ParcelCursorPageDTO> searchParcelsByCursor(
+            @Parameter(description = "Filter by status (optional)")
+            @RequestParam(required = false) ParcelStatus status,
+            @Parameter(description = "Filter by priority (optional)")
+            @RequestParam(required = false) ParcelPriority priority,
+            @Parameter(description = "Filter by zone ID (optional)")
+            @RequestParam(required = false) String zoneId,
+            @Parameter(description = "Filter by destination city (optional)")
+            @RequestParam(required = false) String destinationCity,
+            @Parameter(description = "Filter by delivery person ID (optional)")
+            @RequestParam(required = false) String deliveryPersonId,
+            @Parameter(description = "Filter by sender client ID (optional)")
+            @RequestParam(required = false) String senderClientId,
+            @Parameter(description = "Filter by recipient ID (optional)")
+            @RequestParam(required = false) String recipientId,
+            @Parameter(description = "Show only unassigned parcels (optional)")
+            @RequestParam(required = false) Boolean unassignedOnly,
+            @Parameter(description = "Cursor returned by the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort key, ignored when a cursor is given")
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction, ignored when a cursor is given")
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
+
+        log.info("REST: Searching parcels by cursor with filters - status: {}, priority: {}, zoneId: {}, city: {}, deliveryPersonId: {}, senderClientId: {}, recipientId: {}, unassignedOnly: {}",
+                status, priority, zoneId, destinationCity, deliveryPersonId, senderClientId, recipientId, unassignedOnly);
+
+        ParcelCursorPageDTO parcels = parcelService.searchParcelsByCursor(
+                status, priority, zoneId, destinationCity, deliveryPersonId,
+                senderClientId, recipientId, unassignedOnly, cursor, sort, direction, size, fields);
 
         return ResponseEntity.ok(parcels);
     }
@@ -290,9 +584,11 @@ public class ParcelController {
             @Parameter(description = "Parcel status", required = true)
             @RequestParam ParcelStatus status,
             @Parameter(description = "Parcel priority", required = true)
-            @RequestParam ParcelPriority priority) {
+            @RequestParam ParcelPriority priority,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels with status: {} and priority: {}", status, priority);
-        List<ParcelResponseDTO> parcels = parcelService.findByStatusAndPriority(status, priority);
+        List<ParcelResponseDTO> parcels = parcelService.findByStatusAndPriority(status, priority, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -327,9 +623,11 @@ public class ParcelController {
     })
     public ResponseEntity<List<ParcelResponseDTO>> getParcelsBySenderClient(
             @Parameter(description = "Sender client ID", required = true)
-            @PathVariable String senderClientId) {
+            @PathVariable String senderClientId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels for sender client ID: {}", senderClientId);
-        List<ParcelResponseDTO> parcels = parcelService.findBySenderClientId(senderClientId);
+        List<ParcelResponseDTO> parcels = parcelService.findBySenderClientId(senderClientId, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -345,9 +643,11 @@ public class ParcelController {
     })
     public ResponseEntity<List<ParcelResponseDTO>> getParcelsByRecipient(
             @Parameter(description = "Recipient ID", required = true)
-            @PathVariable String recipientId) {
+            @PathVariable String recipientId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels for recipient ID: {}", recipientId);
-        List<ParcelResponseDTO> parcels = parcelService.findByRecipientId(recipientId);
+        List<ParcelResponseDTO> parcels = parcelService.findByRecipientId(recipientId, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -363,9 +663,11 @@ public class ParcelController {
     })
     public ResponseEntity<List<ParcelResponseDTO>> getParcelsByDeliveryPerson(
             @Parameter(description = "Delivery person ID", required = true)
-            @PathVariable String deliveryPersonId) {
+            @PathVariable String deliveryPersonId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels for delivery person ID: {}", deliveryPersonId);
-        List<ParcelResponseDTO> parcels = parcelService.findByDeliveryPersonId(deliveryPersonId);
+        List<ParcelResponseDTO> parcels = parcelService.findByDeliveryPersonId(deliveryPersonId, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -381,9 +683,11 @@ public class ParcelController {
     })
     public ResponseEntity<List<ParcelResponseDTO>> getParcelsByZone(
             @Parameter(description = "Zone ID", required = true)
-            @PathVariable String zoneId) {
+            @PathVariable String zoneId,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels for zone ID: {}", zoneId);
-        List<ParcelResponseDTO> parcels = parcelService.findByZoneId(zoneId);
+        List<ParcelResponseDTO> parcels = parcelService.findByZoneId(zoneId, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -398,9 +702,11 @@ public class ParcelController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Unassigned parcels retrieved successfully")
     })
-    public ResponseEntity<List<ParcelResponseDTO>> getUnassignedParcels() {
+    public ResponseEntity<List<ParcelResponseDTO>> getUnassignedParcels(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding unassigned parcels");
-        List<ParcelResponseDTO> parcels = parcelService.findUnassignedParcels();
+        List<ParcelResponseDTO> parcels = parcelService.findUnassignedParcels(fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -413,9 +719,11 @@ public class ParcelController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "High priority (EXPRESS) parcels retrieved successfully")
     })
-    public ResponseEntity<List<ParcelResponseDTO>> getHighPriorityPending() {
+    public ResponseEntity<List<ParcelResponseDTO>> getHighPriorityPending(
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding high priority (EXPRESS) pending parcels");
-        List<ParcelResponseDTO> parcels = parcelService.findHighPriorityPending();
+        List<ParcelResponseDTO> parcels = parcelService.findHighPriorityPending(fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -430,9 +738,11 @@ public class ParcelController {
     })
     public ResponseEntity<List<ParcelResponseDTO>> getParcelsByCity(
             @Parameter(description = "Destination city name", required = true)
-            @PathVariable String city) {
+            @PathVariable String city,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields) {
         log.info("REST: Finding parcels for destination city: {}", city);
-        List<ParcelResponseDTO> parcels = parcelService.findByDestinationCity(city);
+        List<ParcelResponseDTO> parcels = parcelService.findByDestinationCity(city, fields);
         return ResponseEntity.ok(parcels);
     }
 
@@ -505,8 +815,8 @@ public class ParcelController {
     @PreAuthorize("hasRole('MANAGER')")
     @Operation(
             summary = "Group parcels by destination city",
-            description = "Returns a synthetic view of parcels grouped by destination city. " +
-                    "Useful for geographic distribution analysis."
+            description = "Returns a synthetic view of parcels grouped by destination city, case-insensitively " +
+                    "(keys are lower-cased). Useful for geographic distribution analysis."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Grouping retrieved successfully")
@@ -528,18 +838,70 @@ public class ParcelController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "History unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Parcel not found")
     })
     public ResponseEntity<List<DeliveryHistoryResponseDTO>> getParcelHistory(
             @Parameter(description = "Parcel ID", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            WebRequest webRequest) {
         log.info("REST: Getting delivery history for parcel ID: {}", id);
+        String eTag = eTag(Long.toString(parcelService.getParcelVersion(id)), null);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         List<DeliveryHistoryResponseDTO> history = parcelService.getParcelHistory(id);
-        return ResponseEntity.ok(history);
+        return ResponseEntity.ok().eTag(eTag).body(history);
     }
 
 
 
+    @GetMapping("/batch")
+    @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT', 'LIVREUR')")
+    @Operation(
+            summary = "Get several parcels by ID",
+            description = "Retrieves up to 100 parcels in one request, in the order of the requested IDs. " +
+                    "Clients only receive parcels they sent and delivery persons only parcels assigned to them; " +
+                    "unknown or inaccessible IDs are left out."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parcels retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs, or more than 100 IDs, requested")
+    })
+    public ResponseEntity<List<ParcelResponseDTO>> getParcelsByIds(
+            @Parameter(description = "Comma-separated parcel IDs (at most 100)", required = true)
+            @RequestParam List<String> ids,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields,
+            org.springframework.security.core.Authentication authentication) {
+        log.info("REST: Batch getting {} parcels for user: {}", ids.size(), authentication.getName());
+        List<ParcelResponseDTO> parcels = parcelService.findByIds(ids, extractAccess(authentication),
+                extractUserId(authentication), fields);
+        return ResponseEntity.ok(parcels);
+    }
+
+    @GetMapping("/batch/history")
+    @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT', 'LIVREUR')")
+    @Operation(
+            summary = "Get the delivery history of several parcels",
+            description = "Retrieves the delivery history of up to 100 parcels in one request, grouped by parcel " +
+                    "in the order of the requested IDs. Clients only receive parcels they sent and delivery " +
+                    "persons only parcels assigned to them; unknown or inaccessible IDs are left out."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histories retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs, or more than 100 IDs, requested")
+    })
+    public ResponseEntity<List<ParcelHistoryDTO>> getParcelHistories(
+            @Parameter(description = "Comma-separated parcel IDs (at most 100)", required = true)
+            @RequestParam List<String> ids,
+            org.springframework.security.core.Authentication authentication) {
+        log.info("REST: Batch getting delivery history of {} parcels for user: {}", ids.size(), authentication.getName());
+        List<ParcelHistoryDTO> histories = parcelService.getParcelHistories(ids, extractAccess(authentication),
+                extractUserId(authentication));
+        return ResponseEntity.ok(histories);
+    }
+
     @GetMapping("/my-parcels")
     @PreAuthorize("hasAnyRole('LIVREUR', 'CLIENT')")
     @Operation(
@@ -550,10 +912,14 @@ public class ParcelController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Parcels retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Parcels unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "User profile not found")
     })
     public ResponseEntity<List<ParcelResponseDTO>> getMyParcels(
-            org.springframework.security.core.Authentication authentication) {
+            org.springframework.security.core.Authentication authentication,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,status,recipientName (optional)")
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         log.info("REST: Getting parcels for user: {}", authentication.getName());
 
 
@@ -561,19 +927,28 @@ public class ParcelController {
         String userId = extractUserId(authentication);
 
         List<ParcelResponseDTO> parcels;
+        String eTag;
 
 
         if (authorities.stream().anyMatch(a -> a.getAuthority().equals("ROLE_LIVREUR"))) {
             log.info("User is LIVREUR, fetching assigned parcels");
-            parcels = parcelService.findMyParcelsForDeliveryPerson(userId);
+            eTag = eTag(parcelService.getMyParcelsVersionForDeliveryPerson(userId), fields);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            parcels = parcelService.findMyParcelsForDeliveryPerson(userId, fields);
         } else if (authorities.stream().anyMatch(a -> a.getAuthority().equals("ROLE_CLIENT"))) {
             log.info("User is CLIENT, fetching sent parcels");
-            parcels = parcelService.findMyParcelsForClient(userId);
+            eTag = eTag(parcelService.getMyParcelsVersionForClient(userId), fields);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            parcels = parcelService.findMyParcelsForClient(userId, fields);
         } else {
             throw new BadRequestException("Invalid role for this endpoint");
         }
 
-        return ResponseEntity.ok(parcels);
+        return ResponseEntity.ok().eTag(eTag).body(parcels);
     }
 
     @PutMapping("/{id}/status")
@@ -603,6 +978,32 @@ public class ParcelController {
         return ResponseEntity.ok(updated);
     }
 
+    @PostMapping("/status/scan")
+    @PreAuthorize("hasRole('LIVREUR')")
+    @Operation(
+            summary = "Apply a batch of status scans (delivery person only)",
+            description = "Applies up to 1000 (parcelId, status, scannedAt) scans of the authenticated delivery " +
+                    "person in one transaction, e.g. a depot scan into IN_TRANSIT. Ownership is checked once for " +
+                    "the whole batch, parcels are updated with one statement per target status and a delivery " +
+                    "history entry is recorded per scan at its scan time (default: now). Parcels that are unknown, " +
+                    "not assigned to the caller or scanned twice are reported in the per-item results and skipped."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Request processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "No scans, or more scans than allowed"),
+            @ApiResponse(responseCode = "404", description = "No delivery person profile for the authenticated user")
+    })
+    public ResponseEntity<ParcelStatusScanResultDTO> scanParcelStatuses(
+            @RequestBody List<ParcelStatusScanDTO> scans,
+            org.springframework.security.core.Authentication authentication) {
+        log.info("REST: Delivery person applying {} status scans", scans.size());
+
+        String userId = extractUserId(authentication);
+        ParcelStatusScanResultDTO result = parcelBulkService.scanStatuses(scans, userId);
+
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}/tracking")
     @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT', 'LIVREUR')")
     @Operation(
@@ -0,0 +1,36 @@
+package com.logismart.logismartv2.controller;
+
+import com.logismart.logismartv2.config.ParcelFieldFilters;
+import com.logismart.logismartv2.repository.ParcelFieldSet;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} request parameter of parcel endpoints to JSON serialization, so only
+ * the requested ParcelResponseDTO properties are written.
+ */
+@RestControllerAdvice(assignableTypes = ParcelController.class)
+public class ParcelFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String FIELDS_PARAM = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+
+        ParcelFieldSet fieldSet = ParcelFieldSet.parse(servletRequest.getServletRequest().getParameter(FIELDS_PARAM));
+        if (!fieldSet.isAll()) {
+            bodyContainer.setFilters(ParcelFieldFilters.of(fieldSet));
+        }
+    }
+}
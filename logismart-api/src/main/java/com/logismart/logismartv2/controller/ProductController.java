@@ -13,9 +13,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -80,6 +82,24 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT')")
+    @Operation(
+            summary = "Export all products as NDJSON",
+            description = "Streams every product as one JSON document per line, " +
+                    "in constant memory whatever the number of rows"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    })
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        log.info("REST: Exporting all products");
+        StreamingResponseBody body = productService::exportAll;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('MANAGER')")
     @Operation(
@@ -157,6 +177,24 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/lookup")
+    @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT')")
+    @Operation(
+            summary = "Look up products by name or category",
+            description = "Searches products by name or category (case-insensitive) in the in-memory product catalog, " +
+                    "for product pickers in parcel forms"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully")
+    })
+    public ResponseEntity<List<ProductResponseDTO>> lookupProducts(
+            @Parameter(description = "Search keyword", required = true)
+            @RequestParam String keyword) {
+        log.info("REST: Looking up products with keyword: {}", keyword);
+        List<ProductResponseDTO> products = productService.searchByNameOrCategory(keyword);
+        return ResponseEntity.ok(products);
+    }
+
     @GetMapping("/price-range")
     @PreAuthorize("hasAnyRole('MANAGER', 'CLIENT')")
     @Operation(
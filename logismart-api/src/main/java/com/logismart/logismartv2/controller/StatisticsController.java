@@ -1,8 +1,12 @@
 package com.logismart.logismartv2.controller;
 
 import com.logismart.logismartv2.dto.statistics.DeliveryPersonStatisticsDTO;
+import com.logismart.logismartv2.dto.statistics.DistributionStatisticsDTO;
 import com.logismart.logismartv2.dto.statistics.GlobalStatisticsDTO;
+import com.logismart.logismartv2.dto.statistics.StatisticsMode;
+import com.logismart.logismartv2.dto.statistics.ThroughputPointDTO;
 import com.logismart.logismartv2.dto.statistics.ZoneStatisticsDTO;
+import com.logismart.logismartv2.entity.BucketGranularity;
 import com.logismart.logismartv2.service.StatisticsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,10 +15,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -107,4 +113,75 @@ public class StatisticsController {
         List<ZoneStatisticsDTO> stats = statisticsService.getAllZoneStatistics();
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/distribution")
+    @Operation(
+            summary = "Get distribution statistics",
+            description = "Returns distinct destination cities, recipients and senders, and p50/p90/p99 of parcel " +
+                    "weight and delivery time (hours from creation to delivery). " +
+                    "APPROXIMATE (default) answers from in-memory HyperLogLog and KLL sketches in constant time; " +
+                    "EXACT has the database compute them. The response states which mode was used along with " +
+                    "its error bounds."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "503", description = "APPROXIMATE requested while the sketches are still being built")
+    })
+    public ResponseEntity<DistributionStatisticsDTO> getDistributionStatistics(
+            @Parameter(description = "EXACT or APPROXIMATE")
+            @RequestParam(defaultValue = "APPROXIMATE") StatisticsMode mode) {
+        log.info("REST: Getting {} distribution statistics", mode);
+        DistributionStatisticsDTO stats = statisticsService.getDistributionStatistics(mode);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/timeseries")
+    @Operation(
+            summary = "Get throughput time series",
+            description = "Returns hourly or daily counts of parcels created, collected and delivered, " +
+                    "plus all status changes, optionally restricted to a zone and/or a delivery person. " +
+                    "Served from pre-aggregated buckets; empty buckets are returned with zero counts. " +
+                    "Defaults to the last 48 hours (HOUR) or the last 30 days (DAY). " +
+                    "Example: /api/statistics/timeseries?granularity=DAY&from=2025-01-01T00:00:00&to=2025-04-01T00:00:00"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Time series retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid or too large range")
+    })
+    public ResponseEntity<List<ThroughputPointDTO>> getTimeseries(
+            @Parameter(description = "Bucket size: HOUR or DAY")
+            @RequestParam(defaultValue = "DAY") BucketGranularity granularity,
+            @Parameter(description = "Start of the range, inclusive (ISO date-time, optional)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, exclusive (ISO date-time, optional)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Filter by zone ID (optional)")
+            @RequestParam(required = false) String zoneId,
+            @Parameter(description = "Filter by delivery person ID (optional)")
+            @RequestParam(required = false) String deliveryPersonId) {
+
+        LocalDateTime end = to != null ? to : granularity.next(granularity.truncate(LocalDateTime.now()));
+        LocalDateTime start = from != null ? from
+                : granularity == BucketGranularity.HOUR ? end.minusHours(48) : end.minusDays(30);
+
+        log.info("REST: Getting {} throughput series from {} to {}", granularity, start, end);
+        List<ThroughputPointDTO> series = statisticsService.getTimeseries(granularity, start, end, zoneId, deliveryPersonId);
+        return ResponseEntity.ok(series);
+    }
+
+    @PostMapping("/timeseries/rebuild")
+    @Operation(
+            summary = "Rebuild throughput buckets",
+            description = "Recomputes throughput buckets from the delivery history starting at the given day. " +
+                    "History rows are attributed to the zone and delivery person stored on them."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Buckets rebuilt, returns the number of buckets written")
+    })
+    public ResponseEntity<Integer> rebuildTimeseries(
+            @Parameter(description = "First day to rebuild (ISO date-time)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        log.info("REST: Rebuilding throughput buckets from {}", from);
+        return ResponseEntity.ok(statisticsService.rebuildTimeseries(from));
+    }
 }
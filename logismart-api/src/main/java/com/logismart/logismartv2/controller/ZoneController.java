@@ -230,4 +230,25 @@ public class ZoneController {
         ZoneStatsDTO stats = zoneService.getStats(id);
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(
+            summary = "Get statistics for several zones",
+            description = "Same figures as /api/zones/{id}/stats for a list of zones, computed in one query. " +
+                    "Results follow the order of the requested IDs. " +
+                    "Example: /api/zones/stats?ids=id1,id2,id3"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs"),
+            @ApiResponse(responseCode = "404", description = "One of the zones was not found")
+    })
+    public ResponseEntity<List<ZoneStatsDTO>> getStatsForZones(
+            @Parameter(description = "Zone IDs (comma separated, at most 500)", required = true)
+            @RequestParam List<String> ids) {
+        log.info("REST: Getting statistics for {} zones", ids.size());
+        List<ZoneStatsDTO> stats = zoneService.getStats(ids);
+        return ResponseEntity.ok(stats);
+    }
 }
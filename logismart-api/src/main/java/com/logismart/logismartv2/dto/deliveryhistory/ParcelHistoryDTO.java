@@ -0,0 +1,17 @@
+package com.logismart.logismartv2.dto.deliveryhistory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelHistoryDTO {
+
+    private String parcelId;
+
+    private List<DeliveryHistoryResponseDTO> history;
+}
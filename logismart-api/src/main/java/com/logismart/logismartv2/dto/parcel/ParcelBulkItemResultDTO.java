@@ -0,0 +1,24 @@
+package com.logismart.logismartv2.dto.parcel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelBulkItemResultDTO {
+
+    // Position of the item in the request
+    private int index;
+
+    private boolean created;
+
+    // Set when created
+    private String parcelId;
+
+    // Set when rejected
+    private List<String> errors;
+}
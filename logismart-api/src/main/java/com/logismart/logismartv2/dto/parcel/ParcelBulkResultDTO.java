@@ -0,0 +1,21 @@
+package com.logismart.logismartv2.dto.parcel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelBulkResultDTO {
+
+    private int requested;
+
+    private int created;
+
+    private int rejected;
+
+    private List<ParcelBulkItemResultDTO> results;
+}
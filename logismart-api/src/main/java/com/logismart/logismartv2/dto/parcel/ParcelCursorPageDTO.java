@@ -0,0 +1,24 @@
+package com.logismart.logismartv2.dto.parcel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParcelCursorPageDTO {
+
+    private List<ParcelResponseDTO> content;
+
+    private Integer size;
+
+    private Boolean hasNext;
+
+    // Opaque token for the next page; null on the last page
+    private String nextCursor;
+}
@@ -1,5 +1,7 @@
 package com.logismart.logismartv2.dto.parcel;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.logismart.logismartv2.config.ParcelFieldFilters;
 import com.logismart.logismartv2.entity.ParcelPriority;
 import com.logismart.logismartv2.entity.ParcelStatus;
 import lombok.AllArgsConstructor;
@@ -13,6 +15,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(ParcelFieldFilters.FILTER_ID)
 public class ParcelResponseDTO {
 
     
@@ -113,4 +116,33 @@ public class ParcelResponseDTO {
         this.isHighPriority = priority.isHighPriority();
         this.isAssignedToDeliveryPerson = deliveryPersonId != null;
     }
+
+    /**
+     * Read-model constructor used by ParcelReadRepository's criteria projection. Takes raw name
+     * parts and aggregates and derives the display fields exactly like ParcelMapper does from the entity.
+     */
+    public ParcelResponseDTO(String id, String description, BigDecimal weight,
+                             ParcelStatus status, ParcelPriority priority,
+                             String destinationCity, LocalDateTime createdAt,
+                             String senderClientId, String senderFirstName, String senderLastName,
+                             String recipientId, String recipientFirstName, String recipientLastName,
+                             String recipientPhone, String recipientEmail, String recipientAddress,
+                             String deliveryPersonId, String deliveryPersonFirstName, String deliveryPersonLastName,
+                             String zoneId, String zoneName,
+                             BigDecimal totalValue, Long productCount) {
+        this(id, description, weight, status, priority, destinationCity, createdAt,
+                senderClientId,
+                senderClientId != null ? senderFirstName + " " + senderLastName : "Unknown Sender",
+                recipientId,
+                recipientId != null ? recipientFirstName + " " + recipientLastName : "Unknown Recipient",
+                deliveryPersonId,
+                deliveryPersonId != null ? deliveryPersonFirstName + " " + deliveryPersonLastName : "Unassigned",
+                zoneId,
+                zoneId != null ? zoneName : "No Zone",
+                totalValue != null ? totalValue : BigDecimal.ZERO,
+                productCount != null ? productCount.intValue() : 0);
+        this.recipientPhone = recipientPhone;
+        this.recipientEmail = recipientEmail;
+        this.recipientAddress = recipientAddress;
+    }
 }
@@ -0,0 +1,27 @@
+package com.logismart.logismartv2.dto.parcel;
+
+import com.logismart.logismartv2.entity.ParcelStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelStatusScanDTO {
+
+    @NotBlank(message = "Parcel ID is required")
+    private String parcelId;
+
+    @NotNull(message = "Status is required")
+    private ParcelStatus status;
+
+    // Time of the scan on the device; defaults to the time the batch is received
+    @PastOrPresent(message = "Scan time must not be in the future")
+    private LocalDateTime scannedAt;
+}
@@ -0,0 +1,29 @@
+package com.logismart.logismartv2.dto.parcel;
+
+import com.logismart.logismartv2.entity.ParcelStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelStatusScanItemResultDTO {
+
+    // Position of the item in the request
+    private int index;
+
+    private String parcelId;
+
+    private boolean updated;
+
+    // Set when updated
+    private ParcelStatus previousStatus;
+
+    private ParcelStatus status;
+
+    // Set when rejected
+    private List<String> errors;
+}
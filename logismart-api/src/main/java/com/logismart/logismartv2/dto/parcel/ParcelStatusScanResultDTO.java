@@ -0,0 +1,21 @@
+package com.logismart.logismartv2.dto.parcel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelStatusScanResultDTO {
+
+    private int requested;
+
+    private int updated;
+
+    private int rejected;
+
+    private List<ParcelStatusScanItemResultDTO> results;
+}
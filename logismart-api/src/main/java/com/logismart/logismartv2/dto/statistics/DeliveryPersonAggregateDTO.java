@@ -0,0 +1,32 @@
+package com.logismart.logismartv2.dto.statistics;
+
+import com.logismart.logismartv2.entity.ParcelStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of parcels grouped by delivery person and status, carrying the courier and zone names.
+ * A courier without parcels yields a single row with a null status and a zero count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryPersonAggregateDTO {
+
+    private String deliveryPersonId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String zoneName;
+
+    private ParcelStatus status;
+
+    private Long parcelCount;
+
+    private BigDecimal totalWeight;
+}
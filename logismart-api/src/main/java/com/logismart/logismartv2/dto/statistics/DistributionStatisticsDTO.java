@@ -0,0 +1,38 @@
+package com.logismart.logismartv2.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistributionStatisticsDTO {
+
+    private StatisticsMode mode;
+
+    // Distinct counts
+    private EstimateDTO distinctDestinationCities;
+
+    private EstimateDTO distinctRecipients;
+
+    private EstimateDTO distinctSenders;
+
+    // Percentiles (p50, p90, p99)
+    private Long parcelsMeasured;
+
+    private Map<String, Double> weightPercentiles;
+
+    private Long deliveriesMeasured;
+
+    private Map<String, Double> deliveryTimeHoursPercentiles;
+
+    // Error bounds: 0 in EXACT mode. A rank error of 0.01 means a reported p90 lies between the true p89 and p91
+    private Double distinctCountRelativeError;
+
+    private Double percentileRankError;
+}
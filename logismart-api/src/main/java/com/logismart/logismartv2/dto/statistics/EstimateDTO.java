@@ -0,0 +1,25 @@
+package com.logismart.logismartv2.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A value with its bounds. For exact results the bounds equal the value;
+ * for estimates they form a ~95% confidence interval.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstimateDTO {
+
+    private Double value;
+
+    private Double lowerBound;
+
+    private Double upperBound;
+
+    public static EstimateDTO exact(double value) {
+        return new EstimateDTO(value, value, value);
+    }
+}
@@ -0,0 +1,40 @@
+package com.logismart.logismartv2.dto.statistics;
+
+import com.logismart.logismartv2.entity.ParcelPriority;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of a GROUP BY over parcels (status x priority, optionally keyed by zone or delivery person).
+ * Built directly by JPQL constructor expressions so statistics never materialize Parcel entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelAggregateDTO {
+
+    private String groupId;
+
+    private ParcelStatus status;
+
+    private ParcelPriority priority;
+
+    private Long parcelCount;
+
+    private BigDecimal totalWeight;
+
+    private Long unassignedCount;
+
+    public ParcelAggregateDTO(ParcelStatus status, ParcelPriority priority,
+                              Long parcelCount, BigDecimal totalWeight, Long unassignedCount) {
+        this.status = status;
+        this.priority = priority;
+        this.parcelCount = parcelCount;
+        this.totalWeight = totalWeight;
+        this.unassignedCount = unassignedCount;
+    }
+}
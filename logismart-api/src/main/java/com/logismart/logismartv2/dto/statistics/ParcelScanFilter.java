@@ -0,0 +1,37 @@
+package com.logismart.logismartv2.dto.statistics;
+
+import com.logismart.logismartv2.entity.ParcelPriority;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Filter for in-memory parcel scans. Null fields match everything;
+ * the creation range is inclusive of {@code createdFrom} and exclusive of {@code createdTo}.
+ */
+@Getter
+@Builder
+public class ParcelScanFilter {
+
+    public static final ParcelScanFilter ALL = ParcelScanFilter.builder().build();
+
+    private final ParcelStatus status;
+
+    private final ParcelPriority priority;
+
+    private final String zoneId;
+
+    /** Matches parcels in any of these zones; combined with {@code zoneId} when both are set. */
+    private final Collection<String> zoneIds;
+
+    private final String deliveryPersonId;
+
+    private final String destinationCity;
+
+    private final LocalDateTime createdFrom;
+
+    private final LocalDateTime createdTo;
+}
@@ -0,0 +1,9 @@
+package com.logismart.logismartv2.dto.statistics;
+
+/**
+ * Whether a statistics response was computed exactly from the database or estimated from sketches.
+ */
+public enum StatisticsMode {
+    EXACT,
+    APPROXIMATE
+}
@@ -0,0 +1,26 @@
+package com.logismart.logismartv2.dto.statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThroughputPointDTO {
+
+    private LocalDateTime bucketStart;
+
+    private Long parcelsCreated;
+
+    private Long parcelsCollected;
+
+    private Long parcelsDelivered;
+
+    // Every status change recorded in the bucket, including the ones above
+    private Long totalChanges;
+}
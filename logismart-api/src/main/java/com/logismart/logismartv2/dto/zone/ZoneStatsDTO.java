@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,4 +24,13 @@ public class ZoneStatsDTO {
     private Long deliveredParcels;
 
     private Long unassignedParcels;
+
+    /**
+     * Used by the JPQL constructor expression in ZoneRepository, where SUM(weight) is a BigDecimal.
+     */
+    public ZoneStatsDTO(String zoneId, String zoneName, Long totalParcels, BigDecimal totalWeight,
+                        Long inTransitParcels, Long deliveredParcels, Long unassignedParcels) {
+        this(zoneId, zoneName, totalParcels, totalWeight != null ? totalWeight.doubleValue() : 0.0,
+                inTransitParcels, deliveredParcels, unassignedParcels);
+    }
 }
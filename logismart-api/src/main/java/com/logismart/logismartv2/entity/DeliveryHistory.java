@@ -55,6 +55,14 @@ public class DeliveryHistory {
     @Column(name = "comment", columnDefinition = "TEXT")
     private String comment;
 
+    // Zone and delivery person the row is counted under in the throughput rollup, copied from the parcel
+    // when the row is attached to it, so removing the row decrements the same buckets after a reassignment
+    @Column(name = "zone_id", length = 36)
+    private String zoneId;
+
+    @Column(name = "delivery_person_id", length = 36)
+    private String deliveryPersonId;
+
     public DeliveryHistory(String id, ParcelStatus status, LocalDateTime changedAt, String comment) {
         this.id = id;
         this.status = status;
@@ -63,12 +71,19 @@ public class DeliveryHistory {
     }
 
     public DeliveryHistory(Parcel parcel, ParcelStatus status, String comment) {
-        this.parcel = parcel;
+        setParcel(parcel);
         this.status = status;
         this.comment = comment;
         
     }
 
+    public void setParcel(Parcel parcel) {
+        this.parcel = parcel;
+        this.zoneId = parcel != null && parcel.getZone() != null ? parcel.getZone().getId() : null;
+        this.deliveryPersonId = parcel != null && parcel.getDeliveryPerson() != null
+                ? parcel.getDeliveryPerson().getId() : null;
+    }
+
     public String getFormattedChangedAt() {
         if (changedAt == null) {
             return "Unknown time";
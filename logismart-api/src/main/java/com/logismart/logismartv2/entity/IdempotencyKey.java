@@ -0,0 +1,41 @@
+package com.logismart.logismartv2.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A processed Idempotency-Key: the parcel it created and the response returned for it, replayed to retries
+ * until {@code expiresAt}. The id is a SHA-256 digest of the caller, the endpoint and the client's key, so
+ * rows have a fixed size whatever keys clients send.
+ */
+@Entity
+@Table(name = "idempotency_key")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "id", length = 64)
+    private String id;
+
+    // SHA-256 of the request body: the same key with a different body is rejected
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "parcel_id", length = 36)
+    private String parcelId;
+
+    @Column(name = "response", columnDefinition = "TEXT")
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
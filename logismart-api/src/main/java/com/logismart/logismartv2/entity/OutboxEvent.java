@@ -0,0 +1,46 @@
+package com.logismart.logismartv2.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A parcel domain event written in the same transaction as the change it describes, and relayed to the
+ * outbox sinks once committed. {@code publishedAt} stays null until the relay has handed it to every sink.
+ * <p>
+ * Ids come straight from the database sequence (no pooled allocation): two committed changes of the same
+ * parcel are serialized by its version, so the later one always draws the higher id and id order is
+ * per-parcel order across nodes.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "parcel_id", nullable = false, length = 36)
+    private String parcelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    // JSON document, see OutboxWriter
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
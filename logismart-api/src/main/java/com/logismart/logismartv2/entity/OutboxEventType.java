@@ -0,0 +1,10 @@
+package com.logismart.logismartv2.entity;
+
+public enum OutboxEventType {
+    PARCEL_CREATED,
+    PARCEL_UPDATED,
+    PARCEL_DELETED,
+    PARCEL_PRODUCTS_CHANGED,
+    DELIVERY_HISTORY_RECORDED,
+    DELIVERY_HISTORY_REMOVED
+}
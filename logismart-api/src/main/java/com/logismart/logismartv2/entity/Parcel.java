@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -14,11 +15,23 @@ import java.util.List;
 
 @Entity
 @Table(name = "parcel")
+@NamedEntityGraph(name = Parcel.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("senderClient"),
+        @NamedAttributeNode("recipient"),
+        @NamedAttributeNode("deliveryPerson"),
+        @NamedAttributeNode("zone")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Parcel {
 
+    /**
+     * Fetch plan for list reads mapped to ParcelResponseDTO: the to-one associations are joined,
+     * parcelProducts is loaded in batches (see {@link #parcelProducts}) so pagination stays in SQL.
+     */
+    public static final String LIST_GRAPH = "Parcel.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -66,6 +79,12 @@ public class Parcel {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Bumped on every parcel update, and explicitly when its product lines or history change;
+    // also the source of the ETags of the parcel read endpoints
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     
 
     
@@ -104,6 +123,7 @@ public class Parcel {
     
     
     
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "parcel", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<ParcelProduct> parcelProducts = new ArrayList<>();
 
@@ -0,0 +1,29 @@
+package com.logismart.logismartv2.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Incrementally maintained rollup of parcels per (zone, delivery person, status, priority).
+ * Kept in step with the parcel table by ParcelCounterService and rebuilt from it by the repair job.
+ */
+@Entity
+@Table(name = "parcel_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelCounter {
+
+    @EmbeddedId
+    private ParcelCounterId id;
+
+    @Column(name = "parcel_count", nullable = false)
+    private Long parcelCount;
+
+    @Column(name = "total_weight", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalWeight;
+}
@@ -0,0 +1,47 @@
+package com.logismart.logismartv2.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Rollup key. Primary key columns cannot be null, so a missing zone or
+ * delivery person is stored as {@link #NONE}.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelCounterId implements Serializable {
+
+    public static final String NONE = "";
+
+    @Column(name = "zone_id", nullable = false, length = 36)
+    private String zoneId;
+
+    @Column(name = "delivery_person_id", nullable = false, length = 36)
+    private String deliveryPersonId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private ParcelStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false, length = 20)
+    private ParcelPriority priority;
+
+    public static ParcelCounterId of(String zoneId, String deliveryPersonId,
+                                     ParcelStatus status, ParcelPriority priority) {
+        return new ParcelCounterId(
+                zoneId != null ? zoneId : NONE,
+                deliveryPersonId != null ? deliveryPersonId : NONE,
+                status,
+                priority);
+    }
+}
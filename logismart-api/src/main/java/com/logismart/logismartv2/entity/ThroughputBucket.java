@@ -0,0 +1,24 @@
+package com.logismart.logismartv2.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of delivery history rows per (granularity, bucket, zone, delivery person, status).
+ * Maintained as history rows are written and backfillable from delivery_history.
+ */
+@Entity
+@Table(name = "throughput_bucket")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThroughputBucket {
+
+    @EmbeddedId
+    private ThroughputBucketId id;
+
+    @Column(name = "change_count", nullable = false)
+    private Long changeCount;
+}
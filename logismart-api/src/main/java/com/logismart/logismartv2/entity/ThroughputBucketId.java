@@ -0,0 +1,40 @@
+package com.logismart.logismartv2.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Throughput bucket key. As in {@link ParcelCounterId}, a missing zone or
+ * delivery person is stored as an empty string.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThroughputBucketId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private BucketGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "zone_id", nullable = false, length = 36)
+    private String zoneId;
+
+    @Column(name = "delivery_person_id", nullable = false, length = 36)
+    private String deliveryPersonId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private ParcelStatus status;
+}
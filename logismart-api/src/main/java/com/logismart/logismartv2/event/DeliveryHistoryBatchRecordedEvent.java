@@ -0,0 +1,20 @@
+package com.logismart.logismartv2.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event published once by a bulk write in place of one {@link DeliveryHistoryRecordedEvent} per history row.
+ */
+@Getter
+public class DeliveryHistoryBatchRecordedEvent extends ApplicationEvent {
+
+    private final List<DeliveryHistoryRecordedEvent> records;
+
+    public DeliveryHistoryBatchRecordedEvent(Object source, List<DeliveryHistoryRecordedEvent> records) {
+        super(source);
+        this.records = List.copyOf(records);
+    }
+}
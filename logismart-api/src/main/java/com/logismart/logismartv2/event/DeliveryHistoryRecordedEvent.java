@@ -0,0 +1,59 @@
+package com.logismart.logismartv2.event;
+
+import com.logismart.logismartv2.entity.DeliveryHistory;
+import com.logismart.logismartv2.entity.Parcel;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published when a delivery history row is written ({@code delta = 1}) or removed ({@code delta = -1}).
+ * Carries the zone and delivery person the row is attributed to (see {@link DeliveryHistory#getZoneId()}) so
+ * throughput can be bucketed without joins, and a removal decrements the buckets the row was counted in.
+ */
+@Getter
+public class DeliveryHistoryRecordedEvent extends ApplicationEvent {
+
+    private final String parcelId;
+
+    private final String zoneId;
+
+    private final String deliveryPersonId;
+
+    private final ParcelStatus status;
+
+    private final LocalDateTime changedAt;
+
+    private final LocalDateTime parcelCreatedAt;
+
+    private final int delta;
+
+    public DeliveryHistoryRecordedEvent(Object source, DeliveryHistory history, int delta) {
+        super(source);
+        Parcel parcel = history.getParcel();
+        this.parcelId = parcel.getId();
+        this.zoneId = history.getZoneId();
+        this.deliveryPersonId = history.getDeliveryPersonId();
+        this.status = history.getStatus();
+        this.changedAt = history.getChangedAt() != null ? history.getChangedAt() : LocalDateTime.now();
+        this.parcelCreatedAt = parcel.getCreatedAt();
+        this.delta = delta;
+    }
+
+    /**
+     * For history rows written without a managed entity (JDBC batch inserts).
+     */
+    public DeliveryHistoryRecordedEvent(Object source, ParcelSnapshot parcel, ParcelStatus status,
+                                        LocalDateTime changedAt, int delta) {
+        super(source);
+        this.parcelId = parcel.getParcelId();
+        this.zoneId = parcel.getZoneId();
+        this.deliveryPersonId = parcel.getDeliveryPersonId();
+        this.status = status;
+        this.changedAt = changedAt;
+        this.parcelCreatedAt = parcel.getCreatedAt();
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,20 @@
+package com.logismart.logismartv2.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.logismart.logismartv2.entity.OutboxEvent;
+import com.logismart.logismartv2.entity.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed outbox event as handed to the outbox sinks. Delivery is at least once: consumers can
+ * drop duplicates by {@code id}, which also orders the events of a parcel.
+ */
+public record OutboxMessage(long id, String parcelId, OutboxEventType type,
+                            @JsonRawValue String payload, LocalDateTime createdAt) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getParcelId(), event.getEventType(),
+                event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package com.logismart.logismartv2.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Event published once by a bulk write in place of one {@link ParcelChangedEvent} per parcel,
+ * so synchronous listeners can apply the changes as a set instead of one statement per parcel.
+ */
+@Getter
+public class ParcelBatchChangedEvent extends ApplicationEvent {
+
+    private final List<ParcelChangedEvent> changes;
+
+    public ParcelBatchChangedEvent(Object source, List<ParcelChangedEvent> changes) {
+        super(source);
+        this.changes = List.copyOf(changes);
+    }
+}
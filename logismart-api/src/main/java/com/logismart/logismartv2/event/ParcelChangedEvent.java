@@ -0,0 +1,28 @@
+package com.logismart.logismartv2.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published by ParcelService whenever a parcel is created, updated or deleted.
+ * Published inside the writing transaction: synchronous listeners take part in it,
+ * transactional listeners can wait for the commit.
+ * {@code before} is null for a creation, {@code after} is null for a deletion.
+ */
+@Getter
+public class ParcelChangedEvent extends ApplicationEvent {
+
+    private final ParcelSnapshot before;
+
+    private final ParcelSnapshot after;
+
+    public ParcelChangedEvent(Object source, ParcelSnapshot before, ParcelSnapshot after) {
+        super(source);
+        this.before = before;
+        this.after = after;
+    }
+
+    public String getParcelId() {
+        return after != null ? after.getParcelId() : before.getParcelId();
+    }
+}
@@ -0,0 +1,19 @@
+package com.logismart.logismartv2.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published by ParcelProductService when a product line of a parcel is added, updated or removed,
+ * i.e. whenever the parcel's total value or product count may have changed.
+ */
+@Getter
+public class ParcelProductChangedEvent extends ApplicationEvent {
+
+    private final String parcelId;
+
+    public ParcelProductChangedEvent(Object source, String parcelId) {
+        super(source);
+        this.parcelId = parcelId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.logismart.logismartv2.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when a row embedded in the parcel representations (recipient, sender client,
+ * delivery person or zone) is updated, after the versions of the parcels referencing it were bumped.
+ */
+@Getter
+public class ParcelReferencesChangedEvent extends ApplicationEvent {
+
+    private final String referenceType;
+
+    private final String referenceId;
+
+    public ParcelReferencesChangedEvent(Object source, String referenceType, String referenceId) {
+        super(source);
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+    }
+}
@@ -0,0 +1,58 @@
+package com.logismart.logismartv2.event;
+
+import com.logismart.logismartv2.entity.Parcel;
+import com.logismart.logismartv2.entity.ParcelPriority;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the parcel dimensions that statistics are grouped by.
+ * Taken before and after a write so listeners can compute deltas without reloading the parcel.
+ */
+@Value
+@AllArgsConstructor
+public class ParcelSnapshot {
+
+    String parcelId;
+
+    String zoneId;
+
+    String deliveryPersonId;
+
+    ParcelStatus status;
+
+    ParcelPriority priority;
+
+    BigDecimal weight;
+
+    String destinationCity;
+
+    LocalDateTime createdAt;
+
+    String senderClientId;
+
+    String recipientId;
+
+    public ParcelSnapshot withStatus(ParcelStatus newStatus) {
+        return new ParcelSnapshot(parcelId, zoneId, deliveryPersonId, newStatus, priority, weight, destinationCity,
+                createdAt, senderClientId, recipientId);
+    }
+
+    public static ParcelSnapshot of(Parcel parcel) {
+        return new ParcelSnapshot(
+                parcel.getId(),
+                parcel.getZone() != null ? parcel.getZone().getId() : null,
+                parcel.getDeliveryPerson() != null ? parcel.getDeliveryPerson().getId() : null,
+                parcel.getStatus(),
+                parcel.getPriority(),
+                parcel.getWeight(),
+                parcel.getDestinationCity(),
+                parcel.getCreatedAt(),
+                parcel.getSenderClient() != null ? parcel.getSenderClient().getId() : null,
+                parcel.getRecipient() != null ? parcel.getRecipient().getId() : null);
+    }
+}
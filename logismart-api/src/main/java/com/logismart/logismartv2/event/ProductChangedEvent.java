@@ -0,0 +1,18 @@
+package com.logismart.logismartv2.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published by ProductService when a product is created, updated or deleted.
+ */
+@Getter
+public class ProductChangedEvent extends ApplicationEvent {
+
+    private final String productId;
+
+    public ProductChangedEvent(Object source, String productId) {
+        super(source);
+        this.productId = productId;
+    }
+}
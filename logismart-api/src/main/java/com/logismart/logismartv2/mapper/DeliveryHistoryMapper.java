@@ -14,6 +14,8 @@ public interface DeliveryHistoryMapper {
     @Mapping(target = "id", ignore = true)  
     @Mapping(target = "changedAt", ignore = true)  
     @Mapping(target = "parcel", ignore = true)  
+    @Mapping(target = "zoneId", ignore = true)
+    @Mapping(target = "deliveryPersonId", ignore = true)
     DeliveryHistory toEntity(DeliveryHistoryCreateDTO dto);
 
     @Mapping(target = "parcelId", source = "parcel.id")
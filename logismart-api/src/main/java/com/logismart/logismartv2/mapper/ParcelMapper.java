@@ -21,6 +21,7 @@ public interface ParcelMapper {
     @Mapping(target = "zone", ignore = true)  
     @Mapping(target = "parcelProducts", ignore = true)  
     @Mapping(target = "deliveryHistories", ignore = true)  
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "status", constant = "CREATED")  
     Parcel toEntity(ParcelCreateDTO dto);
 
@@ -35,6 +36,7 @@ public interface ParcelMapper {
     @Mapping(target = "zone", ignore = true)  
     @Mapping(target = "parcelProducts", ignore = true)  
     @Mapping(target = "deliveryHistories", ignore = true)  
+    @Mapping(target = "version", ignore = true)
     Parcel toEntity(ParcelUpdateDTO dto);
 
     @Mapping(target = "formattedWeight", expression = "java(entity.getFormattedWeight())")
@@ -74,5 +76,6 @@ public interface ParcelMapper {
     @Mapping(target = "zone", ignore = true)
     @Mapping(target = "parcelProducts", ignore = true)
     @Mapping(target = "deliveryHistories", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDTO(ParcelUpdateDTO dto, @MappingTarget Parcel entity);
 }
@@ -0,0 +1,20 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.entity.ParcelStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Write path for many history rows at once: plain JDBC batch inserts on the connection of the current
+ * transaction, without creating managed DeliveryHistory entities. {@code changedAt} is stored as given,
+ * so scans recorded on a device keep their scan time.
+ */
+public interface DeliveryHistoryBatchRepository {
+
+    record HistoryRow(String parcelId, String zoneId, String deliveryPersonId, ParcelStatus status,
+                      LocalDateTime changedAt, String comment) {
+    }
+
+    void insertAll(List<HistoryRow> rows);
+}
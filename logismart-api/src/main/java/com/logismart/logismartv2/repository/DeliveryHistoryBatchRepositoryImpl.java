@@ -0,0 +1,49 @@
+package com.logismart.logismartv2.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+class DeliveryHistoryBatchRepositoryImpl implements DeliveryHistoryBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO delivery_history (id, parcel_id, zone_id, delivery_person_id, status, changed_at, comment) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public void insertAll(List<HistoryRow> rows) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                int pending = 0;
+                for (HistoryRow row : rows) {
+                    statement.setString(1, UUID.randomUUID().toString());
+                    statement.setString(2, row.parcelId());
+                    statement.setString(3, row.zoneId());
+                    statement.setString(4, row.deliveryPersonId());
+                    statement.setString(5, row.status().name());
+                    statement.setObject(6, row.changedAt());
+                    statement.setString(7, row.comment());
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+}
@@ -2,21 +2,32 @@ package com.logismart.logismartv2.repository;
 
 import com.logismart.logismartv2.entity.DeliveryHistory;
 import com.logismart.logismartv2.entity.ParcelStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DeliveryHistoryRepository extends JpaRepository<DeliveryHistory, String> {
+public interface DeliveryHistoryRepository extends JpaRepository<DeliveryHistory, String>,
+        DeliveryHistoryBatchRepository {
 
     @Query("SELECT h FROM DeliveryHistory h WHERE h.parcel.id = :parcelId ORDER BY h.changedAt ASC")
     List<DeliveryHistory> findByParcelIdOrderByChangedAtAsc(@Param("parcelId") String parcelId);
 
+    // Batch read: one IN query for several parcels, grouped by the caller
+    @Query("SELECT h FROM DeliveryHistory h WHERE h.parcel.id IN :parcelIds ORDER BY h.changedAt ASC")
+    List<DeliveryHistory> findByParcelIdInOrderByChangedAtAsc(@Param("parcelIds") Collection<String> parcelIds);
+
     @Query("SELECT h FROM DeliveryHistory h WHERE h.parcel.id = :parcelId ORDER BY h.changedAt DESC")
     List<DeliveryHistory> findByParcelIdOrderByChangedAtDesc(@Param("parcelId") String parcelId);
 
@@ -36,21 +47,60 @@ public interface DeliveryHistoryRepository extends JpaRepository<DeliveryHistory
     @Query("SELECT h FROM DeliveryHistory h WHERE h.comment IS NOT NULL AND h.comment <> ''")
     List<DeliveryHistory> findEntriesWithComments();
 
-    @Query("SELECT h FROM DeliveryHistory h WHERE h.status = :status AND CAST(h.changedAt AS DATE) = CURRENT_DATE")
-    List<DeliveryHistory> findByStatusToday(@Param("status") ParcelStatus status);
+    @Query("SELECT h FROM DeliveryHistory h WHERE h.status = :status " +
+            "AND h.changedAt >= :startDate AND h.changedAt < :endDate")
+    List<DeliveryHistory> findByStatusChangedBetween(@Param("status") ParcelStatus status,
+                                                     @Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+
+    default List<DeliveryHistory> findByStatusToday(ParcelStatus status) {
+        LocalDate today = LocalDate.now();
+        return findByStatusChangedBetween(status, today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
 
     Long countByStatus(ParcelStatus status);
 
-    @Query("SELECT COUNT(h) FROM DeliveryHistory h WHERE CAST(h.changedAt AS DATE) = CURRENT_DATE")
-    Long countChangesToday();
+    // Half-open ranges on changed_at so the idx_history_changed_at / idx_history_status_changed_at indexes apply
+
+    @Query("SELECT COUNT(h) FROM DeliveryHistory h WHERE h.changedAt >= :startDate AND h.changedAt < :endDate")
+    Long countChangesBetween(@Param("startDate") LocalDateTime startDate,
+                             @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT COUNT(h) FROM DeliveryHistory h WHERE h.status = 'DELIVERED' AND CAST(h.changedAt AS DATE) = CURRENT_DATE")
-    Long countDeliveriesToday();
+    @Query("SELECT COUNT(h) FROM DeliveryHistory h WHERE h.status = 'DELIVERED' " +
+            "AND h.changedAt >= :startDate AND h.changedAt < :endDate")
+    Long countDeliveriesBetween(@Param("startDate") LocalDateTime startDate,
+                                @Param("endDate") LocalDateTime endDate);
+
+    default Long countChangesToday() {
+        LocalDate today = LocalDate.now();
+        return countChangesBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
+
+    default Long countDeliveriesToday() {
+        LocalDate today = LocalDate.now();
+        return countDeliveriesBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    }
 
     @Query("SELECT h FROM DeliveryHistory h WHERE h.changedAt BETWEEN :startDate AND :endDate ORDER BY h.changedAt DESC")
     List<DeliveryHistory> findByDateRange(@Param("startDate") LocalDateTime startDate,
                                            @Param("endDate") LocalDateTime endDate);
 
+    // Parcel creation and delivery timestamps, streamed to build the delivery-time sketch
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.createdAt, h.changedAt FROM DeliveryHistory h JOIN h.parcel p WHERE h.status = 'DELIVERED'")
+    Stream<Object[]> streamDeliveryTimes();
+
+    // Hours from parcel creation to delivery, percentiles computed by the database
+    @Query(value = "SELECT COUNT(*) AS measured, " +
+            "PERCENTILE_DISC(0.5) WITHIN GROUP (ORDER BY d.hours) AS p50, " +
+            "PERCENTILE_DISC(0.9) WITHIN GROUP (ORDER BY d.hours) AS p90, " +
+            "PERCENTILE_DISC(0.99) WITHIN GROUP (ORDER BY d.hours) AS p99 " +
+            "FROM (SELECT (EXTRACT(EPOCH FROM h.changed_at) - EXTRACT(EPOCH FROM p.created_at)) / 3600.0 AS hours " +
+            "FROM delivery_history h JOIN parcel p ON p.id = h.parcel_id " +
+            "WHERE h.status = 'DELIVERED' AND p.created_at IS NOT NULL) d",
+            nativeQuery = true)
+    Percentiles deliveryTimePercentiles();
+
     @Query("SELECT h FROM DeliveryHistory h WHERE h.parcel.id = :parcelId AND h.status = :status")
     Optional<DeliveryHistory> findByParcelIdAndStatus(@Param("parcelId") String parcelId,
                                                        @Param("status") ParcelStatus status);
@@ -72,4 +122,9 @@ public interface DeliveryHistoryRepository extends JpaRepository<DeliveryHistory
 
     @Query("SELECT h FROM DeliveryHistory h WHERE LOWER(h.comment) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY h.changedAt DESC")
     List<DeliveryHistory> searchByComment(@Param("keyword") String keyword);
+
+    // NDJSON export: rows are streamed with a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT h FROM DeliveryHistory h")
+    Stream<DeliveryHistory> streamAll();
 }
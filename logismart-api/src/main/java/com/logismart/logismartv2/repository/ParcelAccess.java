@@ -0,0 +1,27 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.entity.Parcel;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Which parcels a user may read, applied as a predicate so access to many parcels is checked in one query.
+ */
+public enum ParcelAccess {
+
+    /** Managers read every parcel. */
+    ALL,
+
+    /** Clients read the parcels they sent. */
+    SENDER,
+
+    /** Delivery persons read the parcels assigned to them. */
+    DELIVERY_PERSON;
+
+    public Specification<Parcel> restrictTo(String userId) {
+        return switch (this) {
+            case ALL -> null;
+            case SENDER -> ParcelSpecification.sentByUser(userId);
+            case DELIVERY_PERSON -> ParcelSpecification.assignedToUser(userId);
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.dto.statistics.DeliveryPersonAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.entity.ParcelCounter;
+import com.logismart.logismartv2.entity.ParcelCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ParcelCounterRepository extends JpaRepository<ParcelCounter, ParcelCounterId>,
+        ParcelCounterUpsertRepository {
+
+    // Repair: rebuild the rollup from the parcel table
+
+    @Modifying
+    @Query(value = "DELETE FROM parcel_counter", nativeQuery = true)
+    int deleteAllCounters();
+
+    @Modifying
+    @Query(value = "INSERT INTO parcel_counter " +
+            "(zone_id, delivery_person_id, status, priority, parcel_count, total_weight) " +
+            "SELECT COALESCE(zone_id, ''), COALESCE(delivery_person_id, ''), status, priority, " +
+            "COUNT(*), COALESCE(SUM(weight), 0) " +
+            "FROM parcel " +
+            "GROUP BY COALESCE(zone_id, ''), COALESCE(delivery_person_id, ''), status, priority",
+            nativeQuery = true)
+    int insertCountersFromParcels();
+
+    // Reads: O(number of groups)
+
+    @Query("SELECT c.id.status, SUM(c.parcelCount) FROM ParcelCounter c GROUP BY c.id.status")
+    List<Object[]> sumByStatus();
+
+    @Query("SELECT c.id.priority, SUM(c.parcelCount) FROM ParcelCounter c GROUP BY c.id.priority")
+    List<Object[]> sumByPriority();
+
+    @Query("SELECT z.name, SUM(c.parcelCount) FROM ParcelCounter c " +
+            "LEFT JOIN Zone z ON z.id = c.id.zoneId " +
+            "GROUP BY c.id.zoneId, z.name HAVING SUM(c.parcelCount) > 0")
+    List<Object[]> sumByZoneName();
+
+    @Query("SELECT new com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO(" +
+            "c.id.status, c.id.priority, SUM(c.parcelCount), SUM(c.totalWeight), " +
+            "SUM(CASE WHEN c.id.deliveryPersonId = '' THEN c.parcelCount ELSE 0 END)) " +
+            "FROM ParcelCounter c GROUP BY c.id.status, c.id.priority")
+    List<ParcelAggregateDTO> aggregateByStatusAndPriority();
+
+    @Query("SELECT new com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO(" +
+            "c.id.status, c.id.priority, SUM(c.parcelCount), SUM(c.totalWeight), " +
+            "SUM(CASE WHEN c.id.deliveryPersonId = '' THEN c.parcelCount ELSE 0 END)) " +
+            "FROM ParcelCounter c WHERE c.id.zoneId = :zoneId GROUP BY c.id.status, c.id.priority")
+    List<ParcelAggregateDTO> aggregateByStatusAndPriorityForZone(@Param("zoneId") String zoneId);
+
+    @Query("SELECT new com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO(" +
+            "c.id.zoneId, c.id.status, c.id.priority, SUM(c.parcelCount), SUM(c.totalWeight), " +
+            "SUM(CASE WHEN c.id.deliveryPersonId = '' THEN c.parcelCount ELSE 0 END)) " +
+            "FROM ParcelCounter c WHERE c.id.zoneId <> '' GROUP BY c.id.zoneId, c.id.status, c.id.priority")
+    List<ParcelAggregateDTO> aggregateByZoneStatusAndPriority();
+
+    @Query("SELECT new com.logismart.logismartv2.dto.statistics.DeliveryPersonAggregateDTO(" +
+            "dp.id, dp.firstName, dp.lastName, z.name, c.id.status, " +
+            "COALESCE(SUM(c.parcelCount), 0L), SUM(c.totalWeight)) " +
+            "FROM DeliveryPerson dp LEFT JOIN dp.assignedZone z " +
+            "LEFT JOIN ParcelCounter c ON c.id.deliveryPersonId = dp.id " +
+            "GROUP BY dp.id, dp.firstName, dp.lastName, z.name, c.id.status " +
+            "ORDER BY dp.lastName, dp.firstName, dp.id")
+    List<DeliveryPersonAggregateDTO> aggregateByDeliveryPersonAndStatus();
+
+    @Query("SELECT new com.logismart.logismartv2.dto.statistics.DeliveryPersonAggregateDTO(" +
+            "dp.id, dp.firstName, dp.lastName, z.name, c.id.status, " +
+            "COALESCE(SUM(c.parcelCount), 0L), SUM(c.totalWeight)) " +
+            "FROM DeliveryPerson dp LEFT JOIN dp.assignedZone z " +
+            "LEFT JOIN ParcelCounter c ON c.id.deliveryPersonId = dp.id " +
+            "WHERE dp.id = :deliveryPersonId " +
+            "GROUP BY dp.id, dp.firstName, dp.lastName, z.name, c.id.status")
+    List<DeliveryPersonAggregateDTO> aggregateByStatusForDeliveryPerson(
+            @Param("deliveryPersonId") String deliveryPersonId);
+}
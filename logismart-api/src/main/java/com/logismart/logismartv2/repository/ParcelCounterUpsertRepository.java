@@ -0,0 +1,20 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.entity.ParcelCounterId;
+
+import java.math.BigDecimal;
+
+/**
+ * Adds a count and weight delta to a rollup group, creating it on first use and removing it once its
+ * count drops to zero. Safe against concurrent writers creating the same group.
+ */
+public interface ParcelCounterUpsertRepository {
+
+    void upsert(ParcelCounterId id, long count, BigDecimal weight);
+
+    /**
+     * Holds off concurrent upserts until the calling transaction ends, so a rebuild's delete and
+     * re-insert cannot interleave with them. No-op outside PostgreSQL.
+     */
+    void lockForRebuild();
+}
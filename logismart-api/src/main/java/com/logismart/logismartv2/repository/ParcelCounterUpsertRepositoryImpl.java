@@ -0,0 +1,82 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.entity.ParcelCounter;
+import com.logismart.logismartv2.entity.ParcelCounterId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.math.BigDecimal;
+
+class ParcelCounterUpsertRepositoryImpl implements ParcelCounterUpsertRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO parcel_counter " +
+            "(zone_id, delivery_person_id, status, priority, parcel_count, total_weight) " +
+            "VALUES (:zoneId, :deliveryPersonId, :status, :priority, :count, :weight) ";
+
+    private static final String UPSERT_SQL = INSERT_SQL +
+            "ON CONFLICT (zone_id, delivery_person_id, status, priority) " +
+            "DO UPDATE SET parcel_count = parcel_counter.parcel_count + EXCLUDED.parcel_count, " +
+            "total_weight = parcel_counter.total_weight + EXCLUDED.total_weight";
+
+    private static final String INSERT_IF_ABSENT_SQL = INSERT_SQL + "ON CONFLICT DO NOTHING";
+
+    private static final String INCREMENT_SQL = "UPDATE parcel_counter " +
+            "SET parcel_count = parcel_count + :count, total_weight = total_weight + :weight " +
+            "WHERE zone_id = :zoneId AND delivery_person_id = :deliveryPersonId " +
+            "AND status = :status AND priority = :priority";
+
+    // Groups emptied by a decrement; the row lock taken by the update keeps a concurrent upsert waiting
+    private static final String DELETE_IF_EMPTY_SQL = "DELETE FROM parcel_counter " +
+            "WHERE zone_id = :zoneId AND delivery_person_id = :deliveryPersonId " +
+            "AND status = :status AND priority = :priority AND parcel_count = 0";
+
+    // Conflicts with the ROW EXCLUSIVE lock of every insert, update and delete, but not with reads
+    private static final String LOCK_SQL = "LOCK TABLE parcel_counter IN EXCLUSIVE MODE";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void upsert(ParcelCounterId id, long count, BigDecimal weight) {
+        if (RollupUpserts.supportsOnConflictUpdate(entityManager)) {
+            execute(UPSERT_SQL, id, count, weight);
+        } else if (execute(INSERT_IF_ABSENT_SQL, id, count, weight) == 0) {
+            execute(INCREMENT_SQL, id, count, weight);
+        }
+        if (count < 0) {
+            entityManager.createNativeQuery(DELETE_IF_EMPTY_SQL)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(ParcelCounter.class)
+                    .setParameter("zoneId", id.getZoneId())
+                    .setParameter("deliveryPersonId", id.getDeliveryPersonId())
+                    .setParameter("status", id.getStatus().name())
+                    .setParameter("priority", id.getPriority().name())
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void lockForRebuild() {
+        if (RollupUpserts.supportsOnConflictUpdate(entityManager)) {
+            entityManager.createNativeQuery(LOCK_SQL)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(ParcelCounter.class)
+                    .executeUpdate();
+        }
+    }
+
+    private int execute(String sql, ParcelCounterId id, long count, BigDecimal weight) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // Only flush and invalidate what touches parcel_counter
+                .addSynchronizedEntityClass(ParcelCounter.class)
+                .setParameter("zoneId", id.getZoneId())
+                .setParameter("deliveryPersonId", id.getDeliveryPersonId())
+                .setParameter("status", id.getStatus().name())
+                .setParameter("priority", id.getPriority().name())
+                .setParameter("count", count)
+                .setParameter("weight", weight)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,105 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.exception.BadRequestException;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Position in a keyset-paginated parcel listing: the sort key and direction, plus the sort value and
+ * id of the last row returned. Clients only see it as an opaque token ({@link #encode()}).
+ * <p>
+ * Rows are ordered by {@code (sortKey, id)}, so the next page is everything strictly after that pair
+ * (see {@link ParcelSpecification#after(ParcelCursor)}). With a matching {@code (column, id)} index
+ * every page costs the same, however deep.
+ */
+@Getter
+public final class ParcelCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Whitelisted sort keys: non-null columns backed by a {@code (column, id)} index.
+     */
+    @Getter
+    public enum SortKey {
+        CREATED_AT("createdAt", LocalDateTime::parse, ParcelResponseDTO::getCreatedAt),
+        WEIGHT("weight", BigDecimal::new, ParcelResponseDTO::getWeight),
+        DESTINATION_CITY("destinationCity", value -> value, ParcelResponseDTO::getDestinationCity);
+
+        private final String property;
+        private final Function<String, Comparable<?>> parser;
+        private final Function<ParcelResponseDTO, Comparable<?>> extractor;
+
+        SortKey(String property, Function<String, Comparable<?>> parser,
+                Function<ParcelResponseDTO, Comparable<?>> extractor) {
+            this.property = property;
+            this.parser = parser;
+            this.extractor = extractor;
+        }
+
+        public static SortKey fromProperty(String property) {
+            return Arrays.stream(values())
+                    .filter(key -> key.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Unsupported cursor sort '" + property +
+                            "'. Allowed: createdAt, weight, destinationCity"));
+        }
+    }
+
+    private final SortKey sortKey;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final String id;
+
+    private ParcelCursor(SortKey sortKey, Sort.Direction direction, Comparable<?> value, String id) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static ParcelCursor first(String sortProperty, Sort.Direction direction) {
+        return new ParcelCursor(SortKey.fromProperty(sortProperty), direction, null, null);
+    }
+
+    public static ParcelCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last because city names may contain the separator
+            String[] parts = decoded.split("\\" + SEPARATOR, 4);
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            return new ParcelCursor(sortKey, Sort.Direction.valueOf(parts[1]),
+                    sortKey.parser.apply(parts[3]), parts[2]);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, sortKey.name(), direction.name(), id, value.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor pointing just after {@code last}, in the same ordering.
+     */
+    public ParcelCursor after(ParcelResponseDTO last) {
+        return new ParcelCursor(sortKey, direction, sortKey.extractor.apply(last), last.getId());
+    }
+
+    public boolean isFirstPage() {
+        return id == null;
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, sortKey.property, "id");
+    }
+}
@@ -0,0 +1,108 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.exception.BadRequestException;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldset for parcel reads ({@code ?fields=id,status,recipientName}).
+ * <p>
+ * Each ParcelResponseDTO field belongs to a {@link Part}: only the parts of the requested fields are
+ * joined or aggregated by ParcelReadRepository, and only the requested fields are serialized (see
+ * ParcelFieldFilters). The parcel's own columns come from the same row and are always read;
+ * {@code id} is always returned.
+ */
+public final class ParcelFieldSet {
+
+    public static final ParcelFieldSet ALL = new ParcelFieldSet(null, EnumSet.allOf(Part.class));
+
+    public enum Part {
+        PARCEL, SENDER, RECIPIENT, DELIVERY_PERSON, ZONE, PRODUCTS
+    }
+
+    private static final Map<String, Part> FIELDS = new LinkedHashMap<>();
+
+    static {
+        for (String field : new String[]{"id", "description", "weight", "formattedWeight", "status",
+                "statusDisplay", "priority", "priorityDisplay", "destinationCity", "createdAt",
+                "isDelivered", "isInProgress", "isHighPriority"}) {
+            FIELDS.put(field, Part.PARCEL);
+        }
+        FIELDS.put("senderClientId", Part.SENDER);
+        FIELDS.put("senderClientName", Part.SENDER);
+        FIELDS.put("recipientId", Part.RECIPIENT);
+        FIELDS.put("recipientName", Part.RECIPIENT);
+        FIELDS.put("recipientPhone", Part.RECIPIENT);
+        FIELDS.put("recipientEmail", Part.RECIPIENT);
+        FIELDS.put("recipientAddress", Part.RECIPIENT);
+        FIELDS.put("deliveryPersonId", Part.DELIVERY_PERSON);
+        FIELDS.put("deliveryPersonName", Part.DELIVERY_PERSON);
+        FIELDS.put("isAssignedToDeliveryPerson", Part.DELIVERY_PERSON);
+        FIELDS.put("zoneId", Part.ZONE);
+        FIELDS.put("zoneName", Part.ZONE);
+        FIELDS.put("totalValue", Part.PRODUCTS);
+        FIELDS.put("formattedTotalValue", Part.PRODUCTS);
+        FIELDS.put("productCount", Part.PRODUCTS);
+    }
+
+    // null when every field is requested
+    private final Set<String> fields;
+    private final Set<Part> parts;
+
+    private ParcelFieldSet(Set<String> fields, Set<Part> parts) {
+        this.fields = fields;
+        this.parts = parts;
+    }
+
+    /**
+     * Parses a comma-separated field list; a missing or blank list means every field.
+     */
+    public static ParcelFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        Set<Part> parts = EnumSet.of(Part.PARCEL);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            Part part = FIELDS.get(name);
+            if (part == null) {
+                throw new BadRequestException("Unknown parcel field '" + name + "'. Allowed: " +
+                        String.join(", ", FIELDS.keySet()));
+            }
+            requested.add(name);
+            parts.add(part);
+        }
+        return new ParcelFieldSet(Collections.unmodifiableSet(requested), parts);
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(Part part) {
+        return parts.contains(part);
+    }
+
+    /**
+     * JSON properties to serialize; every field when {@link #isAll()}.
+     */
+    public Set<String> getFields() {
+        return isAll() ? Collections.unmodifiableSet(FIELDS.keySet()) : fields;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", fields);
+    }
+}
@@ -1,14 +1,18 @@
 package com.logismart.logismartv2.repository;
 
 import com.logismart.logismartv2.entity.ParcelProduct;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ParcelProductRepository extends JpaRepository<ParcelProduct, String> {
@@ -87,4 +91,9 @@ public interface ParcelProductRepository extends JpaRepository<ParcelProduct, St
 
     @Query("SELECT AVG(totalQty) FROM (SELECT SUM(pp.quantity) as totalQty FROM ParcelProduct pp GROUP BY pp.parcel.id) as subquery")
     Double calculateAverageQuantityPerParcel();
+
+    // NDJSON export: rows are streamed with a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT pp FROM ParcelProduct pp JOIN FETCH pp.parcel JOIN FETCH pp.product")
+    Stream<ParcelProduct> streamAllWithRelationships();
 }
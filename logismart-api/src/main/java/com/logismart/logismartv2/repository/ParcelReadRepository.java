@@ -0,0 +1,60 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.Parcel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Read model for parcel lists: selects exactly the columns of {@link ParcelResponseDTO},
+ * with names joined in and product totals computed by correlated subqueries, so no
+ * managed Parcel entities are created. Joins and aggregates outside the requested
+ * {@link ParcelFieldSet} are skipped and left null.
+ */
+public interface ParcelReadRepository {
+
+    List<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Sort sort, ParcelFieldSet fields);
+
+    Page<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Pageable pageable, ParcelFieldSet fields);
+
+    /**
+     * Same as {@link #findResponses(Specification, Pageable, ParcelFieldSet)}, with the total supplied by the caller
+     * (e.g. from a cache or an estimate) when it is needed.
+     */
+    Page<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Pageable pageable, ParcelFieldSet fields,
+                                          LongSupplier total);
+
+    /**
+     * Reads {@code size + 1} rows to tell whether there is a next page, without counting.
+     */
+    Slice<ParcelResponseDTO> findResponseSlice(Specification<Parcel> spec, Pageable pageable, ParcelFieldSet fields);
+
+    /**
+     * At most {@code limit} rows and no count query, for keyset pagination.
+     */
+    List<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Sort sort, int limit, ParcelFieldSet fields);
+
+    /**
+     * Ids of the parcels matching {@code spec}, without reading any other column.
+     */
+    List<String> findIds(Specification<Parcel> spec);
+
+    /**
+     * Row count of the parcel table from the planner statistics (PostgreSQL {@code pg_class.reltuples}),
+     * or empty when the database does not keep one or the table was never analyzed.
+     */
+    OptionalLong estimateCount();
+
+    /**
+     * Unbounded read streamed with a server-side cursor; must be consumed inside a transaction.
+     */
+    Stream<ParcelResponseDTO> streamResponses(Specification<Parcel> spec, ParcelFieldSet fields);
+}
@@ -0,0 +1,187 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.repository.ParcelFieldSet.Part;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+class ParcelReadRepositoryImpl implements ParcelReadRepository {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Sort sort, ParcelFieldSet fields) {
+        return createQuery(spec, sort, fields).getResultList();
+    }
+
+    @Override
+    public Page<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Pageable pageable, ParcelFieldSet fields) {
+        return findResponses(spec, pageable, fields, () -> count(spec));
+    }
+
+    @Override
+    public Page<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Pageable pageable, ParcelFieldSet fields,
+                                                 LongSupplier total) {
+        TypedQuery<ParcelResponseDTO> query = createQuery(spec, pageable.getSort(), fields);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, total);
+    }
+
+    @Override
+    public Slice<ParcelResponseDTO> findResponseSlice(Specification<Parcel> spec, Pageable pageable,
+                                                      ParcelFieldSet fields) {
+        TypedQuery<ParcelResponseDTO> query = createQuery(spec, pageable.getSort(), fields);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<ParcelResponseDTO> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<ParcelResponseDTO> findResponses(Specification<Parcel> spec, Sort sort, int limit,
+                                                 ParcelFieldSet fields) {
+        return createQuery(spec, sort, fields).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<ParcelResponseDTO> streamResponses(Specification<Parcel> spec, ParcelFieldSet fields) {
+        return createQuery(spec, Sort.unsorted(), fields)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<String> findIds(Specification<Parcel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Parcel> parcel = query.from(Parcel.class);
+        query.select(parcel.get("id"));
+
+        Predicate predicate = spec != null ? spec.toPredicate(parcel, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public OptionalLong estimateCount() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        if (!(dialect instanceof PostgreSQLDialect)) {
+            return OptionalLong.empty();
+        }
+
+        // reltuples is -1 until the table is first vacuumed or analyzed; the scalar subquery always
+        // yields exactly one row, NULL when the table is missing
+        Number estimate = (Number) entityManager.createNativeQuery(
+                        "SELECT CAST((SELECT reltuples FROM pg_class WHERE oid = to_regclass('parcel')) AS BIGINT)")
+                .getSingleResult();
+        return estimate != null && estimate.longValue() >= 0
+                ? OptionalLong.of(estimate.longValue())
+                : OptionalLong.empty();
+    }
+
+    private TypedQuery<ParcelResponseDTO> createQuery(Specification<Parcel> spec, Sort sort, ParcelFieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ParcelResponseDTO> query = cb.createQuery(ParcelResponseDTO.class);
+        Root<Parcel> parcel = query.from(Parcel.class);
+
+        // Parts outside the fieldset are neither joined nor aggregated: their columns are selected as NULL
+        Join<Parcel, SenderClient> sender = fields.includes(Part.SENDER)
+                ? parcel.join("senderClient", JoinType.LEFT) : null;
+        Join<Parcel, Recipient> recipient = fields.includes(Part.RECIPIENT)
+                ? parcel.join("recipient", JoinType.LEFT) : null;
+        Join<Parcel, DeliveryPerson> deliveryPerson = fields.includes(Part.DELIVERY_PERSON)
+                ? parcel.join("deliveryPerson", JoinType.LEFT) : null;
+        Join<Parcel, Zone> zone = fields.includes(Part.ZONE)
+                ? parcel.join("zone", JoinType.LEFT) : null;
+
+        Expression<BigDecimal> totalValue = cb.nullLiteral(BigDecimal.class);
+        Expression<Long> productCount = cb.nullLiteral(Long.class);
+        if (fields.includes(Part.PRODUCTS)) {
+            // Correlated aggregates over parcel_product
+            Subquery<BigDecimal> valueQuery = query.subquery(BigDecimal.class);
+            Root<ParcelProduct> valueLine = valueQuery.from(ParcelProduct.class);
+            totalValue = valueQuery.select(cb.sum(cb.prod(valueLine.<BigDecimal>get("price"),
+                            valueLine.<Integer>get("quantity").as(BigDecimal.class))))
+                    .where(cb.equal(valueLine.get("parcel"), parcel));
+
+            Subquery<Long> countQuery = query.subquery(Long.class);
+            Root<ParcelProduct> countLine = countQuery.from(ParcelProduct.class);
+            productCount = countQuery.select(cb.count(countLine))
+                    .where(cb.equal(countLine.get("parcel"), parcel));
+        }
+
+        query.select(cb.construct(ParcelResponseDTO.class,
+                parcel.get("id"), parcel.get("description"), parcel.get("weight"),
+                parcel.get("status"), parcel.get("priority"),
+                parcel.get("destinationCity"), parcel.get("createdAt"),
+                column(cb, sender, "id"), column(cb, sender, "firstName"), column(cb, sender, "lastName"),
+                column(cb, recipient, "id"), column(cb, recipient, "firstName"), column(cb, recipient, "lastName"),
+                column(cb, recipient, "phone"), column(cb, recipient, "email"), column(cb, recipient, "address"),
+                column(cb, deliveryPerson, "id"), column(cb, deliveryPerson, "firstName"),
+                column(cb, deliveryPerson, "lastName"),
+                column(cb, zone, "id"), column(cb, zone, "name"),
+                totalValue, productCount));
+
+        Predicate predicate = spec != null ? spec.toPredicate(parcel, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, parcel, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    // Every joined attribute of the projection is a String
+    private static Expression<String> column(CriteriaBuilder cb, Join<Parcel, ?> join, String attribute) {
+        return join != null ? join.get(attribute) : cb.nullLiteral(String.class);
+    }
+
+    private long count(Specification<Parcel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Parcel> parcel = query.from(Parcel.class);
+        query.select(cb.count(parcel));
+
+        Predicate predicate = spec != null ? spec.toPredicate(parcel, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -3,51 +3,88 @@ package com.logismart.logismartv2.repository;
 import com.logismart.logismartv2.entity.Parcel;
 import com.logismart.logismartv2.entity.ParcelPriority;
 import com.logismart.logismartv2.entity.ParcelStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ParcelRepository extends JpaRepository<Parcel, String>, JpaSpecificationExecutor<Parcel> {
+public interface ParcelRepository extends JpaRepository<Parcel, String>, JpaSpecificationExecutor<Parcel>,
+        ParcelReadRepository {
 
-    
+    // Entity list reads use the Parcel.LIST_GRAPH fetch plan; API list endpoints read ParcelResponseDTO
+    // rows directly through ParcelReadRepository
+
+    @Override
+    @EntityGraph(Parcel.LIST_GRAPH)
+    List<Parcel> findAll();
+
+    @Override
+    @EntityGraph(Parcel.LIST_GRAPH)
+    Page<Parcel> findAll(Pageable pageable);
 
+    @Override
+    @EntityGraph(Parcel.LIST_GRAPH)
+    Page<Parcel> findAll(Specification<Parcel> spec, Pageable pageable);
+
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByStatus(ParcelStatus status);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByPriority(ParcelPriority priority);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByStatusAndPriority(ParcelStatus status, ParcelPriority priority);
 
     Long countByStatus(ParcelStatus status);
 
     
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findBySenderClientId(String senderClientId);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByRecipientId(String recipientId);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByDeliveryPersonId(String deliveryPersonId);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByZoneId(String zoneId);
 
     Long countByZoneId(String zoneId);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     @Query("SELECT p FROM Parcel p WHERE p.deliveryPerson IS NULL")
     List<Parcel> findUnassignedParcels();
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     @Query("SELECT p FROM Parcel p WHERE p.zone IS NULL")
     List<Parcel> findParcelsWithoutZone();
 
     
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByDestinationCity(String city);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByDestinationCityContainingIgnoreCase(String keyword);
 
     @Query("SELECT DISTINCT p.destinationCity FROM Parcel p ORDER BY p.destinationCity")
@@ -82,16 +119,67 @@ public interface ParcelRepository extends JpaRepository<Parcel, String>, JpaSpec
             "LEFT JOIN FETCH p.zone")
     List<Parcel> findAllWithRelationships();
 
+    // Versions for ETags: scalar reads, no joins to the parcel's relationships
+
+    @Query("SELECT p.version FROM Parcel p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    @Query("SELECT p.id, p.version FROM Parcel p WHERE p.deliveryPerson.userId = :userId ORDER BY p.id")
+    List<Object[]> findVersionsByDeliveryPersonUserId(@Param("userId") String userId);
+
+    @Query("SELECT p.id, p.version FROM Parcel p WHERE p.senderClient.userId = :userId ORDER BY p.id")
+    List<Object[]> findVersionsBySenderClientUserId(@Param("userId") String userId);
+
+    // Batch status scans: the rows needed for the ownership check and the statistics snapshots, in one query.
+    // Locked until the scan commits, so updateStatus cannot overwrite a status changed since this read;
+    // ordered by id so concurrent scans take the row locks in the same order.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id, p.zone.id, p.deliveryPerson.id, p.status, p.priority, p.weight, " +
+            "p.destinationCity, p.createdAt, p.senderClient.id, p.recipient.id FROM Parcel p WHERE p.id IN :ids " +
+            "ORDER BY p.id")
+    List<Object[]> findSnapshotColumns(@Param("ids") Collection<String> ids);
+
+    // Set-based status change; bumps the version like an entity update would
+    @Modifying
+    @Query("UPDATE Parcel p SET p.status = :status, p.version = p.version + 1 WHERE p.id IN :ids")
+    int updateStatus(@Param("ids") Collection<String> ids, @Param("status") ParcelStatus status);
+
+    // For changes stored outside the parcel row (product lines, history) that still change its representations
+    @Modifying
+    @Query("UPDATE Parcel p SET p.version = p.version + 1 WHERE p.id = :id")
+    int incrementVersion(@Param("id") String id);
+
+    // For edits of the joined rows (names, contact details) embedded in the parcel representations
+    @Modifying
+    @Query("UPDATE Parcel p SET p.version = p.version + 1 WHERE p.recipient.id = :recipientId")
+    int incrementVersionByRecipientId(@Param("recipientId") String recipientId);
+
+    @Modifying
+    @Query("UPDATE Parcel p SET p.version = p.version + 1 WHERE p.senderClient.id = :senderClientId")
+    int incrementVersionBySenderClientId(@Param("senderClientId") String senderClientId);
+
+    @Modifying
+    @Query("UPDATE Parcel p SET p.version = p.version + 1 WHERE p.deliveryPerson.id = :deliveryPersonId")
+    int incrementVersionByDeliveryPersonId(@Param("deliveryPersonId") String deliveryPersonId);
+
+    @Modifying
+    @Query("UPDATE Parcel p SET p.version = p.version + 1 WHERE p.zone.id = :zoneId")
+    int incrementVersionByZoneId(@Param("zoneId") String zoneId);
+
     
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findBySenderClientIdAndStatus(String senderClientId, ParcelStatus status);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByDeliveryPersonIdAndStatus(String deliveryPersonId, ParcelStatus status);
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     List<Parcel> findByZoneIdAndStatus(String zoneId, ParcelStatus status);
 
     
 
+    @EntityGraph(Parcel.LIST_GRAPH)
     @Query("SELECT p FROM Parcel p WHERE p.priority = 'EXPRESS' AND p.status <> 'DELIVERED'")
     List<Parcel> findHighPriorityPending();
 
@@ -119,4 +207,92 @@ public interface ParcelRepository extends JpaRepository<Parcel, String>, JpaSpec
 
     @Query("SELECT p FROM Parcel p WHERE p.createdAt < :threshold AND p.status <> 'DELIVERED'")
     List<Parcel> findOverdueParcels(@Param("threshold") LocalDateTime threshold);
+
+    // Statistics: aggregated in the database, one row per group
+
+    // Case-insensitive like the city filter and the columnar snapshot: one group per lower-cased city
+    @Query("SELECT LOWER(p.destinationCity), COUNT(p) FROM Parcel p GROUP BY LOWER(p.destinationCity)")
+    List<Object[]> countByDestinationCity();
+
+    // Columnar snapshot load: scalar columns only, streamed with a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id, p.zone.id, p.deliveryPerson.id, p.status, p.priority, p.weight, " +
+            "p.destinationCity, p.createdAt FROM Parcel p")
+    Stream<Object[]> streamAnalyticsColumns();
+
+    // Distribution statistics: sketch rebuilds stream scalar columns
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.destinationCity, p.senderClient.id, p.recipient.id, p.weight FROM Parcel p")
+    Stream<Object[]> streamDistributionColumns();
+
+    // Exact-mode percentiles are computed by the database, without loading the values
+    @Query(value = "SELECT COUNT(weight) AS measured, " +
+            "PERCENTILE_DISC(0.5) WITHIN GROUP (ORDER BY weight) AS p50, " +
+            "PERCENTILE_DISC(0.9) WITHIN GROUP (ORDER BY weight) AS p90, " +
+            "PERCENTILE_DISC(0.99) WITHIN GROUP (ORDER BY weight) AS p99 " +
+            "FROM parcel WHERE weight IS NOT NULL",
+            nativeQuery = true)
+    Percentiles weightPercentiles();
+
+    @Query("SELECT COUNT(DISTINCT p.destinationCity) AS destinationCities, " +
+            "COUNT(DISTINCT p.senderClient.id) AS senders, " +
+            "COUNT(DISTINCT p.recipient.id) AS recipients FROM Parcel p")
+    DistinctCounts countDistinctValues();
+
+    // Range-bounded on (delivery_person_id, created_at), see idx_parcel_delivery_person_created_at
+    @Query("SELECT COUNT(p) AS total, " +
+            "COALESCE(SUM(CASE WHEN p.status = 'DELIVERED' THEN 1 ELSE 0 END), 0) AS delivered " +
+            "FROM Parcel p WHERE p.deliveryPerson.id = :deliveryPersonId " +
+            "AND p.createdAt >= :startDate AND p.createdAt < :endDate")
+    PeriodCounts countForDeliveryPersonCreatedBetween(@Param("deliveryPersonId") String deliveryPersonId,
+                                                      @Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
+
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM zone) AS \"totalZones\", " +
+            "(SELECT COUNT(*) FROM delivery_person) AS \"totalDeliveryPersons\", " +
+            "(SELECT COUNT(*) FROM sender_client) AS \"totalSenderClients\", " +
+            "(SELECT COUNT(*) FROM recipient) AS \"totalRecipients\", " +
+            "(SELECT COUNT(*) FROM product) AS \"totalProducts\"",
+            nativeQuery = true)
+    EntityCounts countReferenceEntities();
+
+    /**
+     * Row counts of the reference tables, fetched in a single round trip.
+     */
+    interface EntityCounts {
+
+        Long getTotalZones();
+
+        Long getTotalDeliveryPersons();
+
+        Long getTotalSenderClients();
+
+        Long getTotalRecipients();
+
+        Long getTotalProducts();
+    }
+
+    /**
+     * Exact distinct counts over all parcels.
+     */
+    interface DistinctCounts {
+
+        Long getDestinationCities();
+
+        Long getSenders();
+
+        Long getRecipients();
+    }
+
+    /**
+     * Parcels created in a period, and how many of them are delivered.
+     */
+    interface PeriodCounts {
+
+        Long getTotal();
+
+        Long getDelivered();
+    }
 }
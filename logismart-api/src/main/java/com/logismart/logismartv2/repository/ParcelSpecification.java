@@ -3,10 +3,12 @@ package com.logismart.logismartv2.repository;
 import com.logismart.logismartv2.entity.*;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class ParcelSpecification {
@@ -75,4 +77,62 @@ public class ParcelSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    public static Specification<Parcel> notDelivered() {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.notEqual(root.get("status"), ParcelStatus.DELIVERED);
+    }
+
+    public static Specification<Parcel> highPriorityPending() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.equal(root.get("priority"), ParcelPriority.EXPRESS),
+                criteriaBuilder.notEqual(root.get("status"), ParcelStatus.DELIVERED));
+    }
+
+    public static Specification<Parcel> idIn(Collection<String> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Parcel> sentByUser(String userId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.join("senderClient", JoinType.INNER).get("userId"), userId);
+    }
+
+    public static Specification<Parcel> assignedToUser(String userId) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.join("deliveryPerson", JoinType.INNER).get("userId"), userId);
+    }
+
+    /**
+     * Keyset predicate: rows strictly after the cursor position in {@code (sortKey, id)} order.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Parcel> after(ParcelCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor.isFirstPage()) {
+                return null;
+            }
+
+            Path key = root.get(cursor.getSortKey().getProperty());
+            Path<String> id = root.get("id");
+            Comparable value = cursor.getValue();
+
+            // The redundant leading bound gives the planner an index range on (key, id); the OR alone
+            // would be applied as a filter from the start of the index
+            if (cursor.getDirection().isAscending()) {
+                return criteriaBuilder.and(
+                        criteriaBuilder.greaterThanOrEqualTo(key, value),
+                        criteriaBuilder.or(
+                                criteriaBuilder.greaterThan(key, value),
+                                criteriaBuilder.and(criteriaBuilder.equal(key, value),
+                                        criteriaBuilder.greaterThan(id, cursor.getId()))));
+            }
+            return criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(key, value),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(key, value),
+                            criteriaBuilder.and(criteriaBuilder.equal(key, value),
+                                    criteriaBuilder.lessThan(id, cursor.getId()))));
+        };
+    }
 }
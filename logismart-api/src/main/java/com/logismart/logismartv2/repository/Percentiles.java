@@ -0,0 +1,16 @@
+package com.logismart.logismartv2.repository;
+
+/**
+ * Row of an exact percentile query: the number of values measured and their p50 / p90 / p99
+ * ({@code percentile_disc}, i.e. nearest rank). Percentiles are null when nothing was measured.
+ */
+public interface Percentiles {
+
+    Long getMeasured();
+
+    Double getP50();
+
+    Double getP90();
+
+    Double getP99();
+}
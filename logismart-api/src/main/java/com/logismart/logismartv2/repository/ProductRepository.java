@@ -1,14 +1,18 @@
 package com.logismart.logismartv2.repository;
 
 import com.logismart.logismartv2.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, String> {
@@ -52,4 +56,13 @@ public interface ProductRepository extends JpaRepository<Product, String> {
 
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.category) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Product> searchByNameOrCategory(@Param("keyword") String keyword);
+
+    // In-memory product catalog: scalar columns only, no entities in the persistence context
+    @Query("SELECT p.id, p.name, p.category, p.price, p.weight FROM Product p")
+    List<Object[]> findCatalogRows();
+
+    // NDJSON export: rows are streamed with a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p FROM Product p")
+    Stream<Product> streamAll();
 }
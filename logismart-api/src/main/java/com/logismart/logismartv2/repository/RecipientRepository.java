@@ -1,13 +1,17 @@
 package com.logismart.logismartv2.repository;
 
 import com.logismart.logismartv2.entity.Recipient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecipientRepository extends JpaRepository<Recipient, String> {
@@ -31,4 +35,9 @@ public interface RecipientRepository extends JpaRepository<Recipient, String> {
     List<Recipient> findFrequentRecipients(@Param("minParcels") Long minParcels);
 
     List<Recipient> findByPhoneContaining(String keyword);
+
+    // NDJSON export: rows are streamed with a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r FROM Recipient r")
+    Stream<Recipient> streamAll();
 }
@@ -0,0 +1,21 @@
+package com.logismart.logismartv2.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Shared by the rollup upserts. PostgreSQL takes a single {@code INSERT ... ON CONFLICT ... DO UPDATE};
+ * H2 (tests) only has {@code ON CONFLICT DO NOTHING}, so there the row is inserted if absent and then
+ * incremented. Both forms wait for a concurrent insert of the same key instead of failing on it.
+ */
+final class RollupUpserts {
+
+    private RollupUpserts() {
+    }
+
+    static boolean supportsOnConflictUpdate(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -1,13 +1,17 @@
 package com.logismart.logismartv2.repository;
 
 import com.logismart.logismartv2.entity.SenderClient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SenderClientRepository extends JpaRepository<SenderClient, String> {
@@ -40,4 +44,9 @@ public interface SenderClientRepository extends JpaRepository<SenderClient, Stri
      * Find sender client by user ID (for role-based access control)
      */
     Optional<SenderClient> findByUserId(String userId);
+
+    // NDJSON export: rows are streamed with a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s FROM SenderClient s")
+    Stream<SenderClient> streamAll();
 }
@@ -0,0 +1,66 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.dto.statistics.ThroughputPointDTO;
+import com.logismart.logismartv2.entity.BucketGranularity;
+import com.logismart.logismartv2.entity.ThroughputBucket;
+import com.logismart.logismartv2.entity.ThroughputBucketId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ThroughputBucketRepository extends JpaRepository<ThroughputBucket, ThroughputBucketId>,
+        ThroughputBucketUpsertRepository {
+
+    @Query("SELECT new com.logismart.logismartv2.dto.statistics.ThroughputPointDTO(b.id.bucketStart, " +
+            "SUM(CASE WHEN b.id.status = 'CREATED' THEN b.changeCount ELSE 0 END), " +
+            "SUM(CASE WHEN b.id.status = 'COLLECTED' THEN b.changeCount ELSE 0 END), " +
+            "SUM(CASE WHEN b.id.status = 'DELIVERED' THEN b.changeCount ELSE 0 END), " +
+            "SUM(b.changeCount)) " +
+            "FROM ThroughputBucket b " +
+            "WHERE b.id.granularity = :granularity " +
+            "AND b.id.bucketStart >= :from AND b.id.bucketStart < :to " +
+            "AND (:zoneId IS NULL OR b.id.zoneId = :zoneId) " +
+            "AND (:deliveryPersonId IS NULL OR b.id.deliveryPersonId = :deliveryPersonId) " +
+            "GROUP BY b.id.bucketStart ORDER BY b.id.bucketStart")
+    List<ThroughputPointDTO> findSeries(@Param("granularity") BucketGranularity granularity,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("zoneId") String zoneId,
+                                        @Param("deliveryPersonId") String deliveryPersonId);
+
+    // Backfill from delivery_history, attributing each row to the zone and courier stored on it
+
+    @Modifying
+    @Query(value = "DELETE FROM throughput_bucket WHERE bucket_start >= :from", nativeQuery = true)
+    int deleteFrom(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query(value = "INSERT INTO throughput_bucket " +
+            "(granularity, bucket_start, zone_id, delivery_person_id, status, change_count) " +
+            "SELECT 'HOUR', DATE_TRUNC('hour', h.changed_at), COALESCE(h.zone_id, ''), " +
+            "COALESCE(h.delivery_person_id, ''), h.status, COUNT(*) " +
+            "FROM delivery_history h " +
+            "WHERE h.changed_at >= :from " +
+            "GROUP BY DATE_TRUNC('hour', h.changed_at), COALESCE(h.zone_id, ''), " +
+            "COALESCE(h.delivery_person_id, ''), h.status",
+            nativeQuery = true)
+    int insertHourlyFromHistory(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query(value = "INSERT INTO throughput_bucket " +
+            "(granularity, bucket_start, zone_id, delivery_person_id, status, change_count) " +
+            "SELECT 'DAY', DATE_TRUNC('day', h.changed_at), COALESCE(h.zone_id, ''), " +
+            "COALESCE(h.delivery_person_id, ''), h.status, COUNT(*) " +
+            "FROM delivery_history h " +
+            "WHERE h.changed_at >= :from " +
+            "GROUP BY DATE_TRUNC('day', h.changed_at), COALESCE(h.zone_id, ''), " +
+            "COALESCE(h.delivery_person_id, ''), h.status",
+            nativeQuery = true)
+    int insertDailyFromHistory(@Param("from") LocalDateTime from);
+}
@@ -0,0 +1,12 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.entity.ThroughputBucketId;
+
+/**
+ * Adds {@code delta} to a throughput bucket, creating it on first use. Safe against concurrent writers
+ * creating the same bucket, e.g. every parcel creation at an hour boundary.
+ */
+public interface ThroughputBucketUpsertRepository {
+
+    void upsert(ThroughputBucketId id, long delta);
+}
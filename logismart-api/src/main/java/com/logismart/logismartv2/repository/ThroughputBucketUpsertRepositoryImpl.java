@@ -0,0 +1,50 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.entity.ThroughputBucket;
+import com.logismart.logismartv2.entity.ThroughputBucketId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+class ThroughputBucketUpsertRepositoryImpl implements ThroughputBucketUpsertRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO throughput_bucket " +
+            "(granularity, bucket_start, zone_id, delivery_person_id, status, change_count) " +
+            "VALUES (:granularity, :bucketStart, :zoneId, :deliveryPersonId, :status, :delta) ";
+
+    private static final String UPSERT_SQL = INSERT_SQL +
+            "ON CONFLICT (granularity, bucket_start, zone_id, delivery_person_id, status) " +
+            "DO UPDATE SET change_count = throughput_bucket.change_count + EXCLUDED.change_count";
+
+    private static final String INSERT_IF_ABSENT_SQL = INSERT_SQL + "ON CONFLICT DO NOTHING";
+
+    private static final String INCREMENT_SQL = "UPDATE throughput_bucket SET change_count = change_count + :delta " +
+            "WHERE granularity = :granularity AND bucket_start = :bucketStart AND zone_id = :zoneId " +
+            "AND delivery_person_id = :deliveryPersonId AND status = :status";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void upsert(ThroughputBucketId id, long delta) {
+        if (RollupUpserts.supportsOnConflictUpdate(entityManager)) {
+            execute(UPSERT_SQL, id, delta);
+        } else if (execute(INSERT_IF_ABSENT_SQL, id, delta) == 0) {
+            execute(INCREMENT_SQL, id, delta);
+        }
+    }
+
+    private int execute(String sql, ThroughputBucketId id, long delta) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // Only flush and invalidate what touches throughput_bucket
+                .addSynchronizedEntityClass(ThroughputBucket.class)
+                .setParameter("granularity", id.getGranularity().name())
+                .setParameter("bucketStart", id.getBucketStart())
+                .setParameter("zoneId", id.getZoneId())
+                .setParameter("deliveryPersonId", id.getDeliveryPersonId())
+                .setParameter("status", id.getStatus().name())
+                .setParameter("delta", delta)
+                .executeUpdate();
+    }
+}
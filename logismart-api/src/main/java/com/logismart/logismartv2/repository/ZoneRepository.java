@@ -1,11 +1,13 @@
 package com.logismart.logismartv2.repository;
 
+import com.logismart.logismartv2.dto.zone.ZoneStatsDTO;
 import com.logismart.logismartv2.entity.Zone;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,17 @@ public interface ZoneRepository extends JpaRepository<Zone, String> {
 
     boolean existsByPostalCode(String postalCode);
 
+    // One conditional aggregate per zone; zones without parcels get a row of zeros
+    @Query("SELECT new com.logismart.logismartv2.dto.zone.ZoneStatsDTO(z.id, z.name, COUNT(p), " +
+            "COALESCE(SUM(p.weight), 0), " +
+            "SUM(CASE WHEN p.status = 'IN_TRANSIT' THEN 1L ELSE 0L END), " +
+            "SUM(CASE WHEN p.status = 'DELIVERED' THEN 1L ELSE 0L END), " +
+            "SUM(CASE WHEN p.id IS NOT NULL AND p.deliveryPerson IS NULL THEN 1L ELSE 0L END)) " +
+            "FROM Zone z LEFT JOIN z.parcels p " +
+            "WHERE z.id IN :zoneIds " +
+            "GROUP BY z.id, z.name")
+    List<ZoneStatsDTO> findStatsByZoneIds(@Param("zoneIds") Collection<String> zoneIds);
+
     @Query("SELECT COUNT(dp) FROM DeliveryPerson dp WHERE dp.assignedZone.id = :zoneId")
     Long countDeliveryPersonsByZoneId(@Param("zoneId") String zoneId);
 
@@ -30,4 +43,23 @@ public interface ZoneRepository extends JpaRepository<Zone, String> {
 
     @Query("SELECT z FROM Zone z WHERE NOT EXISTS (SELECT 1 FROM DeliveryPerson dp WHERE dp.assignedZone.id = z.id)")
     List<Zone> findZonesWithoutDeliveryPersons();
+
+    @Query("SELECT z.id AS id, z.name AS name, z.postalCode AS postalCode, COUNT(dp) AS deliveryPersonCount " +
+            "FROM Zone z LEFT JOIN z.deliveryPersons dp " +
+            "GROUP BY z.id, z.name, z.postalCode ORDER BY z.name")
+    List<ZoneSummary> findAllWithDeliveryPersonCount();
+
+    /**
+     * Zone identity plus its courier count, read without loading Zone entities.
+     */
+    interface ZoneSummary {
+
+        String getId();
+
+        String getName();
+
+        String getPostalCode();
+
+        Long getDeliveryPersonCount();
+    }
 }
@@ -5,6 +5,7 @@ import com.logismart.logismartv2.dto.deliveryhistory.DeliveryHistoryResponseDTO;
 import com.logismart.logismartv2.entity.DeliveryHistory;
 import com.logismart.logismartv2.entity.DeliveryPerson;
 import com.logismart.logismartv2.entity.Parcel;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.DeliveryHistoryMapper;
 import com.logismart.logismartv2.repository.DeliveryHistoryRepository;
@@ -12,9 +13,11 @@ import com.logismart.logismartv2.repository.DeliveryPersonRepository;
 import com.logismart.logismartv2.repository.ParcelRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,6 +31,8 @@ public class DeliveryHistoryService {
     private final DeliveryHistoryMapper deliveryHistoryMapper;
     private final ParcelRepository parcelRepository;
     private final DeliveryPersonRepository deliveryPersonRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonWriter ndjsonWriter;
 
     public DeliveryHistoryResponseDTO create(DeliveryHistoryCreateDTO dto) {
         log.info("Creating delivery history entry for parcel ID: {} with status: {}",
@@ -44,6 +49,9 @@ public class DeliveryHistoryService {
         
         DeliveryHistory savedHistory = deliveryHistoryRepository.save(history);
         log.info("Delivery history entry created successfully with ID: {}", savedHistory.getId());
+        // The parcel's history changed: its ETags must change too
+        parcelRepository.incrementVersion(parcel.getId());
+        eventPublisher.publishEvent(new DeliveryHistoryRecordedEvent(this, savedHistory, 1));
 
         return deliveryHistoryMapper.toResponseDTO(savedHistory);
     }
@@ -65,6 +73,16 @@ public class DeliveryHistoryService {
         return deliveryHistoryMapper.toResponseDTOList(histories);
     }
 
+    /**
+     * All delivery history entries as NDJSON, streamed in constant memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) {
+        log.info("Exporting all delivery history entries");
+        long count = ndjsonWriter.write(deliveryHistoryRepository.streamAll(), deliveryHistoryMapper::toResponseDTO, out);
+        log.info("Exported {} delivery history entries", count);
+    }
+
     @Transactional(readOnly = true)
     public List<DeliveryHistoryResponseDTO> findByParcelId(String parcelId) {
         log.info("Finding delivery history for parcel ID: {}", parcelId);
@@ -98,11 +116,12 @@ public class DeliveryHistoryService {
     public void delete(String id) {
         log.warn("DELETING delivery history entry with ID: {} - This affects audit trail!", id);
 
-        if (!deliveryHistoryRepository.existsById(id)) {
-            throw new ResourceNotFoundException("DeliveryHistory", "id", id);
-        }
+        DeliveryHistory history = deliveryHistoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("DeliveryHistory", "id", id));
 
-        deliveryHistoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new DeliveryHistoryRecordedEvent(this, history, -1));
+        deliveryHistoryRepository.delete(history);
+        parcelRepository.incrementVersion(history.getParcel().getId());
         log.warn("Delivery history entry deleted with ID: {}", id);
     }
 
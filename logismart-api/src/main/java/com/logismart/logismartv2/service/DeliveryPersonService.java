@@ -1,30 +1,42 @@
 package com.logismart.logismartv2.service;
 
+import com.logismart.logismartv2.config.CacheConfig;
 import com.logismart.logismartv2.dto.deliveryperson.DeliveryPersonCreateDTO;
 import com.logismart.logismartv2.dto.deliveryperson.DeliveryPersonResponseDTO;
 import com.logismart.logismartv2.dto.deliveryperson.DeliveryPersonStatsDTO;
 import com.logismart.logismartv2.dto.deliveryperson.DeliveryPersonUpdateDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.dto.statistics.DeliveryPersonAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelScanFilter;
 import com.logismart.logismartv2.entity.DeliveryPerson;
 import com.logismart.logismartv2.entity.Parcel;
 import com.logismart.logismartv2.entity.ParcelPriority;
 import com.logismart.logismartv2.entity.ParcelStatus;
 import com.logismart.logismartv2.entity.Zone;
+import com.logismart.logismartv2.event.ParcelReferencesChangedEvent;
 import com.logismart.logismartv2.exception.DuplicateResourceException;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.DeliveryPersonMapper;
 import com.logismart.logismartv2.mapper.ParcelMapper;
 import com.logismart.logismartv2.repository.DeliveryPersonRepository;
+import com.logismart.logismartv2.repository.ParcelCounterRepository;
 import com.logismart.logismartv2.repository.ParcelRepository;
 import com.logismart.logismartv2.repository.ZoneRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -37,6 +49,10 @@ public class DeliveryPersonService {
     private final ZoneRepository zoneRepository;
     private final ParcelRepository parcelRepository;
     private final ParcelMapper parcelMapper;
+    private final ParcelColumnarSnapshot parcelColumnarSnapshot;
+    private final ParcelCounterRepository parcelCounterRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DeliveryPersonResponseDTO create(DeliveryPersonCreateDTO dto) {
         log.info("Creating new delivery person with phone: {}", dto.getPhone());
@@ -107,6 +123,10 @@ public class DeliveryPersonService {
         }
 
         DeliveryPerson updatedDeliveryPerson = deliveryPersonRepository.save(existingDeliveryPerson);
+        evictStats(updatedDeliveryPerson.getId());
+        // The parcels embed the courier's name: new versions invalidate their ETags
+        parcelRepository.incrementVersionByDeliveryPersonId(updatedDeliveryPerson.getId());
+        eventPublisher.publishEvent(new ParcelReferencesChangedEvent(this, "DeliveryPerson", updatedDeliveryPerson.getId()));
         log.info("Delivery person updated successfully with ID: {}", updatedDeliveryPerson.getId());
 
         return deliveryPersonMapper.toResponseDTO(updatedDeliveryPerson);
@@ -120,6 +140,7 @@ public class DeliveryPersonService {
         }
 
         deliveryPersonRepository.deleteById(id);
+        evictStats(id);
         log.info("Delivery person deleted successfully with ID: {}", id);
     }
 
@@ -207,56 +228,95 @@ public class DeliveryPersonService {
         return parcelMapper.toResponseDTOList(urgentParcels);
     }
 
+    /**
+     * Courier home screen figures, cached per courier. Entries are evicted when one of the
+     * courier's parcels changes (see DeliveryPersonStatsCacheEvictor) and expire after a short TTL
+     * so the monthly figures roll over.
+     */
     @Transactional(readOnly = true)
     public DeliveryPersonStatsDTO getStats(String id) {
-        log.info("Calculating statistics for delivery person ID: {}", id);
-
-        DeliveryPerson deliveryPerson = deliveryPersonRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("DeliveryPerson", "id", id));
-
-        List<Parcel> allParcels = parcelRepository.findByDeliveryPersonId(id);
-
-        Long totalParcels = (long) allParcels.size();
-        Double totalWeight = allParcels.stream()
-                .map(Parcel::getWeight)
-                .mapToDouble(weight -> weight != null ? weight.doubleValue() : 0.0)
-                .sum();
-
-        Long activeParcels = allParcels.stream()
-                .filter(parcel -> parcel.getStatus() != ParcelStatus.DELIVERED)
-                .count();
-
-        Long deliveredParcels = allParcels.stream()
-                .filter(parcel -> parcel.getStatus() == ParcelStatus.DELIVERED)
-                .count();
-
-        Long inTransitParcels = allParcels.stream()
-                .filter(parcel -> parcel.getStatus() == ParcelStatus.IN_TRANSIT)
-                .count();
+        Cache cache = cacheManager.getCache(CacheConfig.DELIVERY_PERSON_STATS);
+        DeliveryPersonStatsDTO cached = cache != null ? cache.get(id, DeliveryPersonStatsDTO.class) : null;
+        if (cached != null) {
+            log.debug("Serving cached statistics for delivery person ID: {}", id);
+            return cached;
+        }
 
-        Long collectedParcels = allParcels.stream()
-                .filter(parcel -> parcel.getStatus() == ParcelStatus.COLLECTED)
-                .count();
+        DeliveryPersonStatsDTO stats = calculateStats(id);
+        if (cache != null) {
+            cache.put(id, stats);
+        }
+        return stats;
+    }
 
-        Long inStockParcels = allParcels.stream()
-                .filter(parcel -> parcel.getStatus() == ParcelStatus.IN_STOCK)
-                .count();
+    private DeliveryPersonStatsDTO calculateStats(String id) {
+        log.info("Calculating statistics for delivery person ID: {}", id);
 
-        // Monthly statistics
+        // Monthly statistics, half-open range [startOfMonth, startOfNextMonth)
         YearMonth currentMonth = YearMonth.now();
         LocalDateTime startOfMonth = currentMonth.atDay(1).atStartOfDay();
-        LocalDateTime endOfMonth = currentMonth.atEndOfMonth().atTime(23, 59, 59);
-
-        List<Parcel> parcelsThisMonth = allParcels.stream()
-                .filter(parcel -> parcel.getCreatedAt() != null &&
-                        !parcel.getCreatedAt().isBefore(startOfMonth) &&
-                        !parcel.getCreatedAt().isAfter(endOfMonth))
-                .toList();
+        LocalDateTime startOfNextMonth = currentMonth.plusMonths(1).atDay(1).atStartOfDay();
+
+        Map<ParcelStatus, Long> byStatus = new EnumMap<>(ParcelStatus.class);
+        BigDecimal weight = BigDecimal.ZERO;
+        String deliveryPersonName;
+        Long totalThisMonth;
+        Long deliveredThisMonth;
+
+        if (parcelColumnarSnapshot.isReady()) {
+            DeliveryPerson deliveryPerson = deliveryPersonRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("DeliveryPerson", "id", id));
+            deliveryPersonName = deliveryPerson.getFirstName() + " " + deliveryPerson.getLastName();
+
+            List<ParcelAggregateDTO> all = parcelColumnarSnapshot.aggregate(
+                    ParcelScanFilter.builder().deliveryPersonId(id).build(),
+                    ParcelColumnarSnapshot.Dimension.NONE);
+            List<ParcelAggregateDTO> thisMonth = parcelColumnarSnapshot.aggregate(
+                    ParcelScanFilter.builder()
+                            .deliveryPersonId(id)
+                            .createdFrom(startOfMonth)
+                            .createdTo(startOfNextMonth)
+                            .build(),
+                    ParcelColumnarSnapshot.Dimension.NONE);
+
+            for (ParcelAggregateDTO row : all) {
+                byStatus.merge(row.getStatus(), row.getParcelCount(), Long::sum);
+                weight = weight.add(row.getTotalWeight());
+            }
+            totalThisMonth = thisMonth.stream().mapToLong(ParcelAggregateDTO::getParcelCount).sum();
+            deliveredThisMonth = thisMonth.stream()
+                    .filter(row -> row.getStatus() == ParcelStatus.DELIVERED)
+                    .mapToLong(ParcelAggregateDTO::getParcelCount)
+                    .sum();
+        } else {
+            // All-time figures from the parcel_counter rollup, one row per status (a single
+            // row with a null status when the courier has no parcels)
+            List<DeliveryPersonAggregateDTO> rows = parcelCounterRepository.aggregateByStatusForDeliveryPerson(id);
+            if (rows.isEmpty()) {
+                throw new ResourceNotFoundException("DeliveryPerson", "id", id);
+            }
+            deliveryPersonName = rows.get(0).getFirstName() + " " + rows.get(0).getLastName();
+
+            for (DeliveryPersonAggregateDTO row : rows) {
+                if (row.getStatus() != null) {
+                    byStatus.merge(row.getStatus(), row.getParcelCount(), Long::sum);
+                    weight = weight.add(row.getTotalWeight() != null ? row.getTotalWeight() : BigDecimal.ZERO);
+                }
+            }
+
+            ParcelRepository.PeriodCounts month = parcelRepository.countForDeliveryPersonCreatedBetween(
+                    id, startOfMonth, startOfNextMonth);
+            totalThisMonth = month.getTotal();
+            deliveredThisMonth = month.getDelivered();
+        }
 
-        Long totalThisMonth = (long) parcelsThisMonth.size();
-        Long deliveredThisMonth = parcelsThisMonth.stream()
-                .filter(parcel -> parcel.getStatus() == ParcelStatus.DELIVERED)
-                .count();
+        Long totalParcels = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        Double totalWeight = weight.doubleValue();
+        Long deliveredParcels = byStatus.getOrDefault(ParcelStatus.DELIVERED, 0L);
+        Long activeParcels = totalParcels - deliveredParcels;
+        Long inTransitParcels = byStatus.getOrDefault(ParcelStatus.IN_TRANSIT, 0L);
+        Long collectedParcels = byStatus.getOrDefault(ParcelStatus.COLLECTED, 0L);
+        Long inStockParcels = byStatus.getOrDefault(ParcelStatus.IN_STOCK, 0L);
 
         // Success rate calculation
         Double successRate = totalParcels > 0
@@ -269,8 +329,6 @@ public class DeliveryPersonService {
                 ? deliveredThisMonth.doubleValue() / dayOfMonth
                 : 0.0;
 
-        String deliveryPersonName = deliveryPerson.getFirstName() + " " + deliveryPerson.getLastName();
-
         log.info("Statistics for delivery person {}: {} parcels, {} kg total weight, {}% success rate",
                 deliveryPersonName, totalParcels, totalWeight, String.format("%.2f", successRate));
 
@@ -333,4 +391,11 @@ public class DeliveryPersonService {
 
         return parcelMapper.toResponseDTOList(deliveredParcels);
     }
+
+    private void evictStats(String id) {
+        Cache cache = cacheManager.getCache(CacheConfig.DELIVERY_PERSON_STATS);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
 }
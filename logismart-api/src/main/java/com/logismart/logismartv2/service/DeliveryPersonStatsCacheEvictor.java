@@ -0,0 +1,43 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached courier statistics once a change to one of their parcels is committed.
+ * Both the previous and the new courier are evicted so reassignments refresh both screens.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryPersonStatsCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onParcelChanged(ParcelChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.DELIVERY_PERSON_STATS);
+        if (cache == null) {
+            return;
+        }
+        evict(cache, event.getBefore());
+        evict(cache, event.getAfter());
+    }
+
+    @TransactionalEventListener
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        event.getChanges().forEach(this::onParcelChanged);
+    }
+
+    private static void evict(Cache cache, ParcelSnapshot snapshot) {
+        if (snapshot != null && snapshot.getDeliveryPersonId() != null) {
+            cache.evict(snapshot.getDeliveryPersonId());
+        }
+    }
+}
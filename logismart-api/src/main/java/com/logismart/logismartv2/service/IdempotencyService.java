@@ -0,0 +1,129 @@
+package com.logismart.logismartv2.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logismart.logismartv2.entity.IdempotencyKey;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.exception.DuplicateResourceException;
+import com.logismart.logismartv2.repository.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for parcel creation.
+ * <p>
+ * The key row is inserted before the write and committed with it, so a retry either finds the stored
+ * response and replays it without running the write again, or (while the first request is still running)
+ * waits on the key's primary key and is answered with 409. A failed write rolls the key back with it, so
+ * the client can retry with the same key. Keys are scoped to the caller and the endpoint and expire after
+ * {@code app.idempotency.ttl-hours}; expired rows are purged on a schedule.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    public record Result<T>(T response, boolean replayed) {
+    }
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Transactional
+    public <T> Result<T> execute(String userId, String endpoint, String key, Object request,
+                                 Class<T> responseType, Function<T, String> parcelIdOf, Supplier<T> write) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = sha256(userId + "\n" + endpoint + "\n" + key);
+        String requestHash = sha256(toJson(request));
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findById(id);
+        if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+            IdempotencyKey stored = existing.get();
+            if (!stored.getRequestHash().equals(requestHash)) {
+                throw new BadRequestException(HEADER + " was already used with a different request body");
+            }
+            log.info("Replaying response for {} of parcel {}", HEADER, stored.getParcelId());
+            return new Result<>(fromJson(stored.getResponse(), responseType), true);
+        }
+
+        // New key, or an expired one that has not been purged yet: claim it before the write
+        IdempotencyKey claimed = existing.orElseGet(IdempotencyKey::new);
+        claimed.setId(id);
+        claimed.setRequestHash(requestHash);
+        claimed.setParcelId(null);
+        claimed.setResponse(null);
+        claimed.setCreatedAt(now);
+        claimed.setExpiresAt(now.plusHours(ttlHours));
+        try {
+            claimed = idempotencyKeyRepository.saveAndFlush(claimed);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("A request with this " + HEADER + " is already being processed");
+        }
+
+        T response = write.get();
+        claimed.setParcelId(parcelIdOf.apply(response));
+        claimed.setResponse(toJson(response));
+        return new Result<>(response, false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}",
+            initialDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored " + type.getSimpleName(), e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
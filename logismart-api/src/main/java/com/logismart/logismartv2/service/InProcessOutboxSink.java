@@ -0,0 +1,26 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.event.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes relayed events as {@link OutboxMessage} application events, for in-process
+ * {@code @EventListener}s that must only see committed changes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.in-process.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,291 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.entity.ParcelCounter;
+import com.logismart.logismartv2.entity.ParcelCounterId;
+import com.logismart.logismartv2.entity.ParcelPriority;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import com.logismart.logismartv2.entity.Zone;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelReferencesChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.repository.ParcelCounterRepository;
+import com.logismart.logismartv2.repository.ZoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-node, lock-free parcel counters for the manager dashboard.
+ * <p>
+ * Each zone owns {@link LongAdder} cells indexed by {@code status.ordinal() x priority.ordinal()}.
+ * The registry is seeded from parcel_counter once the application is ready, updated after each
+ * committed parcel write on this node, and reseeded periodically so writes made by other nodes
+ * (or outside ParcelService) show up within one reseed interval. Changes committed while a reseed is
+ * running are replayed on top of the fresh registry, as in ParcelColumnarSnapshot.
+ * Until seeded, or when disabled, {@link #isReady()} is false and callers read the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveParcelCounters {
+
+    private static final ParcelStatus[] STATUSES = ParcelStatus.values();
+    private static final ParcelPriority[] PRIORITIES = ParcelPriority.values();
+
+    private final ParcelCounterRepository parcelCounterRepository;
+    private final ZoneRepository zoneRepository;
+
+    @Value("${app.statistics.live-counters.enabled:true}")
+    private boolean enabled;
+
+    private volatile Registry registry;
+
+    // Guards the registry swap and the changes committed while a reseed is running
+    private final Object reloadMonitor = new Object();
+
+    private List<ParcelChangedEvent> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.live-counters.reseed-interval-ms:300000}",
+            initialDelayString = "${app.statistics.live-counters.reseed-interval-ms:300000}")
+    public void reseed() {
+        reload();
+    }
+
+    @TransactionalEventListener
+    public void onParcelChanged(ParcelChangedEvent event) {
+        Registry current;
+        synchronized (reloadMonitor) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            current = registry;
+        }
+        if (current != null) {
+            current.apply(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        event.getChanges().forEach(this::onParcelChanged);
+    }
+
+    @TransactionalEventListener
+    public void onParcelReferencesChanged(ParcelReferencesChangedEvent event) {
+        Registry current = registry;
+        if (current != null && "Zone".equals(event.getReferenceType())) {
+            // Resolved again on the next read, so a rename shows up immediately
+            current.zoneNames.remove(event.getReferenceId());
+        }
+    }
+
+    public boolean isReady() {
+        return registry != null;
+    }
+
+    public Map<ParcelStatus, Long> countByStatus() {
+        Map<ParcelStatus, Long> counts = new EnumMap<>(ParcelStatus.class);
+        for (ZoneCells cells : registry.zones.values()) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                for (int p = 0; p < PRIORITIES.length; p++) {
+                    counts.merge(STATUSES[s], cells.count[index(s, p)].sum(), Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    public Map<ParcelPriority, Long> countByPriority() {
+        Map<ParcelPriority, Long> counts = new EnumMap<>(ParcelPriority.class);
+        for (ZoneCells cells : registry.zones.values()) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                for (int p = 0; p < PRIORITIES.length; p++) {
+                    counts.merge(PRIORITIES[p], cells.count[index(s, p)].sum(), Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Parcel counts per zone name; parcels without a zone are reported under "Unassigned".
+     * Zones with no parcels are omitted, as in the database-backed grouping.
+     */
+    public Map<String, Long> countByZoneName() {
+        Registry current = registry;
+        Map<String, Long> counts = new HashMap<>();
+        current.zones.forEach((zoneId, cells) -> {
+            long total = cells.total();
+            if (total > 0) {
+                counts.merge(current.zoneName(zoneId, zoneRepository), total, Long::sum);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Same shape as ParcelCounterRepository#aggregateByStatusAndPriority, summed across zones.
+     */
+    public List<ParcelAggregateDTO> aggregateByStatusAndPriority() {
+        long[] counts = new long[STATUSES.length * PRIORITIES.length];
+        long[] unassigned = new long[counts.length];
+        long[] weightCents = new long[counts.length];
+
+        for (ZoneCells cells : registry.zones.values()) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += cells.count[i].sum();
+                unassigned[i] += cells.unassigned[i].sum();
+                weightCents[i] += cells.weightCents[i].sum();
+            }
+        }
+
+        List<ParcelAggregateDTO> rows = new ArrayList<>();
+        for (int s = 0; s < STATUSES.length; s++) {
+            for (int p = 0; p < PRIORITIES.length; p++) {
+                int i = index(s, p);
+                if (counts[i] != 0) {
+                    rows.add(new ParcelAggregateDTO(STATUSES[s], PRIORITIES[p], counts[i],
+                            BigDecimal.valueOf(weightCents[i], 2), unassigned[i]));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void reload() {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (reloadMonitor) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        Registry fresh = new Registry();
+        try {
+            for (ParcelCounter counter : parcelCounterRepository.findAll()) {
+                fresh.add(counter);
+            }
+            for (Zone zone : zoneRepository.findAll()) {
+                fresh.zoneNames.put(zone.getId(), zone.getName());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not seed live parcel counters, keeping previous values: {}", e.getMessage());
+            synchronized (reloadMonitor) {
+                pendingChanges = null;
+            }
+            return;
+        }
+
+        synchronized (reloadMonitor) {
+            for (ParcelChangedEvent event : pendingChanges) {
+                fresh.apply(event);
+            }
+            pendingChanges = null;
+            registry = fresh;
+        }
+        log.info("Live parcel counters seeded for {} zones", fresh.zones.size());
+    }
+
+    private static int index(int statusOrdinal, int priorityOrdinal) {
+        return statusOrdinal * PRIORITIES.length + priorityOrdinal;
+    }
+
+    private static long toCents(BigDecimal weight) {
+        return weight.movePointRight(2).longValue();
+    }
+
+    private static final class Registry {
+
+        private final ConcurrentHashMap<String, ZoneCells> zones = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<String, String> zoneNames = new ConcurrentHashMap<>();
+
+        void add(ParcelCounter counter) {
+            ParcelCounterId id = counter.getId();
+            int i = index(id.getStatus().ordinal(), id.getPriority().ordinal());
+            ZoneCells cells = zones.computeIfAbsent(id.getZoneId(), key -> new ZoneCells());
+            cells.count[i].add(counter.getParcelCount());
+            cells.weightCents[i].add(toCents(counter.getTotalWeight()));
+            if (ParcelCounterId.NONE.equals(id.getDeliveryPersonId())) {
+                cells.unassigned[i].add(counter.getParcelCount());
+            }
+        }
+
+        void apply(ParcelChangedEvent event) {
+            if (event.getBefore() != null) {
+                add(event.getBefore(), -1);
+            }
+            if (event.getAfter() != null) {
+                add(event.getAfter(), 1);
+            }
+        }
+
+        void add(ParcelSnapshot snapshot, int sign) {
+            int i = index(snapshot.getStatus().ordinal(), snapshot.getPriority().ordinal());
+            String zoneId = snapshot.getZoneId() != null ? snapshot.getZoneId() : ParcelCounterId.NONE;
+            ZoneCells cells = zones.computeIfAbsent(zoneId, key -> new ZoneCells());
+            cells.count[i].add(sign);
+            cells.weightCents[i].add(sign * toCents(snapshot.getWeight()));
+            if (snapshot.getDeliveryPersonId() == null) {
+                cells.unassigned[i].add(sign);
+            }
+        }
+
+        String zoneName(String zoneId, ZoneRepository zoneRepository) {
+            if (ParcelCounterId.NONE.equals(zoneId)) {
+                return "Unassigned";
+            }
+            // Zones created or renamed after the last reseed are resolved once, then cached
+            return zoneNames.computeIfAbsent(zoneId, id -> zoneRepository.findById(id)
+                    .map(Zone::getName)
+                    .orElse("Unassigned"));
+        }
+    }
+
+    private static final class ZoneCells {
+
+        private final LongAdder[] count = newCells();
+
+        private final LongAdder[] unassigned = newCells();
+
+        private final LongAdder[] weightCents = newCells();
+
+        long total() {
+            long total = 0;
+            for (LongAdder cell : count) {
+                total += cell.sum();
+            }
+            return total;
+        }
+
+        private static LongAdder[] newCells() {
+            LongAdder[] cells = new LongAdder[STATUSES.length * PRIORITIES.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+            return cells;
+        }
+    }
+}
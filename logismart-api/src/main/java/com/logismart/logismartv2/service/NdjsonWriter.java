@@ -0,0 +1,70 @@
+package com.logismart.logismartv2.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository stream as NDJSON (one JSON document per line) in constant memory.
+ * <p>
+ * Rows are mapped and written one at a time; every {@code app.export.clear-interval} rows the output
+ * is flushed and the persistence context cleared, so entities already written can be collected.
+ * Must be called inside a read-only transaction, which keeps the stream's cursor open.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonWriter {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.clear-interval:500}")
+    private int clearInterval;
+
+    /**
+     * @return the number of rows written
+     */
+    public <T, R> long write(Stream<T> rows, Function<T, R> mapper, OutputStream out) {
+        return write(rows, mapper, null, out);
+    }
+
+    /**
+     * Same as {@link #write(Stream, Function, OutputStream)}, serializing with the given Jackson
+     * filters (e.g. a sparse fieldset).
+     */
+    public <T, R> long write(Stream<T> rows, Function<T, R> mapper, FilterProvider filters, OutputStream out) {
+        ObjectWriter writer = filters != null ? objectMapper.writer(filters) : objectMapper.writer();
+        long count = 0;
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(mapper.apply(iterator.next())));
+                out.write(NEWLINE);
+                if (++count % clearInterval == 0) {
+                    out.flush();
+                    entityManager.clear();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("NDJSON export interrupted after " + count + " rows", e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,104 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.entity.OutboxEvent;
+import com.logismart.logismartv2.event.OutboxMessage;
+import com.logismart.logismartv2.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hands committed outbox events to every {@link OutboxSink}, in batches of {@code app.outbox.relay.batch-size}.
+ * <p>
+ * Each batch is read, published and marked in one transaction that holds row locks on it: events are
+ * relayed in id order, hence in order per parcel, and a relay on another node waits rather than
+ * overtaking. A failing sink rolls the batch back and the run stops; the batch is retried on the next run.
+ * Published events are kept for {@code app.outbox.retention-hours}, then purged.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    /**
+     * @return the number of events published
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:1000}",
+            initialDelayString = "${app.outbox.relay.interval-ms:1000}")
+    public int relay() {
+        if (!enabled) {
+            return 0;
+        }
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int total = 0;
+        int published;
+        do {
+            try {
+                published = template.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed after {} events, retrying on next run: {}", total, e.getMessage());
+                break;
+            }
+            total += published;
+        } while (published == batchSize);
+
+        if (total > 0) {
+            log.info("Relayed {} outbox events to {} sinks", total, sinks.size());
+        }
+        return total;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}",
+            initialDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgePublished() {
+        int purged = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            log.info("Purged {} published outbox events", purged);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxMessage> messages = events.stream().map(OutboxMessage::of).toList();
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(messages);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(sink.getClass().getSimpleName() + " failed: " + e.getMessage(), e);
+            }
+        }
+
+        outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+        return events.size();
+    }
+}
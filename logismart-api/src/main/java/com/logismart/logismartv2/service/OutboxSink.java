@@ -0,0 +1,15 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.event.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of the events relayed by {@link OutboxRelay}. Every sink bean receives every batch,
+ * in id order. A sink that throws fails the batch: it stays unpublished and is offered again to all
+ * sinks on the next run, so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
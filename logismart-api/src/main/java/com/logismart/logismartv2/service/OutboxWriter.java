@@ -0,0 +1,107 @@
+package com.logismart.logismartv2.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logismart.logismartv2.entity.OutboxEvent;
+import com.logismart.logismartv2.entity.OutboxEventType;
+import com.logismart.logismartv2.event.DeliveryHistoryBatchRecordedEvent;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelProductChangedEvent;
+import com.logismart.logismartv2.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records parcel domain events in the outbox_event table. Runs synchronously inside the transaction that
+ * changed the parcel, so an event is stored if and only if its change commits; {@link OutboxRelay} hands
+ * it to the sinks afterwards, off the request path.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onParcelChanged(ParcelChangedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        outboxEventRepository.saveAll(event.getChanges().stream().map(this::toOutboxEvent).toList());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onParcelProductChanged(ParcelProductChangedEvent event) {
+        outboxEventRepository.save(outboxEvent(event.getParcelId(), OutboxEventType.PARCEL_PRODUCTS_CHANGED,
+                Map.of("parcelId", event.getParcelId())));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDeliveryHistoryRecorded(DeliveryHistoryRecordedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDeliveryHistoryBatchRecorded(DeliveryHistoryBatchRecordedEvent event) {
+        outboxEventRepository.saveAll(event.getRecords().stream().map(this::toOutboxEvent).toList());
+    }
+
+    private OutboxEvent toOutboxEvent(ParcelChangedEvent event) {
+        OutboxEventType type = event.getBefore() == null ? OutboxEventType.PARCEL_CREATED
+                : event.getAfter() == null ? OutboxEventType.PARCEL_DELETED
+                : OutboxEventType.PARCEL_UPDATED;
+        // Map.of rejects the null side of a creation or deletion
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("before", event.getBefore());
+        payload.put("after", event.getAfter());
+        return outboxEvent(event.getParcelId(), type, payload);
+    }
+
+    private OutboxEvent toOutboxEvent(DeliveryHistoryRecordedEvent event) {
+        OutboxEventType type = event.getDelta() > 0
+                ? OutboxEventType.DELIVERY_HISTORY_RECORDED
+                : OutboxEventType.DELIVERY_HISTORY_REMOVED;
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("parcelId", event.getParcelId());
+        payload.put("status", event.getStatus());
+        payload.put("changedAt", event.getChangedAt());
+        payload.put("zoneId", event.getZoneId());
+        payload.put("deliveryPersonId", event.getDeliveryPersonId());
+        return outboxEvent(event.getParcelId(), type, payload);
+    }
+
+    private OutboxEvent outboxEvent(String parcelId, OutboxEventType type, Object payload) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setParcelId(parcelId);
+        outboxEvent.setEventType(type);
+        outboxEvent.setPayload(toJson(payload));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        return outboxEvent;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.parcel.ParcelBulkItemResultDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelBulkResultDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelCreateDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelProductItemDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanItemResultDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanResultDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.DeliveryHistoryBatchRecordedEvent;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.exception.ResourceNotFoundException;
+import com.logismart.logismartv2.mapper.ParcelMapper;
+import com.logismart.logismartv2.repository.DeliveryHistoryBatchRepository.HistoryRow;
+import com.logismart.logismartv2.repository.DeliveryHistoryRepository;
+import com.logismart.logismartv2.repository.DeliveryPersonRepository;
+import com.logismart.logismartv2.repository.ParcelProductRepository;
+import com.logismart.logismartv2.repository.ParcelRepository;
+import com.logismart.logismartv2.repository.ProductRepository;
+import com.logismart.logismartv2.repository.RecipientRepository;
+import com.logismart.logismartv2.repository.SenderClientRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk parcel writes.
+ * <p>
+ * Creation, compared with one {@link ParcelService#create} call per parcel:
+ * every referenced sender and recipient is checked with one {@code IN} query per table and products
+ * against the in-memory {@link ProductCatalog},
+ * parcels, product lines and initial history rows are inserted in JDBC batches
+ * ({@code hibernate.jdbc.batch_size} with ordered inserts), and the statistics rollups receive one
+ * batch event instead of one event per parcel.
+ * <p>
+ * Status scans, compared with one {@link ParcelService#updateParcelStatusForDeliveryPerson} call per parcel:
+ * existence and ownership of all parcels are checked with one query, each target status is applied
+ * with one set-based {@code UPDATE} and the history rows are inserted as one JDBC batch.
+ * <p>
+ * In both cases invalid items are reported and skipped; the valid ones are written in a single transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParcelBulkService {
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelMapper parcelMapper;
+    private final SenderClientRepository senderClientRepository;
+    private final RecipientRepository recipientRepository;
+    private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final ParcelProductRepository parcelProductRepository;
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
+    private final DeliveryPersonRepository deliveryPersonRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    @Value("${app.parcels.bulk.max-items:1000}")
+    private int maxItems;
+
+    @Transactional
+    public ParcelBulkResultDTO createAll(List<ParcelCreateDTO> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("At least one parcel is required");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("At most " + maxItems + " parcels can be created at once");
+        }
+        log.info("Bulk creating {} parcels", items.size());
+
+        Set<String> senderIds = new HashSet<>();
+        Set<String> recipientIds = new HashSet<>();
+        for (ParcelCreateDTO item : items) {
+            if (item == null) {
+                continue;
+            }
+            addIfPresent(senderIds, item.getSenderClientId());
+            addIfPresent(recipientIds, item.getRecipientId());
+        }
+
+        // One query per referenced table for the whole request; products come from the catalog
+        Map<String, SenderClient> senders = byId(senderClientRepository.findAllById(senderIds), SenderClient::getId);
+        Map<String, Recipient> recipients = byId(recipientRepository.findAllById(recipientIds), Recipient::getId);
+
+        List<ParcelBulkItemResultDTO> results = new ArrayList<>(items.size());
+        List<Parcel> parcels = new ArrayList<>();
+        List<ParcelProduct> lines = new ArrayList<>();
+        List<DeliveryHistory> histories = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int index = 0; index < items.size(); index++) {
+            ParcelCreateDTO item = items.get(index);
+            List<String> errors = validate(item, senders, recipients);
+            if (!errors.isEmpty()) {
+                results.add(new ParcelBulkItemResultDTO(index, false, null, errors));
+                continue;
+            }
+
+            Parcel parcel = parcelMapper.toEntity(item);
+            parcel.setStatus(ParcelStatus.CREATED);
+            parcel.setSenderClient(senders.get(item.getSenderClientId()));
+            parcel.setRecipient(recipients.get(item.getRecipientId()));
+            parcels.add(parcel);
+
+            for (ParcelProductItemDTO productItem : item.getProducts()) {
+                ParcelProduct line = new ParcelProduct();
+                line.setParcel(parcel);
+                line.setProduct(productRepository.getReferenceById(productItem.getProductId()));
+                line.setQuantity(productItem.getQuantity());
+                line.setPrice(productItem.getPrice());
+                lines.add(line);
+            }
+
+            DeliveryHistory history = new DeliveryHistory();
+            history.setParcel(parcel);
+            history.setStatus(ParcelStatus.CREATED);
+            history.setChangedAt(now);
+            history.setComment("Parcel created");
+            histories.add(history);
+
+            results.add(new ParcelBulkItemResultDTO(index, true, null, List.of()));
+        }
+
+        if (!parcels.isEmpty()) {
+            // Ids are generated in memory (UUID), so the inserts are queued and flushed in batches
+            parcelRepository.saveAll(parcels);
+            parcelProductRepository.saveAll(lines);
+            deliveryHistoryRepository.saveAll(histories);
+
+            eventPublisher.publishEvent(new ParcelBatchChangedEvent(this, parcels.stream()
+                    .map(parcel -> new ParcelChangedEvent(this, null, ParcelSnapshot.of(parcel)))
+                    .toList()));
+            eventPublisher.publishEvent(new DeliveryHistoryBatchRecordedEvent(this, histories.stream()
+                    .map(history -> new DeliveryHistoryRecordedEvent(this, history, 1))
+                    .toList()));
+        }
+
+        Iterator<Parcel> saved = parcels.iterator();
+        for (ParcelBulkItemResultDTO result : results) {
+            if (result.isCreated()) {
+                result.setParcelId(saved.next().getId());
+            }
+        }
+
+        log.info("Bulk creation complete - {} created, {} rejected", parcels.size(), items.size() - parcels.size());
+
+        return new ParcelBulkResultDTO(items.size(), parcels.size(), items.size() - parcels.size(), results);
+    }
+
+    @Transactional
+    public ParcelStatusScanResultDTO scanStatuses(List<ParcelStatusScanDTO> items, String userId) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("At least one scan is required");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("At most " + maxItems + " scans can be applied at once");
+        }
+        log.info("Delivery person (user ID: {}) scanning {} parcels", userId, items.size());
+
+        DeliveryPerson deliveryPerson = deliveryPersonRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("DeliveryPerson", "userId", userId));
+
+        Set<String> parcelIds = new HashSet<>();
+        for (ParcelStatusScanDTO item : items) {
+            if (item != null) {
+                addIfPresent(parcelIds, item.getParcelId());
+            }
+        }
+
+        // Existence, ownership and the statistics snapshots of every scanned parcel in one query
+        Map<String, ParcelSnapshot> parcels = new HashMap<>();
+        if (!parcelIds.isEmpty()) {
+            for (Object[] row : parcelRepository.findSnapshotColumns(parcelIds)) {
+                ParcelSnapshot snapshot = new ParcelSnapshot((String) row[0], (String) row[1], (String) row[2],
+                        (ParcelStatus) row[3], (ParcelPriority) row[4], (BigDecimal) row[5], (String) row[6],
+                        (LocalDateTime) row[7], (String) row[8], (String) row[9]);
+                parcels.put(snapshot.getParcelId(), snapshot);
+            }
+        }
+
+        List<ParcelStatusScanItemResultDTO> results = new ArrayList<>(items.size());
+        Map<ParcelStatus, List<String>> idsByStatus = new EnumMap<>(ParcelStatus.class);
+        Set<String> scanned = new HashSet<>();
+        List<HistoryRow> histories = new ArrayList<>();
+        List<ParcelChangedEvent> changes = new ArrayList<>();
+        List<DeliveryHistoryRecordedEvent> records = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int index = 0; index < items.size(); index++) {
+            ParcelStatusScanDTO item = items.get(index);
+            List<String> errors = validateScan(item, parcels, deliveryPerson.getId(), scanned);
+            if (!errors.isEmpty()) {
+                results.add(new ParcelStatusScanItemResultDTO(index, item != null ? item.getParcelId() : null,
+                        false, null, null, errors));
+                continue;
+            }
+
+            ParcelSnapshot before = parcels.get(item.getParcelId());
+            ParcelSnapshot after = before.withStatus(item.getStatus());
+            LocalDateTime changedAt = item.getScannedAt() != null ? item.getScannedAt() : now;
+
+            idsByStatus.computeIfAbsent(item.getStatus(), status -> new ArrayList<>()).add(item.getParcelId());
+            histories.add(new HistoryRow(item.getParcelId(), before.getZoneId(), before.getDeliveryPersonId(),
+                    item.getStatus(), changedAt,
+                    String.format("Status updated from %s to %s by delivery person scan",
+                            before.getStatus(), item.getStatus())));
+            changes.add(new ParcelChangedEvent(this, before, after));
+            records.add(new DeliveryHistoryRecordedEvent(this, after, item.getStatus(), changedAt, 1));
+            results.add(new ParcelStatusScanItemResultDTO(index, item.getParcelId(), true,
+                    before.getStatus(), item.getStatus(), List.of()));
+        }
+
+        if (!histories.isEmpty()) {
+            // One UPDATE per target status rather than one per parcel
+            idsByStatus.forEach((status, ids) -> parcelRepository.updateStatus(ids, status));
+            deliveryHistoryRepository.insertAll(histories);
+
+            eventPublisher.publishEvent(new ParcelBatchChangedEvent(this, changes));
+            eventPublisher.publishEvent(new DeliveryHistoryBatchRecordedEvent(this, records));
+        }
+
+        log.info("Status scan complete for delivery person {} - {} updated, {} rejected",
+                deliveryPerson.getId(), histories.size(), items.size() - histories.size());
+
+        return new ParcelStatusScanResultDTO(items.size(), histories.size(), items.size() - histories.size(), results);
+    }
+
+    private List<String> validateScan(ParcelStatusScanDTO item, Map<String, ParcelSnapshot> parcels,
+                                      String deliveryPersonId, Set<String> scanned) {
+        if (item == null) {
+            return List.of("Scan is required");
+        }
+
+        List<String> errors = validator.validate(item).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (item.getParcelId() != null) {
+            ParcelSnapshot parcel = parcels.get(item.getParcelId());
+            if (parcel == null) {
+                errors.add(new ResourceNotFoundException("Parcel", "id", item.getParcelId()).getMessage());
+            } else if (!deliveryPersonId.equals(parcel.getDeliveryPersonId())) {
+                errors.add("You can only update status for parcels assigned to you");
+            }
+        }
+        // A parcel scanned twice keeps its first valid scan
+        if (errors.isEmpty() && !scanned.add(item.getParcelId())) {
+            errors.add("Parcel is scanned more than once in this batch");
+        }
+        return errors;
+    }
+
+    private List<String> validate(ParcelCreateDTO item, Map<String, SenderClient> senders,
+                                  Map<String, Recipient> recipients) {
+        if (item == null) {
+            return List.of("Parcel is required");
+        }
+
+        List<String> errors = validator.validate(item).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (item.getSenderClientId() == null) {
+            errors.add("Sender client ID is required");
+        } else if (!senders.containsKey(item.getSenderClientId())) {
+            errors.add(new ResourceNotFoundException("SenderClient", "id", item.getSenderClientId()).getMessage());
+        }
+        if (item.getRecipientId() != null && !recipients.containsKey(item.getRecipientId())) {
+            errors.add(new ResourceNotFoundException("Recipient", "id", item.getRecipientId()).getMessage());
+        }
+        if (item.getProducts() != null) {
+            if (item.getProducts().contains(null)) {
+                errors.add("Product line is required");
+            }
+            item.getProducts().stream()
+                    .filter(line -> line != null && line.getProductId() != null)
+                    .map(ParcelProductItemDTO::getProductId)
+                    .filter(productId -> !productCatalog.contains(productId))
+                    .distinct()
+                    .forEach(productId ->
+                            errors.add(new ResourceNotFoundException("Product", "id", productId).getMessage()));
+        }
+        return errors;
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static <T> Map<String, T> byId(List<T> entities, Function<T, String> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelProductChangedEvent;
+import com.logismart.logismartv2.event.ParcelReferencesChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops a cached parcel once a change to it, or to its product lines, is committed.
+ * Evicting after the commit keeps a concurrent read from caching the pre-commit state for the full TTL.
+ * An edit of a recipient, sender client, delivery person or zone may touch any number of parcels,
+ * so it clears the whole cache rather than looking up the affected ids.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParcelCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onParcelChanged(ParcelChangedEvent event) {
+        evict(event.getParcelId());
+    }
+
+    @TransactionalEventListener
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        event.getChanges().forEach(change -> evict(change.getParcelId()));
+    }
+
+    @TransactionalEventListener
+    public void onParcelProductChanged(ParcelProductChangedEvent event) {
+        evict(event.getParcelId());
+    }
+
+    @TransactionalEventListener
+    public void onParcelReferencesChanged(ParcelReferencesChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.PARCELS);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String parcelId) {
+        Cache cache = cacheManager.getCache(CacheConfig.PARCELS);
+        if (cache != null && parcelId != null) {
+            cache.evict(parcelId);
+        }
+    }
+}
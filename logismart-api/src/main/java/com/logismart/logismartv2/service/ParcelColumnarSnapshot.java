@@ -0,0 +1,413 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelScanFilter;
+import com.logismart.logismartv2.entity.ParcelPriority;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.repository.ParcelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional column-oriented copy of the parcel dimensions used by statistics.
+ * <p>
+ * Each parcel is one row across primitive arrays: status and priority ordinals as bytes,
+ * weight as int grams, zone / delivery person / city as int dictionary indexes and creation
+ * time as epoch millis. Scans read only the arrays, so filtering and grouping millions of
+ * parcels allocates no entities or BigDecimals.
+ * <p>
+ * Disabled by default ({@code app.statistics.columnar.enabled}). When enabled, the snapshot is
+ * loaded once the application is ready, kept current from committed parcel writes on this node
+ * and fully reloaded on {@code app.statistics.columnar.reload-interval-ms} to pick up writes
+ * made elsewhere. Callers must check {@link #isReady()} and fall back to the database otherwise.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParcelColumnarSnapshot {
+
+    public enum Dimension {
+        NONE, ZONE, DELIVERY_PERSON, CITY
+    }
+
+    private static final ParcelStatus[] STATUSES = ParcelStatus.values();
+    private static final ParcelPriority[] PRIORITIES = ParcelPriority.values();
+    private static final int CELLS = STATUSES.length * PRIORITIES.length;
+    private static final byte FREE = -1;
+    private static final int NONE = 0;
+    private static final int MISSING = -1;
+    private static final ZoneId TIME_ZONE = ZoneId.systemDefault();
+
+    private final ParcelRepository parcelRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.statistics.columnar.enabled:false}")
+    private boolean enabled;
+
+    private final StampedLock lock = new StampedLock();
+
+    private Columns columns;
+
+    // Changes committed while a reload is running, replayed on top of the new columns
+    private List<ParcelChangedEvent> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.columnar.reload-interval-ms:3600000}",
+            initialDelayString = "${app.statistics.columnar.reload-interval-ms:3600000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        Columns fresh = new Columns();
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = parcelRepository.streamAnalyticsColumns()) {
+                    rows.forEach(fresh::append);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not load columnar parcel snapshot, keeping previous one: {}", e.getMessage());
+            stamp = lock.writeLock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            return;
+        }
+
+        stamp = lock.writeLock();
+        try {
+            for (ParcelChangedEvent event : pendingChanges) {
+                fresh.apply(event);
+            }
+            pendingChanges = null;
+            columns = fresh;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        log.info("Columnar parcel snapshot loaded: {} parcels", fresh.rowByParcelId.size());
+    }
+
+    @TransactionalEventListener
+    public void onParcelChanged(ParcelChangedEvent event) {
+        long stamp = lock.writeLock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            if (columns != null) {
+                columns.apply(event);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        long stamp = lock.writeLock();
+        try {
+            for (ParcelChangedEvent change : event.getChanges()) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+                if (columns != null) {
+                    columns.apply(change);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isReady() {
+        long stamp = lock.tryOptimisticRead();
+        boolean ready = columns != null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                ready = columns != null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Filters parcels and groups them by the given dimension, then by status and priority.
+     * Returns the same row shape as the database aggregates: groupId is the zone id,
+     * delivery person id or city (null for "none" and for {@link Dimension#NONE}).
+     */
+    public List<ParcelAggregateDTO> aggregate(ParcelScanFilter filter, Dimension dimension) {
+        long stamp = lock.readLock();
+        try {
+            return columns.aggregate(filter, dimension);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(TIME_ZONE).toInstant().toEpochMilli();
+    }
+
+    private static int toGrams(BigDecimal weight) {
+        return weight != null ? weight.movePointRight(3).intValue() : 0;
+    }
+
+    private static final class Columns {
+
+        private byte[] status = new byte[1024];
+        private byte[] priority = new byte[1024];
+        private int[] weightGrams = new int[1024];
+        private int[] zone = new int[1024];
+        private int[] courier = new int[1024];
+        private int[] city = new int[1024];
+        private long[] createdAt = new long[1024];
+        private int size;
+
+        private final Map<String, Integer> rowByParcelId = new HashMap<>();
+        private int[] freeRows = new int[16];
+        private int freeCount;
+
+        private final Dictionary zones = new Dictionary();
+        private final Dictionary couriers = new Dictionary();
+        // Case-insensitive like the database city filter (ParcelSpecification.withFilters)
+        private final Dictionary cities = new Dictionary(true);
+
+        void append(Object[] row) {
+            set(allocate((String) row[0]), (String) row[1], (String) row[2], (ParcelStatus) row[3],
+                    (ParcelPriority) row[4], (BigDecimal) row[5], (String) row[6], (LocalDateTime) row[7]);
+        }
+
+        void apply(ParcelChangedEvent event) {
+            ParcelSnapshot after = event.getAfter();
+            if (after == null) {
+                Integer row = rowByParcelId.remove(event.getParcelId());
+                if (row != null) {
+                    status[row] = FREE;
+                    if (freeCount == freeRows.length) {
+                        freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+                    }
+                    freeRows[freeCount++] = row;
+                }
+                return;
+            }
+
+            Integer row = rowByParcelId.get(after.getParcelId());
+            set(row != null ? row : allocate(after.getParcelId()), after.getZoneId(), after.getDeliveryPersonId(),
+                    after.getStatus(), after.getPriority(), after.getWeight(), after.getDestinationCity(),
+                    after.getCreatedAt());
+        }
+
+        List<ParcelAggregateDTO> aggregate(ParcelScanFilter filter, Dimension dimension) {
+            int statusCode = filter.getStatus() != null ? filter.getStatus().ordinal() : MISSING;
+            int priorityCode = filter.getPriority() != null ? filter.getPriority().ordinal() : MISSING;
+            int zoneCode = zones.codeOf(filter.getZoneId());
+            int courierCode = couriers.codeOf(filter.getDeliveryPersonId());
+            int cityCode = cities.codeOf(filter.getDestinationCity());
+            long from = filter.getCreatedFrom() != null ? toEpochMillis(filter.getCreatedFrom()) : Long.MIN_VALUE;
+            long to = filter.getCreatedTo() != null ? toEpochMillis(filter.getCreatedTo()) : Long.MAX_VALUE;
+
+            if ((filter.getZoneId() != null && zoneCode == MISSING)
+                    || (filter.getDeliveryPersonId() != null && courierCode == MISSING)
+                    || (filter.getDestinationCity() != null && cityCode == MISSING)) {
+                return List.of();
+            }
+            boolean[] zoneMask = null;
+            if (filter.getZoneIds() != null) {
+                zoneMask = new boolean[zones.size()];
+                boolean anyZone = false;
+                for (String zoneId : filter.getZoneIds()) {
+                    int code = zones.codeOf(zoneId);
+                    if (code != MISSING) {
+                        zoneMask[code] = true;
+                        anyZone = true;
+                    }
+                }
+                if (!anyZone) {
+                    return List.of();
+                }
+            }
+
+            int[] groupColumn = switch (dimension) {
+                case ZONE -> zone;
+                case DELIVERY_PERSON -> courier;
+                case CITY -> city;
+                case NONE -> null;
+            };
+            Dictionary groupDictionary = switch (dimension) {
+                case ZONE -> zones;
+                case DELIVERY_PERSON -> couriers;
+                case CITY -> cities;
+                case NONE -> null;
+            };
+            int groups = groupDictionary != null ? groupDictionary.size() : 1;
+
+            long[] counts = new long[groups * CELLS];
+            long[] grams = new long[groups * CELLS];
+            long[] unassigned = new long[groups * CELLS];
+
+            for (int row = 0; row < size; row++) {
+                byte s = status[row];
+                if (s == FREE
+                        || (statusCode != MISSING && s != statusCode)
+                        || (priorityCode != MISSING && priority[row] != priorityCode)
+                        || (zoneCode != MISSING && zone[row] != zoneCode)
+                        || (zoneMask != null && !zoneMask[zone[row]])
+                        || (courierCode != MISSING && courier[row] != courierCode)
+                        || (cityCode != MISSING && city[row] != cityCode)
+                        || createdAt[row] < from || createdAt[row] >= to) {
+                    continue;
+                }
+
+                int group = groupColumn != null ? groupColumn[row] : 0;
+                int cell = group * CELLS + s * PRIORITIES.length + priority[row];
+                counts[cell]++;
+                grams[cell] += weightGrams[row];
+                if (courier[row] == NONE) {
+                    unassigned[cell]++;
+                }
+            }
+
+            List<ParcelAggregateDTO> result = new ArrayList<>();
+            for (int group = 0; group < groups; group++) {
+                String groupId = groupDictionary != null ? groupDictionary.valueOf(group) : null;
+                for (int s = 0; s < STATUSES.length; s++) {
+                    for (int p = 0; p < PRIORITIES.length; p++) {
+                        int cell = group * CELLS + s * PRIORITIES.length + p;
+                        if (counts[cell] > 0) {
+                            BigDecimal weight = BigDecimal.valueOf(grams[cell], 3).setScale(2, RoundingMode.HALF_UP);
+                            result.add(new ParcelAggregateDTO(groupId, STATUSES[s], PRIORITIES[p],
+                                    counts[cell], weight, unassigned[cell]));
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private int allocate(String parcelId) {
+            int row;
+            if (freeCount > 0) {
+                row = freeRows[--freeCount];
+            } else {
+                if (size == status.length) {
+                    grow();
+                }
+                row = size++;
+            }
+            rowByParcelId.put(parcelId, row);
+            return row;
+        }
+
+        private void set(int row, String zoneId, String deliveryPersonId, ParcelStatus parcelStatus,
+                         ParcelPriority parcelPriority, BigDecimal weight, String destinationCity,
+                         LocalDateTime created) {
+            status[row] = (byte) parcelStatus.ordinal();
+            priority[row] = (byte) parcelPriority.ordinal();
+            weightGrams[row] = toGrams(weight);
+            zone[row] = zones.encode(zoneId);
+            courier[row] = couriers.encode(deliveryPersonId);
+            city[row] = cities.encode(destinationCity);
+            createdAt[row] = created != null ? toEpochMillis(created) : Long.MIN_VALUE;
+        }
+
+        private void grow() {
+            int capacity = status.length * 2;
+            status = Arrays.copyOf(status, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            weightGrams = Arrays.copyOf(weightGrams, capacity);
+            zone = Arrays.copyOf(zone, capacity);
+            courier = Arrays.copyOf(courier, capacity);
+            city = Arrays.copyOf(city, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+        }
+    }
+
+    /**
+     * String to dense int code; code 0 stands for null.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>(List.of(""));
+        // Values stored lower-cased, matching the database city filter and grouping
+        private final boolean ignoreCase;
+
+        Dictionary() {
+            this(false);
+        }
+
+        Dictionary(boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+        }
+
+        int encode(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            return codes.computeIfAbsent(key(value), key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        int codeOf(String value) {
+            return value != null ? codes.getOrDefault(key(value), MISSING) : MISSING;
+        }
+
+        private String key(String value) {
+            return ignoreCase ? value.toLowerCase(Locale.ROOT) : value;
+        }
+
+        String valueOf(int code) {
+            return code == NONE ? null : values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
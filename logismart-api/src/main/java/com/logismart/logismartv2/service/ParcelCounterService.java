@@ -0,0 +1,115 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.entity.ParcelCounterId;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.repository.ParcelCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the parcel_counter rollup in step with the parcel table.
+ * Deltas are applied synchronously inside the transaction that changed the parcel,
+ * so the rollup commits or rolls back together with it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParcelCounterService {
+
+    private final ParcelCounterRepository parcelCounterRepository;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onParcelChanged(ParcelChangedEvent event) {
+        Map<ParcelCounterId, Delta> deltas = new LinkedHashMap<>();
+        collect(event, deltas);
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Bulk writes: deltas are merged per group first, so a batch of parcels costs one statement
+     * per group it touches rather than one per parcel.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        Map<ParcelCounterId, Delta> deltas = new LinkedHashMap<>();
+        event.getChanges().forEach(change -> collect(change, deltas));
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Rebuilds the rollup from the parcel table. Corrects any drift left by writes that bypass
+     * ParcelService (cascading zone or courier deletes, manual SQL). The table lock first waits for
+     * transactions that already applied a delta, then holds off new deltas until the rebuild commits;
+     * those are applied on top of it, since the rebuild cannot see their uncommitted parcel changes.
+     * Meant to run off-peak: parcel writes wait for the rebuild.
+     */
+    @Scheduled(cron = "${app.statistics.counters.repair-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        log.info("Rebuilding parcel counters from parcel table");
+
+        parcelCounterRepository.lockForRebuild();
+        int removed = parcelCounterRepository.deleteAllCounters();
+        int inserted = parcelCounterRepository.insertCountersFromParcels();
+
+        log.info("Parcel counters rebuilt: {} groups removed, {} groups inserted", removed, inserted);
+    }
+
+    private void collect(ParcelChangedEvent event, Map<ParcelCounterId, Delta> deltas) {
+        ParcelSnapshot before = event.getBefore();
+        ParcelSnapshot after = event.getAfter();
+
+        if (before != null && after != null && sameGroup(before, after)
+                && before.getWeight().compareTo(after.getWeight()) == 0) {
+            return;
+        }
+
+        if (before != null) {
+            deltas.merge(groupOf(before), new Delta(-1, before.getWeight().negate()), Delta::plus);
+        }
+        if (after != null) {
+            deltas.merge(groupOf(after), new Delta(1, after.getWeight()), Delta::plus);
+        }
+    }
+
+    private void apply(ParcelCounterId id, Delta delta) {
+        if (delta.count() == 0 && delta.weight().signum() == 0) {
+            return;
+        }
+
+        parcelCounterRepository.upsert(id, delta.count(), delta.weight());
+    }
+
+    private static ParcelCounterId groupOf(ParcelSnapshot snapshot) {
+        return ParcelCounterId.of(snapshot.getZoneId(), snapshot.getDeliveryPersonId(),
+                snapshot.getStatus(), snapshot.getPriority());
+    }
+
+    private boolean sameGroup(ParcelSnapshot before, ParcelSnapshot after) {
+        return Objects.equals(before.getZoneId(), after.getZoneId())
+                && Objects.equals(before.getDeliveryPersonId(), after.getDeliveryPersonId())
+                && before.getStatus() == after.getStatus()
+                && before.getPriority() == after.getPriority();
+    }
+
+    private record Delta(long count, BigDecimal weight) {
+
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, weight.add(other.weight));
+        }
+    }
+}
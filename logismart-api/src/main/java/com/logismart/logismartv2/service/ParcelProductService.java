@@ -6,6 +6,7 @@ import com.logismart.logismartv2.dto.parcelproduct.ParcelProductUpdateDTO;
 import com.logismart.logismartv2.entity.Parcel;
 import com.logismart.logismartv2.entity.ParcelProduct;
 import com.logismart.logismartv2.entity.Product;
+import com.logismart.logismartv2.event.ParcelProductChangedEvent;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.ParcelProductMapper;
 import com.logismart.logismartv2.repository.ParcelProductRepository;
@@ -13,9 +14,11 @@ import com.logismart.logismartv2.repository.ParcelRepository;
 import com.logismart.logismartv2.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -29,6 +32,9 @@ public class ParcelProductService {
     private final ParcelProductMapper parcelProductMapper;
     private final ParcelRepository parcelRepository;
     private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final NdjsonWriter ndjsonWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ParcelProductResponseDTO create(ParcelProductCreateDTO dto) {
         log.info("Creating parcel-product association: parcel ID {} with product ID {}",
@@ -50,6 +56,8 @@ public class ParcelProductService {
         
         ParcelProduct savedParcelProduct = parcelProductRepository.save(parcelProduct);
         log.info("Parcel-product association created successfully with ID: {}", savedParcelProduct.getId());
+        parcelRepository.incrementVersion(parcel.getId());
+        eventPublisher.publishEvent(new ParcelProductChangedEvent(this, parcel.getId()));
 
         return parcelProductMapper.toResponseDTO(savedParcelProduct);
     }
@@ -71,6 +79,16 @@ public class ParcelProductService {
         return parcelProductMapper.toResponseDTOList(parcelProducts);
     }
 
+    /**
+     * All parcel-product associations as NDJSON, streamed in constant memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) {
+        log.info("Exporting all parcel-product associations");
+        long count = ndjsonWriter.write(parcelProductRepository.streamAllWithRelationships(), parcelProductMapper::toResponseDTO, out);
+        log.info("Exported {} parcel-product associations", count);
+    }
+
     public ParcelProductResponseDTO update(ParcelProductUpdateDTO dto) {
         log.info("Updating parcel-product with ID: {}", dto.getId());
 
@@ -81,6 +99,8 @@ public class ParcelProductService {
         parcelProductMapper.updateEntityFromDTO(dto, existingParcelProduct);
         ParcelProduct updatedParcelProduct = parcelProductRepository.save(existingParcelProduct);
         log.info("Parcel-product updated successfully with ID: {}", updatedParcelProduct.getId());
+        parcelRepository.incrementVersion(updatedParcelProduct.getParcel().getId());
+        eventPublisher.publishEvent(new ParcelProductChangedEvent(this, updatedParcelProduct.getParcel().getId()));
 
         return parcelProductMapper.toResponseDTO(updatedParcelProduct);
     }
@@ -88,12 +108,13 @@ public class ParcelProductService {
     public void delete(String id) {
         log.info("Deleting parcel-product with ID: {}", id);
 
-        if (!parcelProductRepository.existsById(id)) {
-            throw new ResourceNotFoundException("ParcelProduct", "id", id);
-        }
+        ParcelProduct parcelProduct = parcelProductRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ParcelProduct", "id", id));
 
-        parcelProductRepository.deleteById(id);
+        parcelProductRepository.delete(parcelProduct);
         log.info("Parcel-product deleted successfully with ID: {}", id);
+        parcelRepository.incrementVersion(parcelProduct.getParcel().getId());
+        eventPublisher.publishEvent(new ParcelProductChangedEvent(this, parcelProduct.getParcel().getId()));
     }
 
     
@@ -141,7 +162,7 @@ public class ParcelProductService {
     public List<ParcelProductResponseDTO> findByProductId(String productId) {
         log.info("Finding all parcels containing product ID: {}", productId);
 
-        if (!productRepository.existsById(productId)) {
+        if (!productCatalog.contains(productId)) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
 
@@ -155,7 +176,7 @@ public class ParcelProductService {
     public Long calculateTotalQuantityShipped(String productId) {
         log.info("Calculating total quantity shipped for product ID: {}", productId);
 
-        if (!productRepository.existsById(productId)) {
+        if (!productCatalog.contains(productId)) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
 
@@ -166,7 +187,7 @@ public class ParcelProductService {
     public BigDecimal calculateProductRevenue(String productId) {
         log.info("Calculating revenue for product ID: {}", productId);
 
-        if (!productRepository.existsById(productId)) {
+        if (!productCatalog.contains(productId)) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
 
@@ -177,7 +198,7 @@ public class ParcelProductService {
     public BigDecimal calculateAveragePrice(String productId) {
         log.info("Calculating average price for product ID: {}", productId);
 
-        if (!productRepository.existsById(productId)) {
+        if (!productCatalog.contains(productId)) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
 
@@ -0,0 +1,37 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached search totals once a parcel change is committed. Any filter combination may be
+ * affected by a single write, so the whole cache is cleared rather than individual signatures.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParcelSearchCountCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onParcelChanged(ParcelChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.PARCEL_SEARCH_COUNTS);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.PARCEL_SEARCH_COUNTS);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
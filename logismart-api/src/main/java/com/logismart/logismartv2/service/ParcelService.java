@@ -1,13 +1,23 @@
 package com.logismart.logismartv2.service;
 
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.config.ParcelFieldFilters;
 import com.logismart.logismartv2.dto.deliveryhistory.DeliveryHistoryResponseDTO;
+import com.logismart.logismartv2.dto.deliveryhistory.ParcelHistoryDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelCreateDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelCreateWithRecipientDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelCursorPageDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelProductItemDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
 import com.logismart.logismartv2.dto.parcel.ParcelUpdateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelScanFilter;
 import com.logismart.logismartv2.dto.tracking.PublicTrackingResponseDTO;
 import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.DeliveryHistoryBatchRecordedEvent;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
 import com.logismart.logismartv2.exception.BadRequestException;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.DeliveryHistoryMapper;
@@ -16,15 +26,32 @@ import com.logismart.logismartv2.repository.*;
 import com.logismart.logismartv2.repository.ParcelSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -32,16 +59,29 @@ import java.util.Map;
 @Slf4j
 public class ParcelService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_IDS = 100;
+
     private final ParcelRepository parcelRepository;
     private final ParcelMapper parcelMapper;
     private final SenderClientRepository senderClientRepository;
     private final RecipientRepository recipientRepository;
     private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
     private final DeliveryPersonRepository deliveryPersonRepository;
     private final ZoneRepository zoneRepository;
     private final ParcelProductRepository parcelProductRepository;
     private final DeliveryHistoryRepository deliveryHistoryRepository;
     private final DeliveryHistoryMapper deliveryHistoryMapper;
+    private final ParcelCounterRepository parcelCounterRepository;
+    private final LiveParcelCounters liveParcelCounters;
+    private final ParcelColumnarSnapshot parcelColumnarSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final NdjsonWriter ndjsonWriter;
+
+    @Value("${app.cache.parcels.enabled:true}")
+    private boolean parcelCacheEnabled;
 
     public ParcelResponseDTO create(ParcelCreateDTO dto) {
         log.info("Creating new parcel for sender ID: {} to recipient ID: {}",
@@ -57,7 +97,7 @@ public class ParcelService {
 
         
         for (ParcelProductItemDTO productItem : dto.getProducts()) {
-            if (!productRepository.existsById(productItem.getProductId())) {
+            if (!productCatalog.contains(productItem.getProductId())) {
                 throw new ResourceNotFoundException("Product", "id", productItem.getProductId());
             }
         }
@@ -72,10 +112,12 @@ public class ParcelService {
         
         Parcel savedParcel = parcelRepository.save(parcel);
         log.info("Parcel created with ID: {}", savedParcel.getId());
+        eventPublisher.publishEvent(new ParcelChangedEvent(this, null, ParcelSnapshot.of(savedParcel)));
 
         
         for (ParcelProductItemDTO productItem : dto.getProducts()) {
-            Product product = productRepository.findById(productItem.getProductId()).get();
+            // Validated against the catalog above: a reference is enough for the foreign key
+            Product product = productRepository.getReferenceById(productItem.getProductId());
 
             ParcelProduct parcelProduct = new ParcelProduct();
             parcelProduct.setParcel(savedParcel);
@@ -96,6 +138,7 @@ public class ParcelService {
         initialHistory.setComment("Parcel created");
 
         deliveryHistoryRepository.save(initialHistory);
+        eventPublisher.publishEvent(new DeliveryHistoryRecordedEvent(this, initialHistory, 1));
         log.info("Initial delivery history created for parcel ID: {}", savedParcel.getId());
 
         log.info("Parcel creation complete - ID: {}, Products: {}, Status: CREATED",
@@ -106,28 +149,91 @@ public class ParcelService {
 
     @Transactional(readOnly = true)
     public ParcelResponseDTO findById(String id) {
+        return findVersionedById(id, null).response();
+    }
+
+    /**
+     * Read-through the {@link CacheConfig#PARCELS} cache when {@code app.cache.parcels.enabled};
+     * entries are evicted by ParcelCacheEvictor once a change to the parcel is committed.
+     * With a {@code version}, a cached entry mapped from another version is reloaded. The result
+     * carries the version the response was mapped from, read in the same query as the body, which
+     * may be newer than the requested one; ETags must be derived from it.
+     */
+    @Transactional(readOnly = true)
+    public VersionedParcel findVersionedById(String id, Long version) {
         log.info("Finding parcel by ID: {}", id);
 
+        Cache cache = parcelCacheEnabled ? cacheManager.getCache(CacheConfig.PARCELS) : null;
+        if (cache != null) {
+            VersionedParcel cached = cache.get(id, VersionedParcel.class);
+            if (cached != null && (version == null || version.equals(cached.version()))) {
+                return cached;
+            }
+        }
+
         Parcel parcel = parcelRepository.findByIdWithRelationships(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Parcel", "id", id));
+        VersionedParcel versioned = new VersionedParcel(parcel.getVersion(), parcelMapper.toResponseDTO(parcel));
 
-        return parcelMapper.toResponseDTO(parcel);
+        if (cache != null) {
+            cache.put(id, versioned);
+        }
+        return versioned;
+    }
+
+    /**
+     * Current version of a parcel, the validator of the ETags of its detail and history.
+     */
+    @Transactional(readOnly = true)
+    public long getParcelVersion(String id) {
+        return parcelRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Parcel", "id", id));
+    }
+
+    /**
+     * Version of the {@link #findMyParcelsForDeliveryPerson} collection: changes whenever a parcel
+     * is assigned, unassigned or updated.
+     */
+    @Transactional(readOnly = true)
+    public String getMyParcelsVersionForDeliveryPerson(String userId) {
+        return collectionVersion(parcelRepository.findVersionsByDeliveryPersonUserId(userId));
+    }
+
+    /**
+     * Version of the {@link #findMyParcelsForClient} collection.
+     */
+    @Transactional(readOnly = true)
+    public String getMyParcelsVersionForClient(String userId) {
+        return collectionVersion(parcelRepository.findVersionsBySenderClientUserId(userId));
     }
 
     @Transactional(readOnly = true)
     public List<ParcelResponseDTO> findAll() {
         log.info("Finding all parcels");
-        List<Parcel> parcels = parcelRepository.findAll();
-
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(null, Sort.unsorted(), ParcelFieldSet.ALL);
     }
 
     @Transactional(readOnly = true)
     public Page<ParcelResponseDTO> findAll(Pageable pageable) {
-        log.info("Finding all parcels with pagination: page={}, size={}",
-                pageable.getPageNumber(), pageable.getPageSize());
-        Page<Parcel> parcelPage = parcelRepository.findAll(pageable);
-        return parcelPage.map(parcelMapper::toResponseDTO);
+        return findAll(pageable, false, null);
+    }
+
+    /**
+     * With {@code estimateTotal}, the page total comes from the database planner statistics instead of
+     * a COUNT(*); it falls back to the (cached) exact count when no estimate is available.
+     * {@code fields} is a sparse fieldset (see {@link ParcelFieldSet}); null selects every field.
+     */
+    @Transactional(readOnly = true)
+    public Page<ParcelResponseDTO> findAll(Pageable pageable, boolean estimateTotal, String fields) {
+        ParcelFieldSet fieldSet = ParcelFieldSet.parse(fields);
+        log.info("Finding all parcels with pagination: page={}, size={}, estimateTotal={}, fields={}",
+                pageable.getPageNumber(), pageable.getPageSize(), estimateTotal, fieldSet);
+        String signature = countSignature(null, null, null, null, null, null, null, null);
+        if (estimateTotal) {
+            return parcelRepository.findResponses(null, pageable, fieldSet, () -> parcelRepository.estimateCount()
+                    .orElseGet(() -> countMatching(null, signature)));
+        }
+        return parcelRepository.findResponses(null, pageable, fieldSet, () -> countMatching(null, signature));
     }
 
     public ParcelResponseDTO update(ParcelUpdateDTO dto) {
@@ -138,6 +244,7 @@ public class ParcelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Parcel", "id", dto.getId()));
 
         ParcelStatus oldStatus = existingParcel.getStatus();
+        ParcelSnapshot before = ParcelSnapshot.of(existingParcel);
 
         
         if (dto.getDescription() != null) {
@@ -188,6 +295,7 @@ public class ParcelService {
         
         Parcel updatedParcel = parcelRepository.save(existingParcel);
         log.info("Parcel updated successfully with ID: {}", updatedParcel.getId());
+        eventPublisher.publishEvent(new ParcelChangedEvent(this, before, ParcelSnapshot.of(updatedParcel)));
 
         
         if (dto.getStatus() != null && oldStatus != dto.getStatus()) {
@@ -198,6 +306,7 @@ public class ParcelService {
             historyEntry.setComment("Status updated from " + oldStatus + " to " + dto.getStatus());
 
             deliveryHistoryRepository.save(historyEntry);
+            eventPublisher.publishEvent(new DeliveryHistoryRecordedEvent(this, historyEntry, 1));
             log.info("Delivery history entry created: {} → {}", oldStatus, dto.getStatus());
         }
 
@@ -207,35 +316,47 @@ public class ParcelService {
     public void delete(String id) {
         log.info("Deleting parcel with ID: {}", id);
 
-        if (!parcelRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Parcel", "id", id);
-        }
+        Parcel parcel = parcelRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Parcel", "id", id));
+        ParcelSnapshot before = ParcelSnapshot.of(parcel);
+        // The cascade removes the history rows too: take them out of the throughput buckets they were counted in
+        List<DeliveryHistoryRecordedEvent> removedHistory = deliveryHistoryRepository
+                .findByParcelIdOrderByChangedAtAsc(id).stream()
+                .map(history -> new DeliveryHistoryRecordedEvent(this, history, -1))
+                .toList();
 
-        parcelRepository.deleteById(id);
+        parcelRepository.delete(parcel);
+        eventPublisher.publishEvent(new ParcelChangedEvent(this, before, null));
+        if (!removedHistory.isEmpty()) {
+            eventPublisher.publishEvent(new DeliveryHistoryBatchRecordedEvent(this, removedHistory));
+        }
         log.info("Parcel deleted successfully with ID: {} (cascade deleted products and history)", id);
     }
 
     
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findByStatus(ParcelStatus status) {
+    public List<ParcelResponseDTO> findByStatus(ParcelStatus status, String fields) {
         log.info("Finding parcels with status: {}", status);
-        List<Parcel> parcels = parcelRepository.findByStatus(status);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(status, null, null, null, null, null, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findByPriority(ParcelPriority priority) {
+    public List<ParcelResponseDTO> findByPriority(ParcelPriority priority, String fields) {
         log.info("Finding parcels with priority: {}", priority);
-        List<Parcel> parcels = parcelRepository.findByPriority(priority);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, priority, null, null, null, null, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findByStatusAndPriority(ParcelStatus status, ParcelPriority priority) {
+    public List<ParcelResponseDTO> findByStatusAndPriority(ParcelStatus status, ParcelPriority priority, String fields) {
         log.info("Finding parcels with status: {} and priority: {}", status, priority);
-        List<Parcel> parcels = parcelRepository.findByStatusAndPriority(status, priority);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(status, priority, null, null, null, null, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
@@ -247,15 +368,16 @@ public class ParcelService {
     
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findBySenderClientId(String senderClientId) {
+    public List<ParcelResponseDTO> findBySenderClientId(String senderClientId, String fields) {
         log.info("Finding parcels for sender client ID: {}", senderClientId);
 
         if (!senderClientRepository.existsById(senderClientId)) {
             throw new ResourceNotFoundException("SenderClient", "id", senderClientId);
         }
 
-        List<Parcel> parcels = parcelRepository.findBySenderClientId(senderClientId);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, null, null, senderClientId, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
@@ -266,14 +388,10 @@ public class ParcelService {
             throw new ResourceNotFoundException("SenderClient", "id", senderClientId);
         }
 
-        List<Parcel> parcels = parcelRepository.findBySenderClientId(senderClientId);
-
-        
-        List<Parcel> inProgressParcels = parcels.stream()
-                .filter(parcel -> parcel.getStatus() != ParcelStatus.DELIVERED)
-                .toList();
-
-        return parcelMapper.toResponseDTOList(inProgressParcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, null, null, senderClientId, null, null)
+                        .and(ParcelSpecification.notDelivered()),
+                Sort.unsorted(), ParcelFieldSet.ALL);
     }
 
     @Transactional(readOnly = true)
@@ -284,67 +402,73 @@ public class ParcelService {
             throw new ResourceNotFoundException("SenderClient", "id", senderClientId);
         }
 
-        List<Parcel> parcels = parcelRepository.findBySenderClientIdAndStatus(senderClientId, ParcelStatus.DELIVERED);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(ParcelStatus.DELIVERED, null, null, null, null, senderClientId, null, null),
+                Sort.unsorted(), ParcelFieldSet.ALL);
     }
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findByRecipientId(String recipientId) {
+    public List<ParcelResponseDTO> findByRecipientId(String recipientId, String fields) {
         log.info("Finding parcels for recipient ID: {}", recipientId);
 
         if (!recipientRepository.existsById(recipientId)) {
             throw new ResourceNotFoundException("Recipient", "id", recipientId);
         }
 
-        List<Parcel> parcels = parcelRepository.findByRecipientId(recipientId);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, null, null, null, recipientId, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findByDeliveryPersonId(String deliveryPersonId) {
+    public List<ParcelResponseDTO> findByDeliveryPersonId(String deliveryPersonId, String fields) {
         log.info("Finding parcels for delivery person ID: {}", deliveryPersonId);
 
         if (!deliveryPersonRepository.existsById(deliveryPersonId)) {
             throw new ResourceNotFoundException("DeliveryPerson", "id", deliveryPersonId);
         }
 
-        List<Parcel> parcels = parcelRepository.findByDeliveryPersonId(deliveryPersonId);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, null, deliveryPersonId, null, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findByZoneId(String zoneId) {
+    public List<ParcelResponseDTO> findByZoneId(String zoneId, String fields) {
         log.info("Finding parcels in zone ID: {}", zoneId);
 
         if (!zoneRepository.existsById(zoneId)) {
             throw new ResourceNotFoundException("Zone", "id", zoneId);
         }
 
-        List<Parcel> parcels = parcelRepository.findByZoneId(zoneId);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, zoneId, null, null, null, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findUnassignedParcels() {
+    public List<ParcelResponseDTO> findUnassignedParcels(String fields) {
         log.info("Finding unassigned parcels");
-        List<Parcel> parcels = parcelRepository.findUnassignedParcels();
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, null, null, null, null, true),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findHighPriorityPending() {
+    public List<ParcelResponseDTO> findHighPriorityPending(String fields) {
         log.info("Finding high priority pending parcels");
-        List<Parcel> parcels = parcelRepository.findHighPriorityPending();
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(ParcelSpecification.highPriorityPending(),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findByDestinationCity(String city) {
+    public List<ParcelResponseDTO> findByDestinationCity(String city, String fields) {
         log.info("Finding parcels for destination city: {}", city);
-        List<Parcel> parcels = parcelRepository.findByDestinationCityContainingIgnoreCase(city);
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, city, null, null, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
     }
 
     @Transactional(readOnly = true)
@@ -363,38 +487,164 @@ public class ParcelService {
             String senderClientId,
             String recipientId,
             Boolean unassignedOnly,
-            Pageable pageable) {
+            Pageable pageable,
+            String fields) {
 
+        ParcelFieldSet fieldSet = ParcelFieldSet.parse(fields);
         log.info("Searching parcels with filters - status: {}, priority: {}, zoneId: {}, city: {}, " +
                         "deliveryPersonId: {}, senderClientId: {}, recipientId: {}, unassignedOnly: {}, page: {}, size: {}",
                 status, priority, zoneId, destinationCity, deliveryPersonId, senderClientId,
                 recipientId, unassignedOnly, pageable.getPageNumber(), pageable.getPageSize());
 
         
-        Page<Parcel> parcelPage = parcelRepository.findAll(
-                ParcelSpecification.withFilters(status, priority, zoneId, destinationCity,
-                        deliveryPersonId, senderClientId, recipientId, unassignedOnly),
-                pageable
-        );
+        Specification<Parcel> spec = ParcelSpecification.withFilters(status, priority, zoneId, destinationCity,
+                deliveryPersonId, senderClientId, recipientId, unassignedOnly);
+        String signature = countSignature(status, priority, zoneId, destinationCity,
+                deliveryPersonId, senderClientId, recipientId, unassignedOnly);
+        Page<ParcelResponseDTO> parcelPage = parcelRepository.findResponses(
+                spec, pageable, fieldSet, () -> countMatching(spec, signature));
 
         log.info("Found {} parcels matching filters (page {} of {})",
                 parcelPage.getNumberOfElements(), parcelPage.getNumber() + 1, parcelPage.getTotalPages());
 
-        return parcelPage.map(parcelMapper::toResponseDTO);
+        return parcelPage;
+    }
+
+    /**
+     * Every parcel matching the {@link #searchParcels} filters as NDJSON, streamed in constant memory.
+     * Rows are read as ParcelResponseDTO projections, so no entities accumulate while streaming.
+     */
+    @Transactional(readOnly = true)
+    public void exportParcels(
+            ParcelStatus status,
+            ParcelPriority priority,
+            String zoneId,
+            String destinationCity,
+            String deliveryPersonId,
+            String senderClientId,
+            String recipientId,
+            Boolean unassignedOnly,
+            String fields,
+            OutputStream out) {
+
+        ParcelFieldSet fieldSet = ParcelFieldSet.parse(fields);
+
+        log.info("Exporting parcels with filters - status: {}, priority: {}, zoneId: {}, city: {}, " +
+                        "deliveryPersonId: {}, senderClientId: {}, recipientId: {}, unassignedOnly: {}, fields: {}",
+                status, priority, zoneId, destinationCity, deliveryPersonId, senderClientId,
+                recipientId, unassignedOnly, fieldSet);
+
+        long count = ndjsonWriter.write(parcelRepository.streamResponses(
+                        ParcelSpecification.withFilters(status, priority, zoneId, destinationCity,
+                                deliveryPersonId, senderClientId, recipientId, unassignedOnly), fieldSet),
+                Function.identity(), ParcelFieldFilters.of(fieldSet), out);
+
+        log.info("Exported {} parcels", count);
+    }
+
+    /**
+     * Same filters as {@link #searchParcels}, without the total: reads one extra row to tell whether
+     * there is a next page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ParcelResponseDTO> searchParcelsSlice(
+            ParcelStatus status,
+            ParcelPriority priority,
+            String zoneId,
+            String destinationCity,
+            String deliveryPersonId,
+            String senderClientId,
+            String recipientId,
+            Boolean unassignedOnly,
+            Pageable pageable,
+            String fields) {
+
+        log.info("Searching parcel slice with filters - status: {}, priority: {}, zoneId: {}, city: {}, " +
+                        "deliveryPersonId: {}, senderClientId: {}, recipientId: {}, unassignedOnly: {}, page: {}, size: {}",
+                status, priority, zoneId, destinationCity, deliveryPersonId, senderClientId,
+                recipientId, unassignedOnly, pageable.getPageNumber(), pageable.getPageSize());
+
+        return parcelRepository.findResponseSlice(
+                ParcelSpecification.withFilters(status, priority, zoneId, destinationCity,
+                        deliveryPersonId, senderClientId, recipientId, unassignedOnly),
+                pageable, ParcelFieldSet.parse(fields));
+    }
+
+    @Transactional(readOnly = true)
+    public ParcelCursorPageDTO findAllByCursor(String cursor, String sort, Sort.Direction direction, int size,
+                                               String fields) {
+        return searchParcelsByCursor(null, null, null, null, null, null, null, null,
+                cursor, sort, direction, size, fields);
+    }
+
+    /**
+     * Keyset-paginated search: same filters as {@link #searchParcels}, but pages are addressed by an
+     * opaque cursor instead of an offset and no count query is run. When a cursor is given, its own
+     * sort key and direction apply.
+     */
+    @Transactional(readOnly = true)
+    public ParcelCursorPageDTO searchParcelsByCursor(
+            ParcelStatus status,
+            ParcelPriority priority,
+            String zoneId,
+            String destinationCity,
+            String deliveryPersonId,
+            String senderClientId,
+            String recipientId,
+            Boolean unassignedOnly,
+            String cursor,
+            String sort,
+            Sort.Direction direction,
+            int size,
+            String fields) {
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        ParcelCursor position = cursor != null && !cursor.isBlank()
+                ? ParcelCursor.decode(cursor)
+                : ParcelCursor.first(sort, direction);
+
+        log.info("Searching parcels by cursor - sort: {} {}, first page: {}, size: {}",
+                position.getSortKey(), position.getDirection(), position.isFirstPage(), size);
+
+        // One extra row tells whether there is a next page
+        List<ParcelResponseDTO> rows = parcelRepository.findResponses(
+                ParcelSpecification.withFilters(status, priority, zoneId, destinationCity,
+                                deliveryPersonId, senderClientId, recipientId, unassignedOnly)
+                        .and(ParcelSpecification.after(position)),
+                position.toSort(),
+                size + 1,
+                ParcelFieldSet.parse(fields));
+
+        boolean hasNext = rows.size() > size;
+        List<ParcelResponseDTO> content = hasNext ? rows.subList(0, size) : rows;
+
+        return ParcelCursorPageDTO.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? position.after(content.get(content.size() - 1)).encode() : null)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public Map<String, Long> groupByStatus() {
         log.info("Grouping parcels by status");
 
-        List<Parcel> allParcels = parcelRepository.findAll();
         Map<String, Long> grouped = new HashMap<>();
+        for (ParcelStatus status : ParcelStatus.values()) {
+            grouped.put(status.name(), 0L);
+        }
 
-        grouped.put("CREATED", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.CREATED).count());
-        grouped.put("COLLECTED", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.COLLECTED).count());
-        grouped.put("IN_STOCK", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_STOCK).count());
-        grouped.put("IN_TRANSIT", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_TRANSIT).count());
-        grouped.put("DELIVERED", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.DELIVERED).count());
+        if (liveParcelCounters.isReady()) {
+            liveParcelCounters.countByStatus().forEach((status, count) -> grouped.put(status.name(), count));
+        } else {
+            for (Object[] row : parcelCounterRepository.sumByStatus()) {
+                grouped.put(((ParcelStatus) row[0]).name(), (Long) row[1]);
+            }
+        }
 
         log.info("Grouped parcels by status: {}", grouped);
         return grouped;
@@ -404,12 +654,19 @@ public class ParcelService {
     public Map<String, Long> groupByPriority() {
         log.info("Grouping parcels by priority");
 
-        List<Parcel> allParcels = parcelRepository.findAll();
         Map<String, Long> grouped = new HashMap<>();
-
-        grouped.put("NORMAL", allParcels.stream().filter(p -> p.getPriority() == ParcelPriority.NORMAL).count());
-        grouped.put("URGENT", allParcels.stream().filter(p -> p.getPriority() == ParcelPriority.URGENT).count());
-        grouped.put("EXPRESS", allParcels.stream().filter(p -> p.getPriority() == ParcelPriority.EXPRESS).count());
+        grouped.put("NORMAL", 0L);
+        grouped.put("URGENT", 0L);
+        grouped.put("EXPRESS", 0L);
+
+        if (liveParcelCounters.isReady()) {
+            liveParcelCounters.countByPriority()
+                    .forEach((priority, count) -> grouped.computeIfPresent(priority.name(), (key, value) -> count));
+        } else {
+            for (Object[] row : parcelCounterRepository.sumByPriority()) {
+                grouped.computeIfPresent(((ParcelPriority) row[0]).name(), (key, value) -> (Long) row[1]);
+            }
+        }
 
         log.info("Grouped parcels by priority: {}", grouped);
         return grouped;
@@ -419,15 +676,18 @@ public class ParcelService {
     public Map<String, Long> groupByZone() {
         log.info("Grouping parcels by zone");
 
-        List<Parcel> allParcels = parcelRepository.findAll();
+        if (liveParcelCounters.isReady()) {
+            Map<String, Long> grouped = liveParcelCounters.countByZoneName();
+            log.info("Grouped parcels by zone: {}", grouped);
+            return grouped;
+        }
+
         Map<String, Long> grouped = new HashMap<>();
 
-        
-        allParcels.forEach(parcel -> {
-            String zoneName = parcel.getZone() != null ?
-                    parcel.getZone().getName() : "Unassigned";
-            grouped.merge(zoneName, 1L, Long::sum);
-        });
+        for (Object[] row : parcelCounterRepository.sumByZoneName()) {
+            String zoneName = row[0] != null ? (String) row[0] : "Unassigned";
+            grouped.merge(zoneName, (Long) row[1], Long::sum);
+        }
 
         log.info("Grouped parcels by zone: {}", grouped);
         return grouped;
@@ -437,15 +697,20 @@ public class ParcelService {
     public Map<String, Long> groupByCity() {
         log.info("Grouping parcels by destination city");
 
-        List<Parcel> allParcels = parcelRepository.findAll();
         Map<String, Long> grouped = new HashMap<>();
 
-        
-        allParcels.forEach(parcel -> {
-            String city = parcel.getDestinationCity() != null ?
-                    parcel.getDestinationCity() : "Unknown";
-            grouped.merge(city, 1L, Long::sum);
-        });
+        if (parcelColumnarSnapshot.isReady()) {
+            for (ParcelAggregateDTO row : parcelColumnarSnapshot.aggregate(
+                    ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.CITY)) {
+                String city = row.getGroupId() != null ? row.getGroupId() : "Unknown";
+                grouped.merge(city, row.getParcelCount(), Long::sum);
+            }
+        } else {
+            for (Object[] row : parcelRepository.countByDestinationCity()) {
+                String city = row[0] != null ? (String) row[0] : "Unknown";
+                grouped.merge(city, (Long) row[1], Long::sum);
+            }
+        }
 
         log.info("Grouped parcels by city: {}", grouped);
         return grouped;
@@ -469,11 +734,74 @@ public class ParcelService {
         return deliveryHistoryMapper.toResponseDTOList(history);
     }
 
+    /**
+     * Multi-get: the requested parcels in request order, read with one {@code IN} query.
+     * Ids that do not exist or fall outside {@code access} are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<ParcelResponseDTO> findByIds(List<String> ids, ParcelAccess access, String userId, String fields) {
+        List<String> requested = batchIds(ids);
+        log.info("Batch fetching {} parcels", requested.size());
+
+        Map<String, ParcelResponseDTO> byId = new HashMap<>();
+        parcelRepository.findResponses(
+                        Specification.where(ParcelSpecification.idIn(requested)).and(access.restrictTo(userId)),
+                        Sort.unsorted(), ParcelFieldSet.parse(fields))
+                .forEach(parcel -> byId.put(parcel.getId(), parcel));
+
+        return requested.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Multi-get of delivery histories, grouped by parcel in request order: one query checks access
+     * for every id and one {@code IN} query reads the entries. Ids that do not exist or fall outside
+     * {@code access} are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<ParcelHistoryDTO> getParcelHistories(List<String> ids, ParcelAccess access, String userId) {
+        List<String> requested = batchIds(ids);
+        log.info("Batch fetching delivery history for {} parcels", requested.size());
+
+        Set<String> readable = new HashSet<>(parcelRepository.findIds(
+                Specification.where(ParcelSpecification.idIn(requested)).and(access.restrictTo(userId))));
+        if (readable.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<DeliveryHistoryResponseDTO>> byParcel = new LinkedHashMap<>();
+        requested.stream()
+                .filter(readable::contains)
+                .forEach(id -> byParcel.put(id, new ArrayList<>()));
+        for (DeliveryHistory entry : deliveryHistoryRepository.findByParcelIdInOrderByChangedAtAsc(readable)) {
+            DeliveryHistoryResponseDTO dto = deliveryHistoryMapper.toResponseDTO(entry);
+            byParcel.get(dto.getParcelId()).add(dto);
+        }
+
+        return byParcel.entrySet().stream()
+                .map(e -> new ParcelHistoryDTO(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    // Distinct ids in request order, bounded so the IN list and the response stay small
+    private static List<String> batchIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one parcel id is required");
+        }
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " parcel ids can be requested at once");
+        }
+        return distinct;
+    }
+
     /**
      * Get parcels assigned to a delivery person (ROLE_LIVREUR)
      */
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findMyParcelsForDeliveryPerson(String userId) {
+    public List<ParcelResponseDTO> findMyParcelsForDeliveryPerson(String userId, String fields) {
         log.info("Finding parcels for delivery person with user ID: {}", userId);
 
         // Find the delivery person by user ID
@@ -481,18 +809,20 @@ public class ParcelService {
                 .orElseThrow(() -> new ResourceNotFoundException("DeliveryPerson", "userId", userId));
 
         // Get all parcels assigned to this delivery person
-        List<Parcel> parcels = parcelRepository.findByDeliveryPersonId(deliveryPerson.getId());
+        List<ParcelResponseDTO> parcels = parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, null, deliveryPerson.getId(), null, null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
 
         log.info("Found {} parcels for delivery person ID: {}", parcels.size(), deliveryPerson.getId());
 
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcels;
     }
 
     /**
      * Get parcels created by a client (ROLE_CLIENT)
      */
     @Transactional(readOnly = true)
-    public List<ParcelResponseDTO> findMyParcelsForClient(String userId) {
+    public List<ParcelResponseDTO> findMyParcelsForClient(String userId, String fields) {
         log.info("Finding parcels for client with user ID: {}", userId);
 
         // Find the sender client by user ID
@@ -507,11 +837,13 @@ public class ParcelService {
         SenderClient senderClient = optionalSenderClient.get();
 
         // Get all parcels sent by this client
-        List<Parcel> parcels = parcelRepository.findBySenderClientId(senderClient.getId());
+        List<ParcelResponseDTO> parcels = parcelRepository.findResponses(
+                ParcelSpecification.withFilters(null, null, null, null, null, senderClient.getId(), null, null),
+                Sort.unsorted(), ParcelFieldSet.parse(fields));
 
         log.info("Found {} parcels for sender client ID: {}", parcels.size(), senderClient.getId());
 
-        return parcelMapper.toResponseDTOList(parcels);
+        return parcels;
     }
 
     /**
@@ -535,8 +867,10 @@ public class ParcelService {
 
         // Update the status
         ParcelStatus oldStatus = parcel.getStatus();
+        ParcelSnapshot before = ParcelSnapshot.of(parcel);
         parcel.setStatus(newStatus);
         Parcel updatedParcel = parcelRepository.save(parcel);
+        eventPublisher.publishEvent(new ParcelChangedEvent(this, before, ParcelSnapshot.of(updatedParcel)));
 
         // Create delivery history entry
         DeliveryHistory history = new DeliveryHistory();
@@ -545,6 +879,7 @@ public class ParcelService {
         history.setChangedAt(LocalDateTime.now());
         history.setComment(String.format("Status updated from %s to %s by delivery person", oldStatus, newStatus));
         deliveryHistoryRepository.save(history);
+        eventPublisher.publishEvent(new DeliveryHistoryRecordedEvent(this, history, 1));
 
         log.info("Parcel {} status updated from {} to {} by delivery person {}",
                 parcelId, oldStatus, newStatus, deliveryPerson.getId());
@@ -632,7 +967,7 @@ public class ParcelService {
 
         // 3. Validate products
         for (ParcelProductItemDTO productItem : dto.getProducts()) {
-            if (!productRepository.existsById(productItem.getProductId())) {
+            if (!productCatalog.contains(productItem.getProductId())) {
                 throw new ResourceNotFoundException("Product", "id", productItem.getProductId());
             }
         }
@@ -649,10 +984,12 @@ public class ParcelService {
 
         Parcel savedParcel = parcelRepository.save(parcel);
         log.info("Parcel created with ID: {}", savedParcel.getId());
+        eventPublisher.publishEvent(new ParcelChangedEvent(this, null, ParcelSnapshot.of(savedParcel)));
 
         // 5. Add products to parcel
         for (ParcelProductItemDTO productItem : dto.getProducts()) {
-            Product product = productRepository.findById(productItem.getProductId()).get();
+            // Validated against the catalog above: a reference is enough for the foreign key
+            Product product = productRepository.getReferenceById(productItem.getProductId());
 
             ParcelProduct parcelProduct = new ParcelProduct();
             parcelProduct.setParcel(savedParcel);
@@ -673,6 +1010,7 @@ public class ParcelService {
         initialHistory.setComment("Demande de livraison creee par le client");
 
         deliveryHistoryRepository.save(initialHistory);
+        eventPublisher.publishEvent(new DeliveryHistoryRecordedEvent(this, initialHistory, 1));
         log.info("Initial delivery history created for parcel ID: {}", savedParcel.getId());
 
         log.info("Parcel creation complete - ID: {}, Products: {}, Status: CREATED",
@@ -743,4 +1081,42 @@ public class ParcelService {
         };
     }
 
+
+    // Digest of the (id, version) pairs: membership and per-parcel changes both alter it
+    private static String collectionVersion(List<Object[]> versions) {
+        StringBuilder members = new StringBuilder();
+        for (Object[] row : versions) {
+            members.append(row[0]).append(':').append(row[1]).append(',');
+        }
+        return versions.size() + "-" + DigestUtils.md5DigestAsHex(members.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Total for a search, cached per normalized filter signature until the TTL expires or a parcel
+     * change is committed (see ParcelSearchCountCacheEvictor).
+     */
+    private long countMatching(Specification<Parcel> spec, String signature) {
+        Cache cache = cacheManager.getCache(CacheConfig.PARCEL_SEARCH_COUNTS);
+        if (cache == null) {
+            return parcelRepository.count(spec);
+        }
+        Long total = cache.get(signature, () -> parcelRepository.count(spec));
+        return total != null ? total : 0L;
+    }
+
+    // Filters that select the same rows map to the same key, mirroring ParcelSpecification.withFilters
+    private static String countSignature(ParcelStatus status, ParcelPriority priority, String zoneId,
+                                         String destinationCity, String deliveryPersonId,
+                                         String senderClientId, String recipientId, Boolean unassignedOnly) {
+        String city = destinationCity != null && !destinationCity.isBlank() ? destinationCity.toLowerCase() : null;
+        return String.join("|", String.valueOf(status), String.valueOf(priority), String.valueOf(zoneId),
+                String.valueOf(city), String.valueOf(deliveryPersonId), String.valueOf(senderClientId),
+                String.valueOf(recipientId), String.valueOf(Boolean.TRUE.equals(unassignedOnly)));
+    }
+
+    /**
+     * Detail response, with the parcel version it was mapped from; cached as is.
+     */
+    public record VersionedParcel(Long version, ParcelResponseDTO response) {
+    }
 }
@@ -0,0 +1,232 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.DistributionStatisticsDTO;
+import com.logismart.logismartv2.dto.statistics.EstimateDTO;
+import com.logismart.logismartv2.dto.statistics.StatisticsMode;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import com.logismart.logismartv2.event.DeliveryHistoryBatchRecordedEvent;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
+import com.logismart.logismartv2.event.ParcelBatchChangedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.repository.DeliveryHistoryRepository;
+import com.logismart.logismartv2.repository.ParcelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Per-node sketches for approximate distribution statistics.
+ * <p>
+ * HyperLogLog sketches estimate the number of distinct destination cities, recipients and senders;
+ * KLL quantile sketches estimate weight and delivery-time percentiles. Both use a few kilobytes
+ * whatever the number of parcels and come with error bounds.
+ * <p>
+ * Sketches are insert-only: committed parcel and history writes on this node are added as they
+ * happen, but deleted parcels and overwritten values stay counted until the next full rebuild
+ * ({@code app.statistics.sketches.rebuild-interval-ms}), which also picks up writes made elsewhere.
+ * Until built, or when disabled, {@link #isReady()} is false.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParcelSketches {
+
+    private static final int HLL_LG_K = 12;
+    private static final int KLL_K = 200;
+    private static final int CONFIDENCE_STD_DEVS = 2;
+    private static final double[] PERCENTILE_RANKS = {0.5, 0.9, 0.99};
+
+    private final ParcelRepository parcelRepository;
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.statistics.sketches.enabled:true}")
+    private boolean enabled;
+
+    private volatile Sketches sketches;
+
+    // Sketches being rebuilt also receive live updates so nothing committed during the rebuild is lost
+    private volatile Sketches rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.sketches.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.statistics.sketches.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        Sketches fresh = new Sketches();
+        rebuilding = fresh;
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            template.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = parcelRepository.streamDistributionColumns()) {
+                    rows.forEach(row -> fresh.addParcel((String) row[0], (String) row[1], (String) row[2],
+                            (BigDecimal) row[3]));
+                }
+                try (Stream<Object[]> rows = deliveryHistoryRepository.streamDeliveryTimes()) {
+                    rows.forEach(row -> fresh.addDelivery((LocalDateTime) row[0], (LocalDateTime) row[1]));
+                }
+            });
+            sketches = fresh;
+            log.info("Parcel sketches built: {} parcels, {} deliveries",
+                    fresh.weights.getN(), fresh.deliveryHours.getN());
+        } catch (RuntimeException e) {
+            log.warn("Could not build parcel sketches, keeping previous ones: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onParcelChanged(ParcelChangedEvent event) {
+        ParcelSnapshot before = event.getBefore();
+        ParcelSnapshot after = event.getAfter();
+        if (after == null) {
+            return;
+        }
+
+        // Distinct-count sketches ignore repeated values; weight is only added when it is new
+        BigDecimal weight = before == null || !Objects.equals(before.getWeight(), after.getWeight())
+                ? after.getWeight()
+                : null;
+        forEachTarget(target -> target.addParcel(after.getDestinationCity(), after.getSenderClientId(),
+                after.getRecipientId(), weight));
+    }
+
+    @TransactionalEventListener
+    public void onParcelBatchChanged(ParcelBatchChangedEvent event) {
+        event.getChanges().forEach(this::onParcelChanged);
+    }
+
+    @TransactionalEventListener
+    public void onDeliveryHistoryRecorded(DeliveryHistoryRecordedEvent event) {
+        if (event.getStatus() != ParcelStatus.DELIVERED || event.getDelta() <= 0) {
+            return;
+        }
+        forEachTarget(target -> target.addDelivery(event.getParcelCreatedAt(), event.getChangedAt()));
+    }
+
+    @TransactionalEventListener
+    public void onDeliveryHistoryBatchRecorded(DeliveryHistoryBatchRecordedEvent event) {
+        event.getRecords().forEach(this::onDeliveryHistoryRecorded);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return sketches != null;
+    }
+
+    public DistributionStatisticsDTO getStatistics() {
+        return sketches.toStatistics();
+    }
+
+    /**
+     * Maps p50 / p90 / p99 to the value returned by {@code quantile} for each rank.
+     */
+    static Map<String, Double> percentiles(DoubleUnaryOperator quantile) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double rank : PERCENTILE_RANKS) {
+            percentiles.put("p" + Math.round(rank * 100), quantile.applyAsDouble(rank));
+        }
+        return percentiles;
+    }
+
+    private void forEachTarget(Consumer<Sketches> update) {
+        Sketches current = sketches;
+        Sketches next = rebuilding;
+        if (current != null) {
+            update.accept(current);
+        }
+        if (next != null && next != current) {
+            update.accept(next);
+        }
+    }
+
+    private static final class Sketches {
+
+        private final HllSketch cities = new HllSketch(HLL_LG_K);
+
+        private final HllSketch recipients = new HllSketch(HLL_LG_K);
+
+        private final HllSketch senders = new HllSketch(HLL_LG_K);
+
+        private final KllDoublesSketch weights = KllDoublesSketch.newHeapInstance(KLL_K);
+
+        private final KllDoublesSketch deliveryHours = KllDoublesSketch.newHeapInstance(KLL_K);
+
+        synchronized void addParcel(String city, String senderId, String recipientId, BigDecimal weight) {
+            if (city != null) {
+                cities.update(city);
+            }
+            if (senderId != null) {
+                senders.update(senderId);
+            }
+            if (recipientId != null) {
+                recipients.update(recipientId);
+            }
+            if (weight != null) {
+                weights.update(weight.doubleValue());
+            }
+        }
+
+        synchronized void addDelivery(LocalDateTime createdAt, LocalDateTime deliveredAt) {
+            if (createdAt != null && deliveredAt != null) {
+                deliveryHours.update(Duration.between(createdAt, deliveredAt).toSeconds() / 3600.0);
+            }
+        }
+
+        synchronized DistributionStatisticsDTO toStatistics() {
+            return DistributionStatisticsDTO.builder()
+                    .mode(StatisticsMode.APPROXIMATE)
+                    .distinctDestinationCities(estimate(cities))
+                    .distinctRecipients(estimate(recipients))
+                    .distinctSenders(estimate(senders))
+                    .parcelsMeasured(weights.getN())
+                    .weightPercentiles(weights.isEmpty() ? Map.of() : percentiles(weights::getQuantile))
+                    .deliveriesMeasured(deliveryHours.getN())
+                    .deliveryTimeHoursPercentiles(deliveryHours.isEmpty()
+                            ? Map.of()
+                            : percentiles(deliveryHours::getQuantile))
+                    .distinctCountRelativeError(HllSketch.getRelErr(false, false, HLL_LG_K, CONFIDENCE_STD_DEVS))
+                    .percentileRankError(weights.getNormalizedRankError(false))
+                    .build();
+        }
+
+        private static EstimateDTO estimate(HllSketch sketch) {
+            return new EstimateDTO(
+                    (double) Math.round(sketch.getEstimate()),
+                    Math.floor(sketch.getLowerBound(CONFIDENCE_STD_DEVS)),
+                    Math.ceil(sketch.getUpperBound(CONFIDENCE_STD_DEVS)));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.event.ProductChangedEvent;
+import com.logismart.logismartv2.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory snapshot of the product table (id, name, category, price, weight).
+ * <p>
+ * Products are few and rarely change, while every parcel write validates its product lines.
+ * The snapshot is loaded on first use and dropped whenever a product write completes on this node;
+ * each drop bumps {@link #version()}, and a load that raced with a write is served but not kept.
+ * A lookup that misses the snapshot falls back to the database, so products created on another
+ * node are still found (and trigger a reload); {@code app.products.catalog.refresh-interval-ms}
+ * bounds how long such a node keeps serving an edited or deleted product.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalog {
+
+    public record Entry(String id, String name, String category, BigDecimal price, BigDecimal weight) {
+
+        boolean hasCategory() {
+            return category != null && !category.isEmpty();
+        }
+    }
+
+    private record Snapshot(Map<String, Entry> byId, List<Entry> entries, List<String> categories) {
+    }
+
+    private final ProductRepository productRepository;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public long version() {
+        return version.get();
+    }
+
+    public Optional<Entry> find(String productId) {
+        if (productId == null) {
+            return Optional.empty();
+        }
+        Entry entry = current().byId().get(productId);
+        if (entry == null && productRepository.existsById(productId)) {
+            // Created elsewhere since the load: reload on the next read
+            invalidate();
+            return Optional.ofNullable(current().byId().get(productId));
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    public boolean contains(String productId) {
+        if (productId == null) {
+            return false;
+        }
+        if (current().byId().containsKey(productId)) {
+            return true;
+        }
+        if (productRepository.existsById(productId)) {
+            invalidate();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Same matching as {@link ProductRepository#searchByNameOrCategory}, ordered by name.
+     */
+    public List<Entry> searchByNameOrCategory(String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return current().entries().stream()
+                .filter(entry -> entry.name().toLowerCase(Locale.ROOT).contains(needle)
+                        || (entry.category() != null && entry.category().toLowerCase(Locale.ROOT).contains(needle)))
+                .toList();
+    }
+
+    /**
+     * Same result as {@link ProductRepository#findAllDistinctCategories}.
+     */
+    public List<String> categories() {
+        return current().categories();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onProductChanged(ProductChangedEvent event) {
+        // After completion rather than commit: a rolled back write may have been loaded by its own transaction
+        invalidate();
+    }
+
+    @Scheduled(fixedDelayString = "${app.products.catalog.refresh-interval-ms:300000}",
+            initialDelayString = "${app.products.catalog.refresh-interval-ms:300000}")
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        long loadedVersion = version.get();
+        Map<String, Entry> byId = new HashMap<>();
+        for (Object[] row : productRepository.findCatalogRows()) {
+            Entry entry = new Entry((String) row[0], (String) row[1], (String) row[2],
+                    (BigDecimal) row[3], (BigDecimal) row[4]);
+            byId.put(entry.id(), entry);
+        }
+        List<Entry> entries = byId.values().stream()
+                .sorted(Comparator.comparing(Entry::name).thenComparing(Entry::id))
+                .toList();
+        List<String> categories = entries.stream()
+                .filter(Entry::hasCategory)
+                .map(Entry::category)
+                .distinct()
+                .sorted()
+                .toList();
+        Snapshot fresh = new Snapshot(Map.copyOf(byId), entries, categories);
+
+        synchronized (this) {
+            // A write completed during the load: serve this read but let the next one reload
+            if (snapshot == null && version.get() == loadedVersion) {
+                snapshot = fresh;
+                log.info("Product catalog loaded: {} products (version {})", byId.size(), loadedVersion);
+            }
+        }
+        return fresh;
+    }
+}
@@ -4,15 +4,18 @@ import com.logismart.logismartv2.dto.product.ProductCreateDTO;
 import com.logismart.logismartv2.dto.product.ProductResponseDTO;
 import com.logismart.logismartv2.dto.product.ProductUpdateDTO;
 import com.logismart.logismartv2.entity.Product;
+import com.logismart.logismartv2.event.ProductChangedEvent;
 import com.logismart.logismartv2.exception.DuplicateResourceException;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.ProductMapper;
 import com.logismart.logismartv2.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -24,6 +27,9 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final NdjsonWriter ndjsonWriter;
+    private final ProductCatalog productCatalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductResponseDTO create(ProductCreateDTO dto) {
         log.info("Creating new product with name: {}", dto.getName());
@@ -35,6 +41,7 @@ public class ProductService {
         Product product = productMapper.toEntity(dto);
         Product savedProduct = productRepository.save(product);
         log.info("Product created successfully with ID: {}", savedProduct.getId());
+        eventPublisher.publishEvent(new ProductChangedEvent(this, savedProduct.getId()));
 
         return productMapper.toResponseDTO(savedProduct);
     }
@@ -51,6 +58,16 @@ public class ProductService {
         return productMapper.toResponseDTOList(productRepository.findAll());
     }
 
+    /**
+     * All products as NDJSON, streamed in constant memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) {
+        log.info("Exporting all products");
+        long count = ndjsonWriter.write(productRepository.streamAll(), productMapper::toResponseDTO, out);
+        log.info("Exported {} products", count);
+    }
+
     public ProductResponseDTO update(ProductUpdateDTO dto) {
         Product existingProduct = productRepository.findById(dto.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", dto.getId()));
@@ -62,6 +79,7 @@ public class ProductService {
 
         productMapper.updateEntityFromDTO(dto, existingProduct);
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, updatedProduct.getId()));
 
         return productMapper.toResponseDTO(updatedProduct);
     }
@@ -71,6 +89,7 @@ public class ProductService {
             throw new ResourceNotFoundException("Product", "id", id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(this, id));
     }
 
     @Transactional(readOnly = true)
@@ -88,8 +107,22 @@ public class ProductService {
         return productMapper.toResponseDTOList(productRepository.findByPriceRange(minPrice, maxPrice));
     }
 
+    /**
+     * Served from the in-memory {@link ProductCatalog}.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductResponseDTO> searchByNameOrCategory(String keyword) {
+        return productCatalog.searchByNameOrCategory(keyword).stream()
+                .map(entry -> new ProductResponseDTO(entry.id(), entry.name(), entry.category(),
+                        entry.weight(), entry.price()))
+                .toList();
+    }
+
+    /**
+     * Served from the in-memory {@link ProductCatalog}.
+     */
     @Transactional(readOnly = true)
     public List<String> findAllCategories() {
-        return productRepository.findAllDistinctCategories();
+        return productCatalog.categories();
     }
 }
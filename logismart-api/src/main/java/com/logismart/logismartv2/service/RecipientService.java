@@ -4,14 +4,18 @@ import com.logismart.logismartv2.dto.recipient.RecipientCreateDTO;
 import com.logismart.logismartv2.dto.recipient.RecipientResponseDTO;
 import com.logismart.logismartv2.dto.recipient.RecipientUpdateDTO;
 import com.logismart.logismartv2.entity.Recipient;
+import com.logismart.logismartv2.event.ParcelReferencesChangedEvent;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.RecipientMapper;
+import com.logismart.logismartv2.repository.ParcelRepository;
 import com.logismart.logismartv2.repository.RecipientRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -22,6 +26,9 @@ public class RecipientService {
 
     private final RecipientRepository recipientRepository;
     private final RecipientMapper recipientMapper;
+    private final NdjsonWriter ndjsonWriter;
+    private final ParcelRepository parcelRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RecipientResponseDTO create(RecipientCreateDTO dto) {
         log.info("Creating new recipient with phone: {}", dto.getPhone());
@@ -49,6 +56,16 @@ public class RecipientService {
         return recipientMapper.toResponseDTOList(recipientRepository.findAll());
     }
 
+    /**
+     * All recipients as NDJSON, streamed in constant memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) {
+        log.info("Exporting all recipients");
+        long count = ndjsonWriter.write(recipientRepository.streamAll(), recipientMapper::toResponseDTO, out);
+        log.info("Exported {} recipients", count);
+    }
+
     public RecipientResponseDTO update(RecipientUpdateDTO dto) {
         log.info("Updating recipient with ID: {}", dto.getId());
 
@@ -86,6 +103,9 @@ public class RecipientService {
         }
 
         Recipient updatedRecipient = recipientRepository.save(existingRecipient);
+        // The parcels embed the recipient's name and contact details: new versions invalidate their ETags
+        parcelRepository.incrementVersionByRecipientId(updatedRecipient.getId());
+        eventPublisher.publishEvent(new ParcelReferencesChangedEvent(this, "Recipient", updatedRecipient.getId()));
         log.info("Recipient updated successfully with ID: {}", updatedRecipient.getId());
 
         return recipientMapper.toResponseDTO(updatedRecipient);
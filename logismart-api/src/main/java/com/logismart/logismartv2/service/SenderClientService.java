@@ -4,15 +4,19 @@ import com.logismart.logismartv2.dto.senderclient.SenderClientCreateDTO;
 import com.logismart.logismartv2.dto.senderclient.SenderClientResponseDTO;
 import com.logismart.logismartv2.dto.senderclient.SenderClientUpdateDTO;
 import com.logismart.logismartv2.entity.SenderClient;
+import com.logismart.logismartv2.event.ParcelReferencesChangedEvent;
 import com.logismart.logismartv2.exception.DuplicateResourceException;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.SenderClientMapper;
+import com.logismart.logismartv2.repository.ParcelRepository;
 import com.logismart.logismartv2.repository.SenderClientRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
@@ -23,6 +27,9 @@ public class SenderClientService {
 
     private final SenderClientRepository senderClientRepository;
     private final SenderClientMapper senderClientMapper;
+    private final NdjsonWriter ndjsonWriter;
+    private final ParcelRepository parcelRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public SenderClientResponseDTO create(SenderClientCreateDTO dto) {
         log.info("Creating new sender client with email: {}", dto.getEmail());
@@ -57,6 +64,16 @@ public class SenderClientService {
         return senderClientMapper.toResponseDTOList(clients);
     }
 
+    /**
+     * All sender clients as NDJSON, streamed in constant memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) {
+        log.info("Exporting all sender clients");
+        long count = ndjsonWriter.write(senderClientRepository.streamAll(), senderClientMapper::toResponseDTO, out);
+        log.info("Exported {} sender clients", count);
+    }
+
     public SenderClientResponseDTO update(SenderClientUpdateDTO dto) {
         log.info("Updating sender client with ID: {}", dto.getId());
 
@@ -100,6 +117,9 @@ public class SenderClientService {
         }
 
         SenderClient updatedClient = senderClientRepository.save(existingClient);
+        // The parcels embed the sender's name: new versions invalidate their ETags
+        parcelRepository.incrementVersionBySenderClientId(updatedClient.getId());
+        eventPublisher.publishEvent(new ParcelReferencesChangedEvent(this, "SenderClient", updatedClient.getId()));
         log.info("Sender client updated successfully with ID: {}", updatedClient.getId());
 
         return senderClientMapper.toResponseDTO(updatedClient);
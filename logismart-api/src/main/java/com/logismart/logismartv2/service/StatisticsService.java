@@ -1,10 +1,18 @@
 package com.logismart.logismartv2.service;
 
+import com.logismart.logismartv2.dto.statistics.DeliveryPersonAggregateDTO;
 import com.logismart.logismartv2.dto.statistics.DeliveryPersonStatisticsDTO;
+import com.logismart.logismartv2.dto.statistics.DistributionStatisticsDTO;
+import com.logismart.logismartv2.dto.statistics.EstimateDTO;
 import com.logismart.logismartv2.dto.statistics.GlobalStatisticsDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelScanFilter;
+import com.logismart.logismartv2.dto.statistics.StatisticsMode;
+import com.logismart.logismartv2.dto.statistics.ThroughputPointDTO;
 import com.logismart.logismartv2.dto.statistics.ZoneStatisticsDTO;
 import com.logismart.logismartv2.entity.*;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
+import com.logismart.logismartv2.exception.ServiceUnavailableException;
 import com.logismart.logismartv2.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,9 +21,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,177 +36,103 @@ import java.util.Map;
 public class StatisticsService {
 
     private final ParcelRepository parcelRepository;
-    private final DeliveryPersonRepository deliveryPersonRepository;
     private final ZoneRepository zoneRepository;
-    private final SenderClientRepository senderClientRepository;
-    private final RecipientRepository recipientRepository;
-    private final ProductRepository productRepository;
+    private final ParcelCounterRepository parcelCounterRepository;
+    private final LiveParcelCounters liveParcelCounters;
+    private final ParcelColumnarSnapshot parcelColumnarSnapshot;
+    private final ThroughputService throughputService;
+    private final ParcelSketches parcelSketches;
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
 
     public DeliveryPersonStatisticsDTO getDeliveryPersonStatistics(String deliveryPersonId) {
         log.info("Calculating statistics for delivery person ID: {}", deliveryPersonId);
 
-        
-        DeliveryPerson deliveryPerson = deliveryPersonRepository.findById(deliveryPersonId)
-                .orElseThrow(() -> new ResourceNotFoundException("DeliveryPerson", "id", deliveryPersonId));
+        List<DeliveryPersonAggregateDTO> aggregates =
+                parcelCounterRepository.aggregateByStatusForDeliveryPerson(deliveryPersonId);
 
-        
-        List<Parcel> parcels = parcelRepository.findByDeliveryPersonId(deliveryPersonId);
+        if (aggregates.isEmpty()) {
+            throw new ResourceNotFoundException("DeliveryPerson", "id", deliveryPersonId);
+        }
 
-        
-        BigDecimal totalWeight = parcels.stream()
-                .map(Parcel::getWeight)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        
-        BigDecimal averageWeight = parcels.isEmpty() ? BigDecimal.ZERO :
-                totalWeight.divide(BigDecimal.valueOf(parcels.size()), 2, RoundingMode.HALF_UP);
-
-        
-        long created = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.CREATED).count();
-        long collected = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.COLLECTED).count();
-        long inStock = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_STOCK).count();
-        long inTransit = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_TRANSIT).count();
-        long delivered = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.DELIVERED).count();
-
-        
-        double deliveryRate = parcels.isEmpty() ? 0.0 :
-                (double) delivered / parcels.size() * 100.0;
-
-        return DeliveryPersonStatisticsDTO.builder()
-                .deliveryPersonId(deliveryPersonId)
-                .deliveryPersonName(deliveryPerson.getFirstName() + " " + deliveryPerson.getLastName())
-                .zoneName(deliveryPerson.getAssignedZone() != null ?
-                        deliveryPerson.getAssignedZone().getName() : "Unassigned")
-                .totalParcels((long) parcels.size())
-                .totalWeight(totalWeight)
-                .averageWeight(averageWeight)
-                .parcelsCreated(created)
-                .parcelsCollected(collected)
-                .parcelsInStock(inStock)
-                .parcelsInTransit(inTransit)
-                .parcelsDelivered(delivered)
-                .deliveryRate(Math.round(deliveryRate * 100.0) / 100.0)
-                .build();
+        return buildDeliveryPersonStatistics(aggregates);
     }
 
     public ZoneStatisticsDTO getZoneStatistics(String zoneId) {
         log.info("Calculating statistics for zone ID: {}", zoneId);
 
-        
         Zone zone = zoneRepository.findById(zoneId)
                 .orElseThrow(() -> new ResourceNotFoundException("Zone", "id", zoneId));
 
-        
-        List<Parcel> parcels = parcelRepository.findByZoneId(zoneId);
-
-        
         Long deliveryPersonCount = zoneRepository.countDeliveryPersonsByZoneId(zoneId);
 
-        
-        BigDecimal totalWeight = parcels.stream()
-                .map(Parcel::getWeight)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        
-        BigDecimal averageWeight = parcels.isEmpty() ? BigDecimal.ZERO :
-                totalWeight.divide(BigDecimal.valueOf(parcels.size()), 2, RoundingMode.HALF_UP);
-
-        
-        long created = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.CREATED).count();
-        long collected = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.COLLECTED).count();
-        long inStock = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_STOCK).count();
-        long inTransit = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_TRANSIT).count();
-        long delivered = parcels.stream().filter(p -> p.getStatus() == ParcelStatus.DELIVERED).count();
+        List<ParcelAggregateDTO> aggregates = parcelColumnarSnapshot.isReady()
+                ? parcelColumnarSnapshot.aggregate(ParcelScanFilter.builder().zoneId(zoneId).build(),
+                        ParcelColumnarSnapshot.Dimension.NONE)
+                : parcelCounterRepository.aggregateByStatusAndPriorityForZone(zoneId);
 
-        
-        long normal = parcels.stream().filter(p -> p.getPriority() == ParcelPriority.NORMAL).count();
-        long urgent = parcels.stream().filter(p -> p.getPriority() == ParcelPriority.URGENT).count();
-        long express = parcels.stream().filter(p -> p.getPriority() == ParcelPriority.EXPRESS).count();
-
-        
-        double avgParcelsPerPerson = deliveryPersonCount == 0 ? 0.0 :
-                (double) parcels.size() / deliveryPersonCount;
-
-        return ZoneStatisticsDTO.builder()
-                .zoneId(zoneId)
-                .zoneName(zone.getName())
-                .postalCode(zone.getPostalCode())
-                .totalParcels((long) parcels.size())
-                .totalWeight(totalWeight)
-                .averageWeight(averageWeight)
-                .deliveryPersonCount(deliveryPersonCount)
-                .parcelsCreated(created)
-                .parcelsCollected(collected)
-                .parcelsInStock(inStock)
-                .parcelsInTransit(inTransit)
-                .parcelsDelivered(delivered)
-                .parcelsNormal(normal)
-                .parcelsUrgent(urgent)
-                .parcelsExpress(express)
-                .averageParcelsPerDeliveryPerson(Math.round(avgParcelsPerPerson * 100.0) / 100.0)
-                .build();
+        return buildZoneStatistics(zoneId, zone.getName(), zone.getPostalCode(), deliveryPersonCount, aggregates);
     }
 
     public GlobalStatisticsDTO getGlobalStatistics() {
         log.info("Calculating global system statistics");
 
-        
-        Long totalParcels = parcelRepository.count();
-        Long totalZones = zoneRepository.count();
-        Long totalDeliveryPersons = deliveryPersonRepository.count();
-        Long totalSenderClients = senderClientRepository.count();
-        Long totalRecipients = recipientRepository.count();
-        Long totalProducts = productRepository.count();
+        // Round trip 1: reference table counts
+        ParcelRepository.EntityCounts counts = parcelRepository.countReferenceEntities();
+
+        // Parcel counts folded by status and priority (at most |status| x |priority| rows),
+        // from memory when available, otherwise a second round trip
+        List<ParcelAggregateDTO> aggregates;
+        if (liveParcelCounters.isReady()) {
+            aggregates = liveParcelCounters.aggregateByStatusAndPriority();
+        } else if (parcelColumnarSnapshot.isReady()) {
+            aggregates = parcelColumnarSnapshot.aggregate(ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.NONE);
+        } else {
+            aggregates = parcelCounterRepository.aggregateByStatusAndPriority();
+        }
+
+        long totalParcels = 0;
+        long unassignedParcels = 0;
+        long highPriorityPending = 0;
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byPriority = new HashMap<>();
 
-        
-        List<Parcel> allParcels = parcelRepository.findAll();
+        for (ParcelStatus status : ParcelStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        byPriority.put("NORMAL", 0L);
+        byPriority.put("URGENT", 0L);
+        byPriority.put("EXPRESS", 0L);
 
-        
-        BigDecimal totalWeight = allParcels.stream()
-                .map(Parcel::getWeight)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        for (ParcelAggregateDTO row : aggregates) {
+            long count = row.getParcelCount();
+            totalParcels += count;
+            unassignedParcels += row.getUnassignedCount();
+            totalWeight = totalWeight.add(row.getTotalWeight() != null ? row.getTotalWeight() : BigDecimal.ZERO);
 
-        
-        BigDecimal averageWeight = allParcels.isEmpty() ? BigDecimal.ZERO :
-                totalWeight.divide(BigDecimal.valueOf(allParcels.size()), 2, RoundingMode.HALF_UP);
+            byStatus.merge(row.getStatus().name(), count, Long::sum);
+            byPriority.computeIfPresent(row.getPriority().name(), (key, value) -> value + count);
 
-        
-        Map<String, Long> byStatus = new HashMap<>();
-        byStatus.put("CREATED", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.CREATED).count());
-        byStatus.put("COLLECTED", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.COLLECTED).count());
-        byStatus.put("IN_STOCK", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_STOCK).count());
-        byStatus.put("IN_TRANSIT", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.IN_TRANSIT).count());
-        byStatus.put("DELIVERED", allParcels.stream().filter(p -> p.getStatus() == ParcelStatus.DELIVERED).count());
+            if (row.getPriority().isHighPriority() && row.getStatus() != ParcelStatus.DELIVERED) {
+                highPriorityPending += count;
+            }
+        }
 
-        
-        Map<String, Long> byPriority = new HashMap<>();
-        byPriority.put("NORMAL", allParcels.stream().filter(p -> p.getPriority() == ParcelPriority.NORMAL).count());
-        byPriority.put("URGENT", allParcels.stream().filter(p -> p.getPriority() == ParcelPriority.URGENT).count());
-        byPriority.put("EXPRESS", allParcels.stream().filter(p -> p.getPriority() == ParcelPriority.EXPRESS).count());
-
-        
-        Long unassignedParcels = allParcels.stream()
-                .filter(p -> p.getDeliveryPerson() == null)
-                .count();
-
-        
-        Long highPriorityPending = allParcels.stream()
-                .filter(p -> (p.getPriority() == ParcelPriority.URGENT || p.getPriority() == ParcelPriority.EXPRESS))
-                .filter(p -> p.getStatus() != ParcelStatus.DELIVERED)
-                .count();
-
-        
+        BigDecimal averageWeight = totalParcels == 0 ? BigDecimal.ZERO :
+                totalWeight.divide(BigDecimal.valueOf(totalParcels), 2, RoundingMode.HALF_UP);
+
+        Long totalDeliveryPersons = counts.getTotalDeliveryPersons();
         double avgParcelsPerPerson = totalDeliveryPersons == 0 ? 0.0 :
                 (double) totalParcels / totalDeliveryPersons;
 
         return GlobalStatisticsDTO.builder()
                 .totalParcels(totalParcels)
                 .totalWeight(totalWeight)
-                .totalZones(totalZones)
+                .totalZones(counts.getTotalZones())
                 .totalDeliveryPersons(totalDeliveryPersons)
-                .totalSenderClients(totalSenderClients)
-                .totalRecipients(totalRecipients)
-                .totalProducts(totalProducts)
+                .totalSenderClients(counts.getTotalSenderClients())
+                .totalRecipients(counts.getTotalRecipients())
+                .totalProducts(counts.getTotalProducts())
                 .parcelsByStatus(byStatus)
                 .parcelsByPriority(byPriority)
                 .unassignedParcels(unassignedParcels)
@@ -207,20 +145,168 @@ public class StatisticsService {
     public List<DeliveryPersonStatisticsDTO> getAllDeliveryPersonStatistics() {
         log.info("Calculating statistics for all delivery persons");
 
-        List<DeliveryPerson> deliveryPersons = deliveryPersonRepository.findAll();
+        // Single round trip; rows arrive ordered by courier name
+        List<DeliveryPersonAggregateDTO> aggregates =
+                parcelCounterRepository.aggregateByDeliveryPersonAndStatus();
+
+        Map<String, List<DeliveryPersonAggregateDTO>> byDeliveryPerson = aggregates.stream()
+                .collect(Collectors.groupingBy(DeliveryPersonAggregateDTO::getDeliveryPersonId,
+                        LinkedHashMap::new, Collectors.toList()));
 
-        return deliveryPersons.stream()
-                .map(dp -> getDeliveryPersonStatistics(dp.getId()))
+        return byDeliveryPerson.values().stream()
+                .map(this::buildDeliveryPersonStatistics)
                 .toList();
     }
 
     public List<ZoneStatisticsDTO> getAllZoneStatistics() {
         log.info("Calculating statistics for all zones");
 
-        List<Zone> zones = zoneRepository.findAll();
+        // Two round trips regardless of the number of zones (one with the columnar snapshot)
+        List<ZoneRepository.ZoneSummary> zones = zoneRepository.findAllWithDeliveryPersonCount();
+        List<ParcelAggregateDTO> zoneAggregates = parcelColumnarSnapshot.isReady()
+                ? parcelColumnarSnapshot.aggregate(ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.ZONE)
+                : parcelCounterRepository.aggregateByZoneStatusAndPriority();
+        Map<String, List<ParcelAggregateDTO>> aggregatesByZone = zoneAggregates.stream()
+                .filter(row -> row.getGroupId() != null)
+                .collect(Collectors.groupingBy(ParcelAggregateDTO::getGroupId));
 
         return zones.stream()
-                .map(z -> getZoneStatistics(z.getId()))
+                .map(z -> buildZoneStatistics(z.getId(), z.getName(), z.getPostalCode(),
+                        z.getDeliveryPersonCount(),
+                        aggregatesByZone.getOrDefault(z.getId(), List.of())))
                 .toList();
     }
+
+    /**
+     * Distinct counts and percentiles. APPROXIMATE reads the in-memory sketches and is answered with 503
+     * until they are built (e.g. right after startup); EXACT, or APPROXIMATE with sketches disabled, has
+     * the database compute COUNT(DISTINCT) and the percentiles without loading the values.
+     */
+    public DistributionStatisticsDTO getDistributionStatistics(StatisticsMode mode) {
+        log.info("Calculating {} distribution statistics", mode);
+
+        if (mode == StatisticsMode.APPROXIMATE && parcelSketches.isEnabled()) {
+            if (!parcelSketches.isReady()) {
+                throw new ServiceUnavailableException(
+                        "Distribution sketches are still being built, retry later or use mode=EXACT");
+            }
+            return parcelSketches.getStatistics();
+        }
+
+        ParcelRepository.DistinctCounts distinct = parcelRepository.countDistinctValues();
+        Percentiles weights = parcelRepository.weightPercentiles();
+        Percentiles deliveryHours = deliveryHistoryRepository.deliveryTimePercentiles();
+
+        return DistributionStatisticsDTO.builder()
+                .mode(StatisticsMode.EXACT)
+                .distinctDestinationCities(EstimateDTO.exact(distinct.getDestinationCities()))
+                .distinctRecipients(EstimateDTO.exact(distinct.getRecipients()))
+                .distinctSenders(EstimateDTO.exact(distinct.getSenders()))
+                .parcelsMeasured(weights.getMeasured())
+                .weightPercentiles(exactPercentiles(weights))
+                .deliveriesMeasured(deliveryHours.getMeasured())
+                .deliveryTimeHoursPercentiles(exactPercentiles(deliveryHours))
+                .distinctCountRelativeError(0.0)
+                .percentileRankError(0.0)
+                .build();
+    }
+
+    public List<ThroughputPointDTO> getTimeseries(BucketGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                                  String zoneId, String deliveryPersonId) {
+        return throughputService.getTimeseries(granularity, from, to, zoneId, deliveryPersonId);
+    }
+
+    @Transactional
+    public int rebuildTimeseries(LocalDateTime from) {
+        return throughputService.rebuild(from);
+    }
+
+    // percentile_disc is nearest rank, same definition as the sketches' inclusive quantiles
+    private static Map<String, Double> exactPercentiles(Percentiles row) {
+        if (row.getMeasured() == 0) {
+            return Map.of();
+        }
+        Map<Double, Double> byRank = Map.of(0.5, row.getP50(), 0.9, row.getP90(), 0.99, row.getP99());
+        return ParcelSketches.percentiles(byRank::get);
+    }
+
+    private DeliveryPersonStatisticsDTO buildDeliveryPersonStatistics(List<DeliveryPersonAggregateDTO> aggregates) {
+        DeliveryPersonAggregateDTO first = aggregates.get(0);
+
+        long totalParcels = 0;
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        Map<ParcelStatus, Long> byStatus = new EnumMap<>(ParcelStatus.class);
+
+        for (DeliveryPersonAggregateDTO row : aggregates) {
+            if (row.getStatus() == null) {
+                continue;
+            }
+            totalParcels += row.getParcelCount();
+            totalWeight = totalWeight.add(row.getTotalWeight() != null ? row.getTotalWeight() : BigDecimal.ZERO);
+            byStatus.merge(row.getStatus(), row.getParcelCount(), Long::sum);
+        }
+
+        BigDecimal averageWeight = totalParcels == 0 ? BigDecimal.ZERO :
+                totalWeight.divide(BigDecimal.valueOf(totalParcels), 2, RoundingMode.HALF_UP);
+
+        long delivered = byStatus.getOrDefault(ParcelStatus.DELIVERED, 0L);
+        double deliveryRate = totalParcels == 0 ? 0.0 :
+                (double) delivered / totalParcels * 100.0;
+
+        return DeliveryPersonStatisticsDTO.builder()
+                .deliveryPersonId(first.getDeliveryPersonId())
+                .deliveryPersonName(first.getFirstName() + " " + first.getLastName())
+                .zoneName(first.getZoneName() != null ? first.getZoneName() : "Unassigned")
+                .totalParcels(totalParcels)
+                .totalWeight(totalWeight)
+                .averageWeight(averageWeight)
+                .parcelsCreated(byStatus.getOrDefault(ParcelStatus.CREATED, 0L))
+                .parcelsCollected(byStatus.getOrDefault(ParcelStatus.COLLECTED, 0L))
+                .parcelsInStock(byStatus.getOrDefault(ParcelStatus.IN_STOCK, 0L))
+                .parcelsInTransit(byStatus.getOrDefault(ParcelStatus.IN_TRANSIT, 0L))
+                .parcelsDelivered(delivered)
+                .deliveryRate(Math.round(deliveryRate * 100.0) / 100.0)
+                .build();
+    }
+
+    private ZoneStatisticsDTO buildZoneStatistics(String zoneId, String zoneName, String postalCode,
+                                                  Long deliveryPersonCount, List<ParcelAggregateDTO> aggregates) {
+        long totalParcels = 0;
+        BigDecimal totalWeight = BigDecimal.ZERO;
+        Map<ParcelStatus, Long> byStatus = new EnumMap<>(ParcelStatus.class);
+        Map<ParcelPriority, Long> byPriority = new EnumMap<>(ParcelPriority.class);
+
+        for (ParcelAggregateDTO row : aggregates) {
+            long count = row.getParcelCount();
+            totalParcels += count;
+            totalWeight = totalWeight.add(row.getTotalWeight() != null ? row.getTotalWeight() : BigDecimal.ZERO);
+            byStatus.merge(row.getStatus(), count, Long::sum);
+            byPriority.merge(row.getPriority(), count, Long::sum);
+        }
+
+        BigDecimal averageWeight = totalParcels == 0 ? BigDecimal.ZERO :
+                totalWeight.divide(BigDecimal.valueOf(totalParcels), 2, RoundingMode.HALF_UP);
+
+        double avgParcelsPerPerson = deliveryPersonCount == 0 ? 0.0 :
+                (double) totalParcels / deliveryPersonCount;
+
+        return ZoneStatisticsDTO.builder()
+                .zoneId(zoneId)
+                .zoneName(zoneName)
+                .postalCode(postalCode)
+                .totalParcels(totalParcels)
+                .totalWeight(totalWeight)
+                .averageWeight(averageWeight)
+                .deliveryPersonCount(deliveryPersonCount)
+                .parcelsCreated(byStatus.getOrDefault(ParcelStatus.CREATED, 0L))
+                .parcelsCollected(byStatus.getOrDefault(ParcelStatus.COLLECTED, 0L))
+                .parcelsInStock(byStatus.getOrDefault(ParcelStatus.IN_STOCK, 0L))
+                .parcelsInTransit(byStatus.getOrDefault(ParcelStatus.IN_TRANSIT, 0L))
+                .parcelsDelivered(byStatus.getOrDefault(ParcelStatus.DELIVERED, 0L))
+                .parcelsNormal(byPriority.getOrDefault(ParcelPriority.NORMAL, 0L))
+                .parcelsUrgent(byPriority.getOrDefault(ParcelPriority.URGENT, 0L))
+                .parcelsExpress(byPriority.getOrDefault(ParcelPriority.EXPRESS, 0L))
+                .averageParcelsPerDeliveryPerson(Math.round(avgParcelsPerPerson * 100.0) / 100.0)
+                .build();
+    }
 }
@@ -0,0 +1,130 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.ThroughputPointDTO;
+import com.logismart.logismartv2.entity.BucketGranularity;
+import com.logismart.logismartv2.entity.ThroughputBucketId;
+import com.logismart.logismartv2.event.DeliveryHistoryBatchRecordedEvent;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.repository.ThroughputBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Hourly and daily throughput series backed by the throughput_bucket rollup.
+ * Buckets are incremented in the same transaction that writes the delivery history row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ThroughputService {
+
+    private static final String NONE = "";
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(31);
+    private static final Duration MAX_DAILY_RANGE = Duration.ofDays(366);
+
+    private final ThroughputBucketRepository throughputBucketRepository;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDeliveryHistoryRecorded(DeliveryHistoryRecordedEvent event) {
+        Map<ThroughputBucketId, Integer> deltas = new LinkedHashMap<>();
+        collect(event, deltas);
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Bulk writes: deltas are merged per bucket first, so a batch of history rows costs one statement
+     * per bucket it touches rather than one per row.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDeliveryHistoryBatchRecorded(DeliveryHistoryBatchRecordedEvent event) {
+        Map<ThroughputBucketId, Integer> deltas = new LinkedHashMap<>();
+        event.getRecords().forEach(record -> collect(record, deltas));
+        deltas.forEach(this::apply);
+    }
+
+    private void collect(DeliveryHistoryRecordedEvent event, Map<ThroughputBucketId, Integer> deltas) {
+        for (BucketGranularity granularity : BucketGranularity.values()) {
+            ThroughputBucketId id = new ThroughputBucketId(
+                    granularity,
+                    granularity.truncate(event.getChangedAt()),
+                    event.getZoneId() != null ? event.getZoneId() : NONE,
+                    event.getDeliveryPersonId() != null ? event.getDeliveryPersonId() : NONE,
+                    event.getStatus());
+            deltas.merge(id, event.getDelta(), Integer::sum);
+        }
+    }
+
+    private void apply(ThroughputBucketId id, int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        throughputBucketRepository.upsert(id, delta);
+    }
+
+    /**
+     * Returns one point per bucket in [from, to), empty buckets included, optionally restricted
+     * to a zone and/or a delivery person.
+     */
+    @Transactional(readOnly = true)
+    public List<ThroughputPointDTO> getTimeseries(BucketGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                                  String zoneId, String deliveryPersonId) {
+        log.info("Building {} throughput series from {} to {} (zone: {}, delivery person: {})",
+                granularity, from, to, zoneId, deliveryPersonId);
+
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        Duration maxRange = granularity == BucketGranularity.HOUR ? MAX_HOURLY_RANGE : MAX_DAILY_RANGE;
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new BadRequestException("Range too large for " + granularity + " buckets (max "
+                    + maxRange.toDays() + " days)");
+        }
+
+        LocalDateTime firstBucket = granularity.truncate(from);
+        Map<LocalDateTime, ThroughputPointDTO> points = throughputBucketRepository
+                .findSeries(granularity, firstBucket, to, zoneId, deliveryPersonId)
+                .stream()
+                .collect(Collectors.toMap(ThroughputPointDTO::getBucketStart, Function.identity()));
+
+        List<ThroughputPointDTO> series = new ArrayList<>();
+        for (LocalDateTime bucket = firstBucket; bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            ThroughputPointDTO point = points.get(bucket);
+            series.add(point != null ? point : new ThroughputPointDTO(bucket, 0L, 0L, 0L, 0L));
+        }
+        return series;
+    }
+
+    /**
+     * Recomputes every bucket starting at {@code from} (truncated to the day) from delivery_history.
+     * History rows are attributed to the zone and delivery person stored on them, as when they were written.
+     */
+    @Transactional
+    public int rebuild(LocalDateTime from) {
+        LocalDateTime start = BucketGranularity.DAY.truncate(from);
+        log.info("Rebuilding throughput buckets from {}", start);
+
+        throughputBucketRepository.deleteFrom(start);
+        int hourly = throughputBucketRepository.insertHourlyFromHistory(start);
+        int daily = throughputBucketRepository.insertDailyFromHistory(start);
+
+        log.info("Throughput buckets rebuilt: {} hourly and {} daily buckets", hourly, daily);
+        return hourly + daily;
+    }
+}
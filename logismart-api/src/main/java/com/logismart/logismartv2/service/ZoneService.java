@@ -1,12 +1,15 @@
 package com.logismart.logismartv2.service;
 
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelScanFilter;
 import com.logismart.logismartv2.dto.zone.ZoneCreateDTO;
 import com.logismart.logismartv2.dto.zone.ZoneResponseDTO;
 import com.logismart.logismartv2.dto.zone.ZoneStatsDTO;
 import com.logismart.logismartv2.dto.zone.ZoneUpdateDTO;
-import com.logismart.logismartv2.entity.Parcel;
 import com.logismart.logismartv2.entity.ParcelStatus;
 import com.logismart.logismartv2.entity.Zone;
+import com.logismart.logismartv2.event.ParcelReferencesChangedEvent;
+import com.logismart.logismartv2.exception.BadRequestException;
 import com.logismart.logismartv2.exception.DuplicateResourceException;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.ZoneMapper;
@@ -14,10 +17,14 @@ import com.logismart.logismartv2.repository.ParcelRepository;
 import com.logismart.logismartv2.repository.ZoneRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -25,9 +32,13 @@ import java.util.List;
 @Slf4j
 public class ZoneService {
 
+    private static final int MAX_STATS_BATCH_SIZE = 500;
+
     private final ZoneRepository zoneRepository;
     private final ZoneMapper zoneMapper;
     private final ParcelRepository parcelRepository;
+    private final ParcelColumnarSnapshot parcelColumnarSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ZoneResponseDTO create(ZoneCreateDTO dto) {
         log.info("Creating new zone with name: {}", dto.getName());
@@ -106,6 +117,9 @@ public class ZoneService {
 
         
         Zone updatedZone = zoneRepository.save(existingZone);
+        // The parcels embed the zone's name: new versions invalidate their ETags
+        parcelRepository.incrementVersionByZoneId(updatedZone.getId());
+        eventPublisher.publishEvent(new ParcelReferencesChangedEvent(this, "Zone", updatedZone.getId()));
         log.info("Zone updated successfully with ID: {}", updatedZone.getId());
 
         return zoneMapper.toResponseDTO(updatedZone);
@@ -215,44 +229,61 @@ public class ZoneService {
     @Transactional(readOnly = true)
     public ZoneStatsDTO getStats(String id) {
         log.info("Calculating statistics for zone ID: {}", id);
+        return getStats(List.of(id)).get(0);
+    }
 
-        
-        Zone zone = zoneRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Zone", "id", id));
+    /**
+     * Statistics for several zones in one call, returned in the order of the given ids
+     * (duplicates removed). Throws if any zone does not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<ZoneStatsDTO> getStats(List<String> ids) {
+        log.info("Calculating statistics for {} zones", ids.size());
 
-        
-        List<Parcel> allParcels = parcelRepository.findByZoneId(id);
+        List<String> zoneIds = ids.stream().distinct().toList();
+        if (zoneIds.isEmpty()) {
+            throw new BadRequestException("At least one zone ID is required");
+        }
+        if (zoneIds.size() > MAX_STATS_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_STATS_BATCH_SIZE + " zones can be requested at once");
+        }
 
-        
-        Long totalParcels = (long) allParcels.size();
-        Double totalWeight = allParcels.stream()
-                .map(Parcel::getWeight)
-                .mapToDouble(weight -> weight != null ? weight.doubleValue() : 0.0)
-                .sum();
-
-        Long inTransitParcels = allParcels.stream()
-                .filter(parcel -> parcel.getStatus() == ParcelStatus.IN_TRANSIT)
-                .count();
-
-        Long deliveredParcels = allParcels.stream()
-                .filter(parcel -> parcel.getStatus() == ParcelStatus.DELIVERED)
-                .count();
-
-        Long unassignedParcels = allParcels.stream()
-                .filter(parcel -> parcel.getDeliveryPerson() == null)
-                .count();
-
-        log.info("Statistics for zone {}: {} parcels, {} kg total weight",
-                zone.getName(), totalParcels, totalWeight);
-
-        return new ZoneStatsDTO(
-                id,
-                zone.getName(),
-                totalParcels,
-                totalWeight,
-                inTransitParcels,
-                deliveredParcels,
-                unassignedParcels
-        );
+        Map<String, ZoneStatsDTO> statsById = new HashMap<>();
+        if (parcelColumnarSnapshot.isReady()) {
+            for (Zone zone : zoneRepository.findAllById(zoneIds)) {
+                statsById.put(zone.getId(), new ZoneStatsDTO(zone.getId(), zone.getName(), 0L, 0.0, 0L, 0L, 0L));
+            }
+            for (ParcelAggregateDTO row : parcelColumnarSnapshot.aggregate(
+                    ParcelScanFilter.builder().zoneIds(zoneIds).build(), ParcelColumnarSnapshot.Dimension.ZONE)) {
+                ZoneStatsDTO stats = statsById.get(row.getGroupId());
+                if (stats == null) {
+                    continue;
+                }
+                stats.setTotalParcels(stats.getTotalParcels() + row.getParcelCount());
+                stats.setTotalWeight(stats.getTotalWeight() + row.getTotalWeight().doubleValue());
+                stats.setUnassignedParcels(stats.getUnassignedParcels() + row.getUnassignedCount());
+                if (row.getStatus() == ParcelStatus.IN_TRANSIT) {
+                    stats.setInTransitParcels(stats.getInTransitParcels() + row.getParcelCount());
+                } else if (row.getStatus() == ParcelStatus.DELIVERED) {
+                    stats.setDeliveredParcels(stats.getDeliveredParcels() + row.getParcelCount());
+                }
+            }
+        } else {
+            for (ZoneStatsDTO stats : zoneRepository.findStatsByZoneIds(zoneIds)) {
+                statsById.put(stats.getZoneId(), stats);
+            }
+        }
+
+        List<ZoneStatsDTO> result = new ArrayList<>(zoneIds.size());
+        for (String zoneId : zoneIds) {
+            ZoneStatsDTO stats = statsById.get(zoneId);
+            if (stats == null) {
+                throw new ResourceNotFoundException("Zone", "id", zoneId);
+            }
+            log.info("Statistics for zone {}: {} parcels, {} kg total weight",
+                    stats.getZoneName(), stats.getTotalParcels(), stats.getTotalWeight());
+            result.add(stats);
+        }
+        return result;
     }
 }
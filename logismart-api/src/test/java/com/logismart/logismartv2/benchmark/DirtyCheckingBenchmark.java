@@ -0,0 +1,155 @@
+package com.logismart.logismartv2.benchmark;
+
+import com.logismart.logismartv2.entity.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.ManagedEntity;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Heavy update workload for comparing snapshot dirty checking with the in-line dirty tracking of
+ * Hibernate bytecode enhancement: every round loads all parcels with their product lines in one
+ * transaction, changes a few of them and commits, so the flush has to find a handful of dirty
+ * entities among thousands of managed ones.
+ *
+ * <p>Not a test: run the main method against each build, e.g.
+ * <pre>
+ * mvn -pl logismart-api clean test-compile              # enhanced entities
+ * mvn -pl logismart-api clean test-compile -DnoEnhance  # plain entities
+ * </pre>
+ * then launch this class with the module's test classpath (IDE or {@code java -cp}).
+ * Arguments: parcels (default 5000), parcels changed per round (default 5), rounds (default 30).
+ */
+public class DirtyCheckingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int parcels = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int changedPerRound = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        try (SessionFactory sessionFactory = buildSessionFactory()) {
+            populate(sessionFactory, parcels);
+
+            long[] commitNanos = new long[rounds];
+            long[] roundNanos = new long[rounds];
+            for (int round = -WARMUP_ROUNDS; round < rounds; round++) {
+                try (Session session = sessionFactory.openSession()) {
+                    long start = System.nanoTime();
+                    Transaction tx = session.beginTransaction();
+                    List<Parcel> loaded = session.createQuery(
+                            "SELECT DISTINCT p FROM Parcel p JOIN FETCH p.parcelProducts", Parcel.class).getResultList();
+
+                    for (int i = 0; i < changedPerRound; i++) {
+                        Parcel parcel = loaded.get(Math.floorMod(round * changedPerRound + i, loaded.size()));
+                        parcel.setStatus(parcel.getStatus() == ParcelStatus.CREATED
+                                ? ParcelStatus.COLLECTED : ParcelStatus.CREATED);
+                        parcel.setDescription("Round " + round);
+                    }
+
+                    long flushStart = System.nanoTime();
+                    tx.commit();
+                    long end = System.nanoTime();
+                    if (round >= 0) {
+                        commitNanos[round] = end - flushStart;
+                        roundNanos[round] = end - start;
+                    }
+                }
+            }
+
+            System.out.printf("Entities enhanced: %s%n", ManagedEntity.class.isAssignableFrom(Parcel.class));
+            System.out.printf("%d parcels (%d managed entities per round), %d changed per round, %d rounds%n",
+                    parcels, parcels * 3, changedPerRound, rounds);
+            System.out.printf("Flush + commit: median %.2f ms, p90 %.2f ms%n",
+                    percentile(commitNanos, 50), percentile(commitNanos, 90));
+            System.out.printf("Whole round:    median %.2f ms, p90 %.2f ms%n",
+                    percentile(roundNanos, 50), percentile(roundNanos, 90));
+        }
+    }
+
+    private static SessionFactory buildSessionFactory() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Parcel.class)
+                .addAnnotatedClass(ParcelProduct.class)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(SenderClient.class)
+                .addAnnotatedClass(Recipient.class)
+                .addAnnotatedClass(DeliveryPerson.class)
+                .addAnnotatedClass(Zone.class)
+                .addAnnotatedClass(DeliveryHistory.class);
+        configuration.setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        configuration.setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa");
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50");
+        configuration.setProperty(AvailableSettings.ORDER_UPDATES, "true");
+        configuration.setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none");
+        return configuration.buildSessionFactory();
+    }
+
+    private static void populate(SessionFactory sessionFactory, int parcels) {
+        sessionFactory.inTransaction(session -> {
+            SenderClient sender = new SenderClient();
+            sender.setFirstName("Ahmed");
+            sender.setLastName("Benali");
+            sender.setEmail("ahmed@example.com");
+            sender.setPhone("+212600000001");
+            sender.setAddress("12 Rue Atlas");
+            session.persist(sender);
+
+            Recipient recipient = new Recipient();
+            recipient.setFirstName("Fatima");
+            recipient.setLastName("Zahra");
+            recipient.setEmail("fatima@example.com");
+            recipient.setPhone("+212600000002");
+            recipient.setAddress("5 Avenue Hassan II");
+            session.persist(recipient);
+
+            Product product = new Product();
+            product.setName("Phone");
+            product.setWeight(new BigDecimal("0.30"));
+            product.setPrice(new BigDecimal("1500.00"));
+            session.persist(product);
+
+            for (int i = 0; i < parcels; i++) {
+                Parcel parcel = new Parcel();
+                parcel.setWeight(new BigDecimal("1.00"));
+                parcel.setStatus(ParcelStatus.CREATED);
+                parcel.setPriority(ParcelPriority.NORMAL);
+                parcel.setDestinationCity("Casablanca");
+                parcel.setSenderClient(sender);
+                parcel.setRecipient(recipient);
+                session.persist(parcel);
+
+                for (int q = 1; q <= 2; q++) {
+                    ParcelProduct line = new ParcelProduct();
+                    line.setParcel(parcel);
+                    line.setProduct(product);
+                    line.setQuantity(q);
+                    line.setPrice(product.getPrice());
+                    session.persist(line);
+                }
+                if (i % 500 == 0) {
+                    session.flush();
+                    session.clear();
+                    sender = session.getReference(SenderClient.class, sender.getId());
+                    recipient = session.getReference(Recipient.class, recipient.getId());
+                    product = session.getReference(Product.class, product.getId());
+                }
+            }
+        });
+    }
+
+    private static double percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.logismart.logismartv2.controller;
+
+import com.logismart.logismartv2.config.JacksonConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.service.IdempotencyService;
+import com.logismart.logismartv2.service.ParcelBulkService;
+import com.logismart.logismartv2.service.ParcelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Parcel Controller Tests")
+class ParcelControllerTest {
+
+    @Mock
+    private ParcelService parcelService;
+
+    @Mock
+    private ParcelBulkService parcelBulkService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @InjectMocks
+    private ParcelController parcelController;
+
+    private MockMvc mockMvc;
+    private ParcelResponseDTO parcel;
+
+    @BeforeEach
+    void setUp() {
+        Jackson2ObjectMapperBuilder objectMapper = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().defaultFilterCustomizer().customize(objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(parcelController)
+                .setControllerAdvice(new ParcelFieldsResponseBodyAdvice())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper.build()))
+                .build();
+
+        parcel = new ParcelResponseDTO();
+        parcel.setId("parcel-1");
+        parcel.setDescription("Fragile");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the If-None-Match ETag matches the current version")
+    void getParcelById_NotModified() throws Exception {
+        when(parcelService.getParcelVersion("parcel-1")).thenReturn(3L);
+
+        mockMvc.perform(get("/api/parcels/parcel-1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified());
+
+        verify(parcelService, never()).findVersionedById(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should tag the body with the version it was mapped from when an update lands in between")
+    void getParcelById_UpdatedAfterVersionCheck() throws Exception {
+        when(parcelService.getParcelVersion("parcel-1")).thenReturn(3L);
+        when(parcelService.findVersionedById("parcel-1", 3L)).thenReturn(new ParcelService.VersionedParcel(4L, parcel));
+
+        MvcResult result = mockMvc.perform(get("/api/parcels/parcel-1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeaders(HttpHeaders.ETAG)).containsExactly("\"4\"");
+    }
+}
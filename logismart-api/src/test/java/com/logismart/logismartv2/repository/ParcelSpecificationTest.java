@@ -0,0 +1,102 @@
+package com.logismart.logismartv2.repository;
+
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.Parcel;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Parcel Specification Tests")
+@SuppressWarnings({"unchecked", "rawtypes"})
+class ParcelSpecificationTest {
+
+    private static final BigDecimal WEIGHT = new BigDecimal("2.50");
+
+    @Mock
+    private Root<Parcel> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+
+    @Mock
+    private Path weight;
+
+    @Mock
+    private Path id;
+
+    private ParcelResponseDTO last;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(weight).when(root).get("weight");
+        doReturn(id).when(root).get("id");
+
+        last = new ParcelResponseDTO();
+        last.setId("parcel-1");
+        last.setWeight(WEIGHT);
+    }
+
+    @Test
+    @DisplayName("Should bound an ascending keyset predicate with key >= value ahead of the tie-break")
+    void after_AscendingLeadingBound() {
+        Predicate bound = mock(Predicate.class);
+        Predicate greater = mock(Predicate.class);
+        Predicate equal = mock(Predicate.class);
+        Predicate idGreater = mock(Predicate.class);
+        Predicate tie = mock(Predicate.class);
+        Predicate strictlyAfter = mock(Predicate.class);
+        Predicate expected = mock(Predicate.class);
+        doReturn(bound).when(criteriaBuilder).greaterThanOrEqualTo(weight, (Comparable) WEIGHT);
+        doReturn(greater).when(criteriaBuilder).greaterThan(weight, (Comparable) WEIGHT);
+        doReturn(equal).when(criteriaBuilder).equal(weight, WEIGHT);
+        doReturn(idGreater).when(criteriaBuilder).greaterThan(id, (Comparable) "parcel-1");
+        doReturn(tie).when(criteriaBuilder).and(equal, idGreater);
+        doReturn(strictlyAfter).when(criteriaBuilder).or(greater, tie);
+        doReturn(expected).when(criteriaBuilder).and(bound, strictlyAfter);
+
+        ParcelCursor cursor = ParcelCursor.first("weight", Sort.Direction.ASC).after(last);
+
+        assertThat(ParcelSpecification.after(cursor).toPredicate(root, query, criteriaBuilder)).isSameAs(expected);
+    }
+
+    @Test
+    @DisplayName("Should bound a descending keyset predicate with key <= value ahead of the tie-break")
+    void after_DescendingLeadingBound() {
+        Predicate bound = mock(Predicate.class);
+        Predicate less = mock(Predicate.class);
+        Predicate equal = mock(Predicate.class);
+        Predicate idLess = mock(Predicate.class);
+        Predicate tie = mock(Predicate.class);
+        Predicate strictlyAfter = mock(Predicate.class);
+        Predicate expected = mock(Predicate.class);
+        doReturn(bound).when(criteriaBuilder).lessThanOrEqualTo(weight, (Comparable) WEIGHT);
+        doReturn(less).when(criteriaBuilder).lessThan(weight, (Comparable) WEIGHT);
+        doReturn(equal).when(criteriaBuilder).equal(weight, WEIGHT);
+        doReturn(idLess).when(criteriaBuilder).lessThan(id, (Comparable) "parcel-1");
+        doReturn(tie).when(criteriaBuilder).and(equal, idLess);
+        doReturn(strictlyAfter).when(criteriaBuilder).or(less, tie);
+        doReturn(expected).when(criteriaBuilder).and(bound, strictlyAfter);
+
+        ParcelCursor cursor = ParcelCursor.first("weight", Sort.Direction.DESC).after(last);
+
+        assertThat(ParcelSpecification.after(cursor).toPredicate(root, query, criteriaBuilder)).isSameAs(expected);
+    }
+}
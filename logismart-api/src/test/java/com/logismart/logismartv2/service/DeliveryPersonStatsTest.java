@@ -0,0 +1,127 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.deliveryperson.DeliveryPersonStatsDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.exception.ResourceNotFoundException;
+import com.logismart.logismartv2.mapper.DeliveryPersonMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DeliveryPersonService.class, DeliveryPersonStatsCacheEvictor.class, CacheConfig.class,
+        ParcelCounterService.class, ParcelColumnarSnapshot.class,
+        DeliveryPersonMapperImpl.class, ParcelMapperImpl.class})
+@DisplayName("Delivery Person Stats Tests")
+class DeliveryPersonStatsTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DeliveryPersonService deliveryPersonService;
+
+    @Autowired
+    private DeliveryPersonStatsCacheEvictor cacheEvictor;
+
+    @Autowired
+    private ParcelCounterService parcelCounterService;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private DeliveryPerson deliveryPerson;
+
+    @BeforeEach
+    void setUp() {
+        deliveryPerson = entityManager.persist(TestFixtures.courier());
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+    }
+
+    @Test
+    @DisplayName("Should compute all-time and monthly figures without loading parcels")
+    void getStats_Aggregates() {
+        persistParcel("2.00", ParcelStatus.DELIVERED);
+        persistParcel("1.50", ParcelStatus.IN_TRANSIT);
+        Parcel old = persistParcel("3.00", ParcelStatus.DELIVERED);
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Parcel p SET p.createdAt = :createdAt WHERE p.id = :id")
+                .setParameter("createdAt", LocalDateTime.now().minusMonths(2))
+                .setParameter("id", old.getId())
+                .executeUpdate();
+        parcelCounterService.rebuild();
+        entityManager.clear();
+
+        DeliveryPersonStatsDTO stats = deliveryPersonService.getStats(deliveryPerson.getId());
+
+        assertThat(stats.getDeliveryPersonName()).isEqualTo("Youssef Alami");
+        assertThat(stats.getTotalParcels()).isEqualTo(3L);
+        assertThat(stats.getDeliveredParcels()).isEqualTo(2L);
+        assertThat(stats.getActiveParcels()).isEqualTo(1L);
+        assertThat(stats.getInTransitParcels()).isEqualTo(1L);
+        assertThat(stats.getTotalWeight()).isEqualTo(6.5);
+        assertThat(stats.getTotalThisMonth()).isEqualTo(2L);
+        assertThat(stats.getDeliveredThisMonth()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache until a parcel of the courier changes")
+    void getStats_CachedUntilParcelChange() {
+        Parcel parcel = persistParcel("2.00", ParcelStatus.IN_TRANSIT);
+        entityManager.flush();
+        parcelCounterService.rebuild();
+
+        DeliveryPersonStatsDTO first = deliveryPersonService.getStats(deliveryPerson.getId());
+        DeliveryPersonStatsDTO cached = deliveryPersonService.getStats(deliveryPerson.getId());
+        assertThat(cached).isSameAs(first);
+        assertThat(cached.getTotalParcels()).isEqualTo(1L);
+
+        ParcelSnapshot before = ParcelSnapshot.of(parcel);
+        parcel.setStatus(ParcelStatus.DELIVERED);
+        entityManager.flush();
+        parcelCounterService.rebuild();
+        cacheEvictor.onParcelChanged(new ParcelChangedEvent(this, before, ParcelSnapshot.of(parcel)));
+
+        DeliveryPersonStatsDTO refreshed = deliveryPersonService.getStats(deliveryPerson.getId());
+        assertThat(refreshed.getDeliveredParcels()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw when the delivery person does not exist")
+    void getStats_NotFound() {
+        assertThatThrownBy(() -> deliveryPersonService.getStats("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Parcel persistParcel(String weight, ParcelStatus status) {
+        return entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                .weight(weight).status(status).destinationCity("Rabat").deliveryPerson(deliveryPerson).build());
+    }
+}
@@ -0,0 +1,152 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.config.JacksonConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelCreateDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelProductItemDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.repository.IdempotencyKeyRepository;
+import com.logismart.logismartv2.repository.ParcelRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({IdempotencyService.class, ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class, JacksonConfig.class})
+@DisplayName("Idempotency Service Tests")
+class IdempotencyServiceTest {
+
+    private static final String ENDPOINT = "POST /api/parcels";
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ParcelRepository parcelRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+        product = entityManager.persist(TestFixtures.product("Phone", "1500.00"));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response to a retry without creating another parcel")
+    void execute_ReplaysRetry() {
+        ParcelCreateDTO dto = item("Fragile");
+        IdempotencyService.Result<ParcelResponseDTO> first = create("client-user", "key-1", dto);
+        entityManager.flush();
+        entityManager.clear();
+
+        IdempotencyService.Result<ParcelResponseDTO> retry = create("client-user", "key-1", item("Fragile"));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response().getId()).isEqualTo(first.response().getId());
+        assertThat(retry.response().getDescription()).isEqualTo("Fragile");
+        assertThat(parcelRepository.count()).isEqualTo(1);
+        assertThat(idempotencyKeyRepository.findAll()).singleElement()
+                .satisfies(key -> assertThat(key.getParcelId()).isEqualTo(first.response().getId()));
+    }
+
+    @Test
+    @DisplayName("Should reject a reused key with another body and scope keys to the caller")
+    void execute_ChecksBodyAndScope() {
+        create("client-user", "key-1", item("Fragile"));
+        entityManager.flush();
+
+        assertThatThrownBy(() -> create("client-user", "key-1", item("Documents")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("different request body");
+
+        IdempotencyService.Result<ParcelResponseDTO> otherCaller = create("manager-user", "key-1", item("Fragile"));
+        assertThat(otherCaller.replayed()).isFalse();
+        assertThat(parcelRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should run the write again once the key has expired, and purge expired keys")
+    void execute_ExpiredKey() {
+        create("client-user", "key-1", item("Fragile"));
+        entityManager.flush();
+        idempotencyKeyRepository.findAll().forEach(key -> key.setExpiresAt(LocalDateTime.now().minusMinutes(1)));
+        entityManager.flush();
+
+        IdempotencyService.Result<ParcelResponseDTO> afterExpiry = create("client-user", "key-1", item("Fragile"));
+        entityManager.flush();
+        assertThat(afterExpiry.replayed()).isFalse();
+        assertThat(parcelRepository.count()).isEqualTo(2);
+
+        idempotencyKeyRepository.findAll().forEach(key -> key.setExpiresAt(LocalDateTime.now().minusMinutes(1)));
+        entityManager.flush();
+        idempotencyService.purgeExpired();
+        assertThat(idempotencyKeyRepository.count()).isZero();
+    }
+
+    private IdempotencyService.Result<ParcelResponseDTO> create(String userId, String key, ParcelCreateDTO dto) {
+        return idempotencyService.execute(userId, ENDPOINT, key, dto, ParcelResponseDTO.class,
+                ParcelResponseDTO::getId, () -> parcelService.create(dto));
+    }
+
+    private ParcelCreateDTO item(String description) {
+        ParcelCreateDTO dto = new ParcelCreateDTO();
+        dto.setDescription(description);
+        dto.setWeight(new BigDecimal("1.50"));
+        dto.setPriority(ParcelPriority.NORMAL);
+        dto.setDestinationCity("Casablanca");
+        dto.setSenderClientId(senderClient.getId());
+        dto.setRecipientId(recipient.getId());
+        dto.setProducts(new ArrayList<>(List.of(new ParcelProductItemDTO(product.getId(), 1, product.getPrice()))));
+        return dto;
+    }
+}
@@ -0,0 +1,189 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.entity.ParcelCounter;
+import com.logismart.logismartv2.entity.ParcelCounterId;
+import com.logismart.logismartv2.entity.ParcelPriority;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import com.logismart.logismartv2.entity.Zone;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelReferencesChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.repository.ParcelCounterRepository;
+import com.logismart.logismartv2.repository.ZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Live Parcel Counters Tests")
+class LiveParcelCountersTest {
+
+    @Mock
+    private ParcelCounterRepository parcelCounterRepository;
+
+    @Mock
+    private ZoneRepository zoneRepository;
+
+    @InjectMocks
+    private LiveParcelCounters liveParcelCounters;
+
+    private Zone zone;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(liveParcelCounters, "enabled", true);
+
+        zone = new Zone();
+        zone.setId("zone-1");
+        zone.setName("Casablanca Centre");
+        zone.setPostalCode("20000");
+    }
+
+    @Test
+    @DisplayName("Should not be ready before seeding")
+    void isReady_BeforeSeed_False() {
+        assertThat(liveParcelCounters.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stay unseeded when disabled")
+    void seed_Disabled_NotReady() {
+        ReflectionTestUtils.setField(liveParcelCounters, "enabled", false);
+
+        liveParcelCounters.seed();
+
+        assertThat(liveParcelCounters.isReady()).isFalse();
+        verifyNoInteractions(parcelCounterRepository);
+    }
+
+    @Test
+    @DisplayName("Should seed counts from parcel counters")
+    void seed_LoadsCounters() {
+        when(parcelCounterRepository.findAll()).thenReturn(List.of(
+                counter("zone-1", "dp-1", ParcelStatus.IN_TRANSIT, ParcelPriority.EXPRESS, 3, "7.50"),
+                counter("zone-1", ParcelCounterId.NONE, ParcelStatus.CREATED, ParcelPriority.NORMAL, 2, "4.00"),
+                counter(ParcelCounterId.NONE, ParcelCounterId.NONE, ParcelStatus.CREATED, ParcelPriority.NORMAL, 1, "1.25")));
+        when(zoneRepository.findAll()).thenReturn(List.of(zone));
+
+        liveParcelCounters.seed();
+
+        assertThat(liveParcelCounters.isReady()).isTrue();
+        assertThat(liveParcelCounters.countByStatus())
+                .containsEntry(ParcelStatus.CREATED, 3L)
+                .containsEntry(ParcelStatus.IN_TRANSIT, 3L)
+                .containsEntry(ParcelStatus.DELIVERED, 0L);
+        assertThat(liveParcelCounters.countByPriority())
+                .containsEntry(ParcelPriority.NORMAL, 3L)
+                .containsEntry(ParcelPriority.EXPRESS, 3L);
+        assertThat(liveParcelCounters.countByZoneName())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("Casablanca Centre", 5L, "Unassigned", 1L));
+
+        List<ParcelAggregateDTO> aggregates = liveParcelCounters.aggregateByStatusAndPriority();
+        assertThat(aggregates).hasSize(2);
+        ParcelAggregateDTO created = aggregates.stream()
+                .filter(a -> a.getStatus() == ParcelStatus.CREATED).findFirst().orElseThrow();
+        assertThat(created.getParcelCount()).isEqualTo(3L);
+        assertThat(created.getUnassignedCount()).isEqualTo(3L);
+        assertThat(created.getTotalWeight()).isEqualByComparingTo("5.25");
+    }
+
+    @Test
+    @DisplayName("Should move a parcel between cells on a committed change")
+    void onParcelChanged_AppliesDelta() {
+        when(parcelCounterRepository.findAll()).thenReturn(List.of(
+                counter("zone-1", ParcelCounterId.NONE, ParcelStatus.CREATED, ParcelPriority.URGENT, 1, "2.00")));
+        when(zoneRepository.findAll()).thenReturn(List.of(zone));
+        liveParcelCounters.seed();
+
+        ParcelSnapshot before = snapshot(null, ParcelStatus.CREATED, ParcelPriority.URGENT);
+        ParcelSnapshot after = snapshot("dp-1", ParcelStatus.IN_TRANSIT, ParcelPriority.URGENT);
+        liveParcelCounters.onParcelChanged(new ParcelChangedEvent(this, before, after));
+
+        assertThat(liveParcelCounters.countByStatus())
+                .containsEntry(ParcelStatus.CREATED, 0L)
+                .containsEntry(ParcelStatus.IN_TRANSIT, 1L);
+        assertThat(liveParcelCounters.aggregateByStatusAndPriority())
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getStatus()).isEqualTo(ParcelStatus.IN_TRANSIT);
+                    assertThat(row.getUnassignedCount()).isZero();
+                    assertThat(row.getTotalWeight()).isEqualByComparingTo("2.00");
+                });
+
+        liveParcelCounters.onParcelChanged(new ParcelChangedEvent(this, after, null));
+
+        assertThat(liveParcelCounters.countByZoneName()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore changes before seeding")
+    void onParcelChanged_NotSeeded_Ignored() {
+        liveParcelCounters.onParcelChanged(new ParcelChangedEvent(this, null,
+                snapshot(null, ParcelStatus.CREATED, ParcelPriority.NORMAL)));
+
+        assertThat(liveParcelCounters.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should replay changes committed while the reseed query runs")
+    void reseed_ReplaysChangesCommittedDuringReload() {
+        when(zoneRepository.findAll()).thenReturn(List.of(zone));
+        when(parcelCounterRepository.findAll()).thenReturn(List.of(
+                counter("zone-1", ParcelCounterId.NONE, ParcelStatus.CREATED, ParcelPriority.NORMAL, 1, "2.00")));
+        liveParcelCounters.seed();
+
+        ParcelSnapshot created = snapshot(null, ParcelStatus.CREATED, ParcelPriority.NORMAL);
+        when(parcelCounterRepository.findAll()).thenAnswer(invocation -> {
+            // Committed after the query read parcel_counter, before the new registry is swapped in
+            liveParcelCounters.onParcelChanged(new ParcelChangedEvent(this, null, created));
+            return List.of(counter("zone-1", ParcelCounterId.NONE, ParcelStatus.CREATED, ParcelPriority.NORMAL,
+                    1, "2.00"));
+        });
+        liveParcelCounters.reseed();
+
+        assertThat(liveParcelCounters.countByStatus()).containsEntry(ParcelStatus.CREATED, 2L);
+    }
+
+    @Test
+    @DisplayName("Should resolve a zone name again after the zone is updated")
+    void onParcelReferencesChanged_ZoneRenamed() {
+        when(parcelCounterRepository.findAll()).thenReturn(List.of(
+                counter("zone-1", ParcelCounterId.NONE, ParcelStatus.CREATED, ParcelPriority.NORMAL, 1, "2.00")));
+        when(zoneRepository.findAll()).thenReturn(List.of(zone));
+        liveParcelCounters.seed();
+        assertThat(liveParcelCounters.countByZoneName()).containsOnlyKeys("Casablanca Centre");
+
+        Zone renamed = new Zone();
+        renamed.setId("zone-1");
+        renamed.setName("Casablanca Maarif");
+        when(zoneRepository.findById("zone-1")).thenReturn(Optional.of(renamed));
+        liveParcelCounters.onParcelReferencesChanged(new ParcelReferencesChangedEvent(this, "Zone", "zone-1"));
+
+        assertThat(liveParcelCounters.countByZoneName()).containsOnlyKeys("Casablanca Maarif");
+    }
+
+    private ParcelCounter counter(String zoneId, String deliveryPersonId, ParcelStatus status,
+                                  ParcelPriority priority, long count, String weight) {
+        return new ParcelCounter(new ParcelCounterId(zoneId, deliveryPersonId, status, priority),
+                count, new BigDecimal(weight));
+    }
+
+    private ParcelSnapshot snapshot(String deliveryPersonId, ParcelStatus status, ParcelPriority priority) {
+        return new ParcelSnapshot("parcel-1", "zone-1", deliveryPersonId, status, priority,
+                new BigDecimal("2.00"), "Casablanca", null, null, null);
+    }
+}
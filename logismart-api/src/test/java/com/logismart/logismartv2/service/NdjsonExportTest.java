@@ -0,0 +1,115 @@
+package com.logismart.logismartv2.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.mapper.ProductMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "app.export.clear-interval=3")
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        ProductService.class, ProductMapperImpl.class, NdjsonWriter.class, JacksonAutoConfiguration.class})
+@DisplayName("NDJSON Export Tests")
+class NdjsonExportTest {
+
+    private static final int ROWS = 7;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        SenderClient senderClient = entityManager.persist(TestFixtures.senderClient());
+        Recipient recipient = entityManager.persist(TestFixtures.recipient());
+
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(TestFixtures.product("Product " + i, "100.00"));
+            entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                    .status(i < 4 ? ParcelStatus.CREATED : ParcelStatus.DELIVERED).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should stream every product as one JSON document per line")
+    void exportAll_WritesOneLinePerProduct() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productService.exportAll(out);
+
+        List<JsonNode> lines = parse(out);
+        assertThat(lines).hasSize(ROWS);
+        assertThat(lines).extracting(line -> line.get("name").asText()).allMatch(name -> name.startsWith("Product "));
+        // The persistence context is cleared as rows are written
+        assertThat(entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount()).isLessThan(3);
+    }
+
+    @Test
+    @DisplayName("Should stream only parcels matching the filters")
+    void exportParcels_AppliesFilters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        parcelService.exportParcels(ParcelStatus.CREATED, null, null, null, null, null, null, null, null, out);
+
+        List<JsonNode> lines = parse(out);
+        assertThat(lines).hasSize(4);
+        assertThat(lines).allSatisfy(line -> {
+            assertThat(line.get("status").asText()).isEqualTo("CREATED");
+            assertThat(line.get("senderClientName").asText()).isEqualTo("Ahmed Benali");
+        });
+    }
+
+    private List<JsonNode> parse(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,195 @@
+package com.logismart.logismartv2.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelCreateDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.OutboxMessage;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.repository.OutboxEventRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "app.outbox.relay.batch-size=2",
+        "app.outbox.sinks.file.enabled=true"
+})
+@ActiveProfiles("test")
+@Import({OutboxWriter.class, OutboxRelay.class, InProcessOutboxSink.class, FileOutboxSink.class,
+        ParcelService.class, ParcelBulkService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@RecordApplicationEvents
+@DisplayName("Outbox Tests")
+class OutboxTest {
+
+    @TempDir
+    static Path outboxDir;
+
+    @DynamicPropertySource
+    static void outboxFile(DynamicPropertyRegistry registry) {
+        registry.add("app.outbox.sinks.file.path", () -> outboxDir.resolve("outbox.ndjson").toString());
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ParcelBulkService parcelBulkService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private DeliveryPerson courier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.deleteIfExists(outboxDir.resolve("outbox.ndjson"));
+
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+        courier = entityManager.persist(TestFixtures.courier());
+
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should write outbox events in the parcel's transaction and drop them on rollback")
+    void write_SharesParcelTransaction() {
+        ParcelResponseDTO created = parcelService.create(item());
+        entityManager.flush();
+
+        assertThat(outboxEventRepository.findByParcelIdOrderByIdAsc(created.getId()))
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly(OutboxEventType.PARCEL_CREATED, OutboxEventType.DELIVERY_HISTORY_RECORDED);
+        assertThat(outboxEventRepository.findAll()).allSatisfy(event -> assertThat(event.getPublishedAt()).isNull());
+
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should relay events in per-parcel order to every sink and mark them published")
+    void relay_PublishesInOrder() throws IOException {
+        String first = parcelService.create(item()).getId();
+        String second = parcelService.create(item()).getId();
+        entityManager.flush();
+        assignToCourier(first, second);
+        parcelBulkService.scanStatuses(List.of(
+                new ParcelStatusScanDTO(second, ParcelStatus.IN_TRANSIT, null),
+                new ParcelStatusScanDTO(first, ParcelStatus.IN_TRANSIT, null)), "courier-user");
+        entityManager.flush();
+        entityManager.clear();
+
+        // 2 creations and 2 scans, each a parcel event and a history event; batches of 2
+        assertThat(outboxRelay.relay()).isEqualTo(8);
+        assertThat(outboxRelay.relay()).isZero();
+        entityManager.clear();
+        assertThat(outboxEventRepository.findAll()).allSatisfy(event -> assertThat(event.getPublishedAt()).isNotNull());
+
+        List<OutboxMessage> messages = applicationEvents.stream(OutboxMessage.class).toList();
+        assertThat(messages).extracting(OutboxMessage::id).isSorted().doesNotHaveDuplicates();
+        assertThat(messages).filteredOn(message -> message.parcelId().equals(first))
+                .extracting(OutboxMessage::type)
+                .containsExactly(OutboxEventType.PARCEL_CREATED, OutboxEventType.DELIVERY_HISTORY_RECORDED,
+                        OutboxEventType.PARCEL_UPDATED, OutboxEventType.DELIVERY_HISTORY_RECORDED);
+
+        List<String> lines = Files.readAllLines(outboxDir.resolve("outbox.ndjson"));
+        assertThat(lines).hasSize(messages.size());
+        JsonNode scan = objectMapper.readTree(lines.get(4));
+        assertThat(scan.get("id").asLong()).isEqualTo(messages.get(4).id());
+        assertThat(scan.get("type").asText()).isEqualTo("PARCEL_UPDATED");
+        assertThat(scan.at("/payload/before/status").asText()).isEqualTo("CREATED");
+        assertThat(scan.at("/payload/after/status").asText()).isEqualTo("IN_TRANSIT");
+    }
+
+    @Test
+    @DisplayName("Should purge published events past retention and keep unpublished ones")
+    void purgePublished_KeepsPending() {
+        parcelService.create(item());
+        parcelService.create(item());
+        entityManager.flush();
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        events.get(0).setPublishedAt(LocalDateTime.now().minusDays(2));
+        events.get(1).setPublishedAt(LocalDateTime.now());
+        entityManager.flush();
+
+        outboxRelay.purgePublished();
+
+        assertThat(outboxEventRepository.count()).isEqualTo(events.size() - 1L);
+    }
+
+    private void assignToCourier(String... parcelIds) {
+        for (String parcelId : parcelIds) {
+            entityManager.find(Parcel.class, parcelId).setDeliveryPerson(courier);
+        }
+        entityManager.flush();
+    }
+
+    private ParcelCreateDTO item() {
+        ParcelCreateDTO dto = new ParcelCreateDTO();
+        dto.setWeight(new BigDecimal("1.50"));
+        dto.setPriority(ParcelPriority.NORMAL);
+        dto.setDestinationCity("Casablanca");
+        dto.setSenderClientId(senderClient.getId());
+        dto.setRecipientId(recipient.getId());
+        dto.setProducts(new ArrayList<>());
+        return dto;
+    }
+}
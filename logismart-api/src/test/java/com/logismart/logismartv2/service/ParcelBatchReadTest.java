@@ -0,0 +1,155 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.deliveryhistory.DeliveryHistoryResponseDTO;
+import com.logismart.logismartv2.dto.deliveryhistory.ParcelHistoryDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.repository.ParcelAccess;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class})
+@DisplayName("Parcel Batch Read Tests")
+class ParcelBatchReadTest {
+
+    private static final int PARCELS = 6;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    private final List<String> parcelIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        SenderClient[] senders = {
+                entityManager.persist(TestFixtures.senderClient(0)),
+                entityManager.persist(TestFixtures.senderClient(1))};
+
+        Recipient recipient = entityManager.persist(TestFixtures.recipient());
+        DeliveryPerson courier = entityManager.persist(TestFixtures.courier());
+
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 9, 0);
+        for (int i = 0; i < PARCELS; i++) {
+            Parcel parcel = entityManager.persist(TestFixtures.parcel(senders[i % 2], recipient)
+                    .status(ParcelStatus.COLLECTED).deliveryPerson(i < 2 ? courier : null).build());
+            parcelIds.add(parcel.getId());
+
+            persistHistory(parcel, ParcelStatus.COLLECTED, start.plusHours(i + 1));
+            persistHistory(parcel, ParcelStatus.CREATED, start.plusMinutes(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should return parcels in request order")
+    void findByIds_RequestOrder() {
+        List<String> requested = new ArrayList<>(parcelIds);
+        Collections.reverse(requested);
+        requested.add(2, "missing");
+        requested.add(parcelIds.get(0));
+
+        List<ParcelResponseDTO> parcels = parcelService.findByIds(requested, ParcelAccess.ALL, "manager-user", null);
+
+        List<String> expected = new ArrayList<>(parcelIds);
+        Collections.reverse(expected);
+        assertThat(parcels).extracting(ParcelResponseDTO::getId).containsExactlyElementsOf(expected);
+        assertThat(parcels).allSatisfy(parcel -> assertThat(parcel.getSenderClientName()).startsWith("Client"));
+    }
+
+    @Test
+    @DisplayName("Should leave out parcels the client did not send or the courier is not assigned")
+    void findByIds_AppliesAccessInBulk() {
+        assertThat(parcelService.findByIds(parcelIds, ParcelAccess.SENDER, "client-user-1", "id"))
+                .extracting(ParcelResponseDTO::getId)
+                .containsExactly(parcelIds.get(1), parcelIds.get(3), parcelIds.get(5));
+
+        assertThat(parcelService.findByIds(parcelIds, ParcelAccess.DELIVERY_PERSON, "courier-user", "id"))
+                .extracting(ParcelResponseDTO::getId)
+                .containsExactly(parcelIds.get(0), parcelIds.get(1));
+
+        assertThat(parcelService.findByIds(parcelIds, ParcelAccess.SENDER, "unknown-user", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should group chronological histories by parcel in request order")
+    void getParcelHistories_GroupedInRequestOrder() {
+        List<String> requested = List.of(parcelIds.get(3), "missing", parcelIds.get(1), parcelIds.get(2));
+
+        List<ParcelHistoryDTO> histories = parcelService.getParcelHistories(requested, ParcelAccess.SENDER,
+                "client-user-1");
+
+        assertThat(histories).extracting(ParcelHistoryDTO::getParcelId)
+                .containsExactly(parcelIds.get(3), parcelIds.get(1));
+        assertThat(histories).allSatisfy(group -> {
+            assertThat(group.getHistory()).extracting(DeliveryHistoryResponseDTO::getStatus)
+                    .containsExactly(ParcelStatus.CREATED, ParcelStatus.COLLECTED);
+            assertThat(group.getHistory()).extracting(DeliveryHistoryResponseDTO::getParcelId)
+                    .containsOnly(group.getParcelId());
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized id lists")
+    void batch_RejectsInvalidIdLists() {
+        List<String> tooMany = IntStream.rangeClosed(0, 100).mapToObj(i -> "id-" + i).toList();
+
+        assertThatThrownBy(() -> parcelService.findByIds(List.of(), ParcelAccess.ALL, "manager-user", null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> parcelService.getParcelHistories(tooMany, ParcelAccess.ALL, "manager-user"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("100");
+    }
+
+    private void persistHistory(Parcel parcel, ParcelStatus status, LocalDateTime changedAt) {
+        DeliveryHistory history = new DeliveryHistory();
+        history.setParcel(parcel);
+        history.setStatus(status);
+        entityManager.persistAndFlush(history);
+        // changed_at is a creation timestamp: backdate it so entries are out of insertion order
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE delivery_history SET changed_at = :changedAt WHERE id = :id")
+                .setParameter("changedAt", changedAt)
+                .setParameter("id", history.getId())
+                .executeUpdate();
+    }
+}
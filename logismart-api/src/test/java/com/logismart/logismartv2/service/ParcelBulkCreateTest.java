@@ -0,0 +1,185 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelBulkItemResultDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelBulkResultDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelCreateDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelProductItemDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.repository.ParcelCounterRepository;
+import com.logismart.logismartv2.repository.ThroughputBucketRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "app.parcels.bulk.max-items=100")
+@ActiveProfiles("test")
+@Import({ParcelBulkService.class, ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class,
+        ParcelCounterService.class, ThroughputService.class, ValidationAutoConfiguration.class})
+@DisplayName("Parcel Bulk Create Tests")
+class ParcelBulkCreateTest {
+
+    private static final int PARCELS = 40;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelBulkService parcelBulkService;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ParcelCounterRepository parcelCounterRepository;
+
+    @Autowired
+    private ThroughputBucketRepository throughputBucketRepository;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private Product phone;
+    private Product charger;
+
+    @BeforeEach
+    void setUp() {
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+
+        phone = entityManager.persist(TestFixtures.product("Phone", "1500.00"));
+        charger = entityManager.persist(TestFixtures.product("Charger", "120.00"));
+
+        entityManager.flush();
+        entityManager.clear();
+        // Load the catalog with this test's products
+        productCatalog.invalidate();
+        productCatalog.contains(phone.getId());
+    }
+
+    @Test
+    @DisplayName("Should create valid items and report rejected ones by position")
+    void createAll_ReportsPerItemResults() {
+        List<ParcelCreateDTO> items = new ArrayList<>(items(3));
+        ParcelCreateDTO unknownProduct = item();
+        unknownProduct.getProducts().get(0).setProductId("missing-product");
+        items.add(1, unknownProduct);
+        ParcelCreateDTO invalid = item();
+        invalid.setWeight(null);
+        invalid.setRecipientId("missing-recipient");
+        items.add(invalid);
+
+        ParcelBulkResultDTO result = parcelBulkService.createAll(items);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(result.getRequested()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(ParcelBulkItemResultDTO::isCreated)
+                .containsExactly(true, false, true, true, false);
+        assertThat(result.getResults().get(1).getErrors())
+                .containsExactly("Product not found with id : 'missing-product'");
+        assertThat(result.getResults().get(4).getErrors())
+                .containsExactlyInAnyOrder("Weight is required", "Recipient not found with id : 'missing-recipient'");
+
+        Parcel created = entityManager.find(Parcel.class, result.getResults().get(0).getParcelId());
+        assertThat(created.getStatus()).isEqualTo(ParcelStatus.CREATED);
+        assertThat(created.getParcelProducts()).hasSize(2);
+        assertThat(created.getDeliveryHistories()).extracting(DeliveryHistory::getStatus)
+                .containsExactly(ParcelStatus.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should write the parcel, its product lines and its history row for every item")
+    void createAll_PersistsEveryItem() {
+        ParcelBulkResultDTO result = parcelBulkService.createAll(items(PARCELS));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(result.getCreated()).isEqualTo(PARCELS);
+        assertThat(count("SELECT COUNT(p) FROM Parcel p")).isEqualTo(PARCELS);
+        assertThat(count("SELECT COUNT(pp) FROM ParcelProduct pp")).isEqualTo(PARCELS * 2L);
+        assertThat(count("SELECT COUNT(h) FROM DeliveryHistory h")).isEqualTo(PARCELS);
+    }
+
+    @Test
+    @DisplayName("Should apply the statistics rollups once per group for the whole batch")
+    void createAll_UpdatesRollups() {
+        parcelBulkService.createAll(items(PARCELS));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ParcelCounter> counters = parcelCounterRepository.findAll();
+        assertThat(counters).hasSize(1);
+        assertThat(counters.get(0).getParcelCount()).isEqualTo(PARCELS);
+        assertThat(counters.get(0).getTotalWeight()).isEqualByComparingTo(new BigDecimal("1.50").multiply(BigDecimal.valueOf(PARCELS)));
+
+        // One hourly and one daily bucket
+        assertThat(throughputBucketRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(bucket -> assertThat(bucket.getChangeCount()).isEqualTo(PARCELS));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized requests")
+    void createAll_RejectsInvalidRequestSize() {
+        assertThatThrownBy(() -> parcelBulkService.createAll(List.of()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> parcelBulkService.createAll(items(101)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("100");
+    }
+
+    private List<ParcelCreateDTO> items(int count) {
+        return IntStream.range(0, count).mapToObj(i -> item()).toList();
+    }
+
+    private ParcelCreateDTO item() {
+        ParcelCreateDTO dto = new ParcelCreateDTO();
+        dto.setWeight(new BigDecimal("1.50"));
+        dto.setPriority(ParcelPriority.NORMAL);
+        dto.setDestinationCity("Casablanca");
+        dto.setSenderClientId(senderClient.getId());
+        dto.setRecipientId(recipient.getId());
+        dto.setProducts(new ArrayList<>(List.of(
+                new ParcelProductItemDTO(phone.getId(), 1, phone.getPrice()),
+                new ParcelProductItemDTO(charger.getId(), 2, charger.getPrice()))));
+        return dto;
+    }
+
+    private long count(String jpql) {
+        return entityManager.getEntityManager().createQuery(jpql, Long.class).getSingleResult();
+    }
+}
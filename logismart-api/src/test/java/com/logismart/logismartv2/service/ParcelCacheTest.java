@@ -0,0 +1,134 @@
+package com.logismart.logismartv2.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.ParcelProductChangedEvent;
+import com.logismart.logismartv2.exception.ResourceNotFoundException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelProductMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class,
+        ParcelProductService.class, ParcelProductMapperImpl.class, ParcelCacheEvictor.class})
+@RecordApplicationEvents
+@DisplayName("Parcel Cache Tests")
+class ParcelCacheTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ParcelProductService parcelProductService;
+
+    @Autowired
+    private ParcelCacheEvictor cacheEvictor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Parcel parcel;
+    private ParcelProduct line;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PARCELS).clear();
+
+        SenderClient senderClient = entityManager.persist(TestFixtures.senderClient());
+        Recipient recipient = entityManager.persist(TestFixtures.recipient());
+        Product product = entityManager.persist(TestFixtures.product("Phone", "1500.00"));
+
+        parcel = entityManager.persist(TestFixtures.parcel(senderClient, recipient).build());
+        line = entityManager.persist(TestFixtures.parcelProduct(parcel, product, 2));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads of a parcel from the cache and record hits and misses")
+    void findById_ReadsThroughCache() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.PARCELS);
+        CacheStats before = cache.getNativeCache().stats();
+        ParcelResponseDTO first = parcelService.findById(parcel.getId());
+
+        entityManager.clear();
+        ParcelResponseDTO second = parcelService.findById(parcel.getId());
+
+        assertThat(second).isSameAs(first);
+
+        CacheStats stats = cache.getNativeCache().stats().minus(before);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload a parcel once a change to its product lines is committed")
+    void findById_ReloadsAfterProductLineEviction() {
+        assertThat(parcelService.findById(parcel.getId()).getProductCount()).isEqualTo(1);
+        entityManager.clear();
+
+        parcelProductService.delete(line.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(events.stream(ParcelProductChangedEvent.class))
+                .extracting(ParcelProductChangedEvent::getParcelId)
+                .containsExactly(parcel.getId());
+
+        // Eviction waits for the commit, which the test transaction never reaches
+        assertThat(parcelService.findById(parcel.getId()).getProductCount()).isEqualTo(1);
+
+        cacheEvictor.onParcelProductChanged(new ParcelProductChangedEvent(this, parcel.getId()));
+
+        assertThat(parcelService.findById(parcel.getId()).getProductCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache missing parcels")
+    void findById_MissingParcelNotCached() {
+        assertThatThrownBy(() -> parcelService.findById("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(cacheManager.getCache(CacheConfig.PARCELS).get("missing")).isNull();
+    }
+}
@@ -0,0 +1,179 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.ParcelAggregateDTO;
+import com.logismart.logismartv2.dto.statistics.ParcelScanFilter;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.repository.ParcelRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "app.statistics.columnar.enabled=true")
+@ActiveProfiles("test")
+@Import(ParcelColumnarSnapshot.class)
+@DisplayName("Parcel Columnar Snapshot Tests")
+class ParcelColumnarSnapshotTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelColumnarSnapshot snapshot;
+
+    @Autowired
+    private ParcelRepository parcelRepository;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private Zone zone;
+    private DeliveryPerson deliveryPerson;
+
+    @BeforeEach
+    void setUp() {
+        zone = entityManager.persist(TestFixtures.zone("Marrakech Gueliz", "40000"));
+
+        deliveryPerson = TestFixtures.courier();
+        deliveryPerson.setAssignedZone(zone);
+        entityManager.persist(deliveryPerson);
+
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+    }
+
+    @Test
+    @DisplayName("Should load parcels and group them by zone, city and status")
+    void aggregate_AfterLoad() {
+        persistParcel(zone, deliveryPerson, ParcelStatus.IN_TRANSIT, ParcelPriority.EXPRESS, "2.50", "Marrakech");
+        persistParcel(zone, null, ParcelStatus.CREATED, ParcelPriority.NORMAL, "1.25", "Marrakech");
+        persistParcel(null, null, ParcelStatus.CREATED, ParcelPriority.NORMAL, "4.00", "Agadir");
+        entityManager.flush();
+
+        snapshot.reload();
+
+        assertThat(snapshot.isReady()).isTrue();
+
+        List<ParcelAggregateDTO> all = snapshot.aggregate(ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.NONE);
+        assertThat(all).extracting(ParcelAggregateDTO::getParcelCount).containsExactlyInAnyOrder(2L, 1L);
+        assertThat(all.stream().map(ParcelAggregateDTO::getTotalWeight).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("7.75");
+        assertThat(all.stream().mapToLong(ParcelAggregateDTO::getUnassignedCount).sum()).isEqualTo(2L);
+
+        Map<String, Long> byCity = snapshot.aggregate(ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.CITY)
+                .stream()
+                .collect(Collectors.groupingBy(ParcelAggregateDTO::getGroupId,
+                        Collectors.summingLong(ParcelAggregateDTO::getParcelCount)));
+        assertThat(byCity).containsExactlyInAnyOrderEntriesOf(Map.of("marrakech", 2L, "agadir", 1L));
+
+        List<ParcelAggregateDTO> inZone = snapshot.aggregate(
+                ParcelScanFilter.builder().zoneId(zone.getId()).status(ParcelStatus.IN_TRANSIT).build(),
+                ParcelColumnarSnapshot.Dimension.DELIVERY_PERSON);
+        assertThat(inZone).singleElement().satisfies(row -> {
+            assertThat(row.getGroupId()).isEqualTo(deliveryPerson.getId());
+            assertThat(row.getPriority()).isEqualTo(ParcelPriority.EXPRESS);
+            assertThat(row.getTotalWeight()).isEqualByComparingTo("2.50");
+        });
+
+        assertThat(snapshot.aggregate(ParcelScanFilter.builder().zoneId("unknown").build(),
+                ParcelColumnarSnapshot.Dimension.NONE)).isEmpty();
+        assertThat(snapshot.aggregate(ParcelScanFilter.builder().zoneIds(List.of(zone.getId(), "unknown")).build(),
+                ParcelColumnarSnapshot.Dimension.ZONE))
+                .allSatisfy(row -> assertThat(row.getGroupId()).isEqualTo(zone.getId()))
+                .extracting(ParcelAggregateDTO::getParcelCount).containsExactlyInAnyOrder(1L, 1L);
+        assertThat(snapshot.aggregate(ParcelScanFilter.builder().zoneIds(List.of("unknown")).build(),
+                ParcelColumnarSnapshot.Dimension.ZONE)).isEmpty();
+        assertThat(snapshot.aggregate(ParcelScanFilter.builder().createdFrom(LocalDateTime.now().plusDays(1)).build(),
+                ParcelColumnarSnapshot.Dimension.NONE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply committed changes and reuse freed rows")
+    void onParcelChanged_UpdatesRows() {
+        Parcel parcel = persistParcel(zone, null, ParcelStatus.CREATED, ParcelPriority.NORMAL, "1.00", "Marrakech");
+        entityManager.flush();
+        snapshot.reload();
+
+        ParcelSnapshot before = ParcelSnapshot.of(parcel);
+        parcel.setStatus(ParcelStatus.DELIVERED);
+        parcel.setDeliveryPerson(deliveryPerson);
+        ParcelSnapshot after = ParcelSnapshot.of(parcel);
+        snapshot.onParcelChanged(new ParcelChangedEvent(this, before, after));
+
+        assertThat(snapshot.aggregate(ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.NONE))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.getStatus()).isEqualTo(ParcelStatus.DELIVERED);
+                    assertThat(row.getUnassignedCount()).isZero();
+                });
+
+        snapshot.onParcelChanged(new ParcelChangedEvent(this, after, null));
+        assertThat(snapshot.aggregate(ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.NONE)).isEmpty();
+
+        ParcelSnapshot created = new ParcelSnapshot("new-parcel", null, null, ParcelStatus.CREATED,
+                ParcelPriority.URGENT, new BigDecimal("3.00"), "Fes", LocalDateTime.now(), null, null);
+        snapshot.onParcelChanged(new ParcelChangedEvent(this, null, created));
+        assertThat(snapshot.aggregate(ParcelScanFilter.builder().destinationCity("Fes").build(),
+                ParcelColumnarSnapshot.Dimension.NONE))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getPriority()).isEqualTo(ParcelPriority.URGENT));
+    }
+
+    @Test
+    @DisplayName("Should filter and group cities regardless of case, like the database")
+    void aggregate_CityIgnoresCaseLikeDatabase() {
+        persistParcel(zone, null, ParcelStatus.CREATED, ParcelPriority.NORMAL, "1.00", "Tanger");
+        persistParcel(zone, null, ParcelStatus.CREATED, ParcelPriority.NORMAL, "2.00", "TANGER");
+        persistParcel(zone, null, ParcelStatus.CREATED, ParcelPriority.NORMAL, "3.00", "Fes");
+        entityManager.flush();
+
+        snapshot.reload();
+
+        assertThat(snapshot.aggregate(ParcelScanFilter.builder().destinationCity("tanger").build(),
+                ParcelColumnarSnapshot.Dimension.NONE))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getParcelCount()).isEqualTo(2L));
+
+        // The two sources of ParcelService.groupByCity: snapshot when ready, database otherwise
+        Map<String, Long> fromSnapshot = snapshot.aggregate(ParcelScanFilter.ALL, ParcelColumnarSnapshot.Dimension.CITY)
+                .stream()
+                .collect(Collectors.groupingBy(ParcelAggregateDTO::getGroupId,
+                        Collectors.summingLong(ParcelAggregateDTO::getParcelCount)));
+        Map<String, Long> fromDatabase = parcelRepository.countByDestinationCity().stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
+        assertThat(fromSnapshot).containsExactlyInAnyOrderEntriesOf(Map.of("tanger", 2L, "fes", 1L));
+        assertThat(fromDatabase).isEqualTo(fromSnapshot);
+    }
+
+    private Parcel persistParcel(Zone parcelZone, DeliveryPerson courier, ParcelStatus status,
+                                 ParcelPriority priority, String weight, String city) {
+        return entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                .weight(weight).status(status).priority(priority).destinationCity(city)
+                .zone(parcelZone).deliveryPerson(courier).build());
+    }
+}
@@ -0,0 +1,137 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.repository.ParcelCounterRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ParcelCounterService.class)
+@DisplayName("Parcel Counter Service Tests")
+class ParcelCounterServiceTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelCounterService parcelCounterService;
+
+    @Autowired
+    private ParcelCounterRepository parcelCounterRepository;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private Zone zone;
+    private DeliveryPerson deliveryPerson;
+
+    @BeforeEach
+    void setUp() {
+        zone = entityManager.persist(TestFixtures.zone("Rabat Agdal", "10080"));
+
+        deliveryPerson = TestFixtures.courier();
+        deliveryPerson.setAssignedZone(zone);
+        entityManager.persist(deliveryPerson);
+
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+    }
+
+    @Test
+    @DisplayName("Should keep counters equal to a full rebuild, with no emptied groups left, across create, update and delete")
+    void onParcelChanged_MatchesRebuild() {
+        Parcel first = persistParcel("2.00", ParcelPriority.NORMAL);
+        Parcel second = persistParcel("3.50", ParcelPriority.EXPRESS);
+        Parcel third = persistParcel("1.25", ParcelPriority.NORMAL);
+        publishCreated(first);
+        publishCreated(second);
+        publishCreated(third);
+
+        ParcelSnapshot before = ParcelSnapshot.of(first);
+        first.setStatus(ParcelStatus.IN_TRANSIT);
+        first.setZone(zone);
+        first.setDeliveryPerson(deliveryPerson);
+        first.setWeight(new BigDecimal("2.50"));
+        parcelCounterService.onParcelChanged(new ParcelChangedEvent(this, before, ParcelSnapshot.of(first)));
+
+        ParcelSnapshot removed = ParcelSnapshot.of(third);
+        entityManager.remove(third);
+        parcelCounterService.onParcelChanged(new ParcelChangedEvent(this, removed, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ParcelCounter> incremental = counters();
+
+        parcelCounterService.rebuild();
+        entityManager.clear();
+        List<ParcelCounter> rebuilt = counters();
+
+        assertThat(incremental).hasSize(2);
+        assertThat(incremental)
+                .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*\\$\\$_hibernate_.*")
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(rebuilt);
+    }
+
+    @Test
+    @DisplayName("Should ignore updates that do not move the parcel to another group")
+    void onParcelChanged_SameGroup_NoChange() {
+        Parcel parcel = persistParcel("2.00", ParcelPriority.URGENT);
+        publishCreated(parcel);
+
+        ParcelSnapshot before = ParcelSnapshot.of(parcel);
+        parcel.setDescription("Fragile");
+        parcelCounterService.onParcelChanged(new ParcelChangedEvent(this, before, ParcelSnapshot.of(parcel)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ParcelCounter> counters = counters();
+        assertThat(counters).hasSize(1);
+        assertThat(counters.get(0).getParcelCount()).isEqualTo(1L);
+        assertThat(counters.get(0).getTotalWeight()).isEqualByComparingTo("2.00");
+        assertThat(counters.get(0).getId().getZoneId()).isEqualTo(ParcelCounterId.NONE);
+    }
+
+    private void publishCreated(Parcel parcel) {
+        parcelCounterService.onParcelChanged(new ParcelChangedEvent(this, null, ParcelSnapshot.of(parcel)));
+    }
+
+    private List<ParcelCounter> counters() {
+        return parcelCounterRepository.findAll().stream()
+                .sorted(Comparator.comparing((ParcelCounter c) -> c.getId().getStatus())
+                        .thenComparing(c -> c.getId().getPriority()))
+                .toList();
+    }
+
+    private Parcel persistParcel(String weight, ParcelPriority priority) {
+        return entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                .weight(weight).priority(priority).destinationCity("Rabat").build());
+    }
+}
@@ -0,0 +1,127 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelCursorPageDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class})
+@DisplayName("Parcel Cursor Pagination Tests")
+class ParcelCursorPaginationTest {
+
+    private static final int PARCELS = 13;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @BeforeEach
+    void setUp() {
+        SenderClient senderClient = entityManager.persist(TestFixtures.senderClient());
+        Recipient recipient = entityManager.persist(TestFixtures.recipient());
+
+        for (int i = 0; i < PARCELS; i++) {
+            // Only three distinct weights, so pages must break ties on id
+            entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                    .weight(1 + i % 3 + ".00")
+                    .status(i % 2 == 0 ? ParcelStatus.CREATED : ParcelStatus.IN_TRANSIT)
+                    .destinationCity(i % 2 == 0 ? "Casablanca" : "Rabat")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should walk every parcel exactly once in (sort key, id) order")
+    void findAllByCursor_VisitsEveryParcelOnce() {
+        List<ParcelResponseDTO> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ParcelCursorPageDTO page = parcelService.findAllByCursor(cursor, "weight", Sort.Direction.ASC, 5, null);
+            visited.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(visited).hasSize(PARCELS);
+        assertThat(visited).extracting(ParcelResponseDTO::getId).doesNotHaveDuplicates();
+        assertThat(visited).isSortedAccordingTo(Comparator
+                .comparing(ParcelResponseDTO::getWeight)
+                .thenComparing(ParcelResponseDTO::getId));
+    }
+
+    @Test
+    @DisplayName("Should keep filters and the cursor's own ordering across pages")
+    void searchParcelsByCursor_FiltersAndCursorOrdering() {
+        ParcelCursorPageDTO first = parcelService.searchParcelsByCursor(ParcelStatus.CREATED,
+                null, null, null, null, null, null, null, null, "createdAt", Sort.Direction.DESC, 4, null);
+        // Sort arguments are ignored once a cursor is given
+        ParcelCursorPageDTO second = parcelService.searchParcelsByCursor(ParcelStatus.CREATED,
+                null, null, null, null, null, null, null, first.getNextCursor(), "weight", Sort.Direction.ASC, 4, null);
+
+        assertThat(first.getHasNext()).isTrue();
+        assertThat(second.getHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+
+        List<ParcelResponseDTO> visited = new ArrayList<>(first.getContent());
+        visited.addAll(second.getContent());
+        assertThat(visited).hasSize(7);
+        assertThat(visited).allSatisfy(parcel -> assertThat(parcel.getStatus()).isEqualTo(ParcelStatus.CREATED));
+        assertThat(visited).isSortedAccordingTo(Comparator
+                .comparing(ParcelResponseDTO::getCreatedAt)
+                .thenComparing(ParcelResponseDTO::getId)
+                .reversed());
+    }
+
+    @Test
+    @DisplayName("Should reject tampered cursors, unknown sort keys and oversized pages")
+    void findAllByCursor_InvalidInput() {
+        assertThatThrownBy(() -> parcelService.findAllByCursor("not-a-cursor", "createdAt", Sort.Direction.DESC, 20, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> parcelService.findAllByCursor(null, "description", Sort.Direction.DESC, 20, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> parcelService.findAllByCursor(null, "createdAt", Sort.Direction.DESC, 101, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
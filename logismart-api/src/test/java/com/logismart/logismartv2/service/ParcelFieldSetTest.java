@@ -0,0 +1,165 @@
+package com.logismart.logismartv2.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.config.JacksonConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.logismart.logismartv2.service.ParcelFieldSetTest$SqlRecorder")
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class, JacksonConfig.class})
+@DisplayName("Parcel Sparse Fieldset Tests")
+class ParcelFieldSetTest {
+
+    private static final int PARCELS = 3;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    /**
+     * Records the SQL sent to the database.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Zone zone;
+
+    @BeforeEach
+    void setUp() {
+        zone = entityManager.persist(TestFixtures.zone("Casablanca Centre", "20000"));
+        SenderClient senderClient = entityManager.persist(TestFixtures.senderClient());
+        Recipient recipient = entityManager.persist(TestFixtures.recipient());
+        Product product = entityManager.persist(TestFixtures.product("Phone", "1500.00"));
+
+        for (int i = 0; i < PARCELS; i++) {
+            Parcel parcel = entityManager.persist(TestFixtures.parcel(senderClient, recipient).zone(zone).build());
+            entityManager.persist(TestFixtures.parcelProduct(parcel, product, 2));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Should only join the relationships of the requested fields")
+    void searchParcels_SkipsJoinsOutsideFieldset() {
+        Page<ParcelResponseDTO> page = parcelService.searchParcels(ParcelStatus.CREATED,
+                null, null, null, null, null, null, null, PageRequest.of(0, 10), "status,zoneName");
+
+        assertThat(page.getContent()).hasSize(PARCELS);
+        assertThat(page.getContent()).allSatisfy(parcel -> {
+            assertThat(parcel.getStatus()).isEqualTo(ParcelStatus.CREATED);
+            assertThat(parcel.getZoneName()).isEqualTo("Casablanca Centre");
+            assertThat(parcel.getSenderClientId()).isNull();
+            assertThat(parcel.getRecipientId()).isNull();
+        });
+
+        String select = SqlRecorder.STATEMENTS.get(0);
+        assertThat(select).contains("zone");
+        assertThat(select).doesNotContain("sender_client", "recipient", "delivery_person", "parcel_product");
+    }
+
+    @Test
+    @DisplayName("Should read every relationship and aggregate when no fields are given")
+    void searchParcels_NoFieldsReadsEverything() {
+        Page<ParcelResponseDTO> page = parcelService.searchParcels(ParcelStatus.CREATED,
+                null, null, null, null, null, null, null, PageRequest.of(0, 10), null);
+
+        assertThat(page.getContent()).allSatisfy(parcel -> {
+            assertThat(parcel.getSenderClientName()).isEqualTo("Ahmed Benali");
+            assertThat(parcel.getRecipientName()).isEqualTo("Fatima Zahra");
+            assertThat(parcel.getProductCount()).isEqualTo(1);
+        });
+        assertThat(SqlRecorder.STATEMENTS.get(0)).contains("sender_client", "recipient", "parcel_product");
+    }
+
+    @Test
+    @DisplayName("Should write only the requested fields, plus id, to the NDJSON export")
+    void exportParcels_SerializesRequestedFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        parcelService.exportParcels(null, null, null, null, null, null, null, null,
+                "status, recipientName", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(PARCELS);
+        for (String line : lines) {
+            JsonNode json = objectMapper.readTree(line);
+            assertThat(json.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "status", "recipientName");
+            assertThat(json.get("recipientName").asText()).isEqualTo("Fatima Zahra");
+        }
+    }
+
+    @Test
+    @DisplayName("Should serialize every field when no filter is supplied")
+    void serialize_DefaultFilterKeepsAllFields() throws Exception {
+        ParcelResponseDTO parcel = parcelService.findByZoneId(zone.getId(), null).get(0);
+
+        JsonNode json = objectMapper.valueToTree(parcel);
+
+        assertThat(json.has("senderClientName")).isTrue();
+        assertThat(json.has("totalValue")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown field names")
+    void findAll_UnknownFieldRejected() {
+        assertThatThrownBy(() -> parcelService.findAll(PageRequest.of(0, 10), false, "status,password"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("password");
+    }
+}
@@ -0,0 +1,189 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapper;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement-count guard for the parcel list endpoints of ParcelController: mapping a list to
+ * ParcelResponseDTO must not lazily load senders, recipients, couriers, zones or products per parcel.
+ * List rows are read as projections, so they must also match what ParcelMapper builds from the entity.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class})
+@DisplayName("Parcel List Query Count Tests")
+class ParcelListQueryCountTest {
+
+    private static final int PARCELS = 12;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ParcelMapper parcelMapper;
+
+    private Statistics statistics;
+    private SenderClient senderClient;
+    private Recipient firstRecipient;
+    private Zone zone;
+    private DeliveryPerson deliveryPerson;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Zone[] zones = {
+                entityManager.persist(TestFixtures.zone("Casablanca Centre", "20000")),
+                entityManager.persist(TestFixtures.zone("Rabat Agdal", "10080"))};
+        DeliveryPerson[] couriers = {
+                entityManager.persist(TestFixtures.courier(0)),
+                entityManager.persist(TestFixtures.courier(1))};
+        zone = zones[0];
+        deliveryPerson = couriers[0];
+
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        Product product = entityManager.persist(TestFixtures.product("Phone", "1500.00"));
+
+        for (int i = 0; i < PARCELS; i++) {
+            Recipient recipient = entityManager.persist(TestFixtures.recipient(i));
+            if (i == 0) {
+                firstRecipient = recipient;
+            }
+
+            Parcel parcel = entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                    .status(i % 2 == 0 ? ParcelStatus.CREATED : ParcelStatus.DELIVERED)
+                    .priority(i % 4 == 0 ? ParcelPriority.EXPRESS : ParcelPriority.NORMAL)
+                    .destinationCity(i % 2 == 0 ? "Casablanca" : "Rabat")
+                    .zone(zones[i % 2])
+                    .deliveryPerson(i % 3 == 0 ? null : couriers[i % 2])
+                    .build());
+
+            for (int q = 1; q <= 2; q++) {
+                entityManager.persist(TestFixtures.parcelProduct(parcel, product, q));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should map every parcel list endpoint with a bounded number of statements")
+    void listEndpoints_BoundedStatementCount() {
+        // Bound = lookups done by the service + 1 parcel select (+ 1 count for pages) + 1 product batch
+        Map<String, Supplier<Collection<ParcelResponseDTO>>> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /api/parcels",
+                () -> parcelService.findAll(PageRequest.of(0, 5)).getContent());
+        endpoints.put("GET /api/parcels/status/{status}",
+                () -> parcelService.findByStatus(ParcelStatus.CREATED, null));
+        endpoints.put("GET /api/parcels/priority/{priority}",
+                () -> parcelService.findByPriority(ParcelPriority.NORMAL, null));
+        endpoints.put("GET /api/parcels/search",
+                () -> parcelService.searchParcels(null, null, zone.getId(), null, null, null, null, null,
+                        PageRequest.of(0, 5), null).getContent());
+        endpoints.put("GET /api/parcels/filter",
+                () -> parcelService.findByStatusAndPriority(ParcelStatus.DELIVERED, ParcelPriority.NORMAL, null));
+        endpoints.put("GET /api/parcels/sender/{senderClientId}",
+                () -> parcelService.findBySenderClientId(senderClient.getId(), null));
+        endpoints.put("GET /api/parcels/recipient/{recipientId}",
+                () -> parcelService.findByRecipientId(firstRecipient.getId(), null));
+        endpoints.put("GET /api/parcels/delivery-person/{deliveryPersonId}",
+                () -> parcelService.findByDeliveryPersonId(deliveryPerson.getId(), null));
+        endpoints.put("GET /api/parcels/zone/{zoneId}",
+                () -> parcelService.findByZoneId(zone.getId(), null));
+        endpoints.put("GET /api/parcels/unassigned",
+                () -> parcelService.findUnassignedParcels(null));
+        endpoints.put("GET /api/parcels/high-priority-pending",
+                () -> parcelService.findHighPriorityPending(null));
+        endpoints.put("GET /api/parcels/city/{city}",
+                () -> parcelService.findByDestinationCity("casa", null));
+        endpoints.put("GET /api/parcels/my-parcels (LIVREUR)",
+                () -> parcelService.findMyParcelsForDeliveryPerson("courier-user-0", null));
+        endpoints.put("GET /api/parcels/my-parcels (CLIENT)",
+                () -> parcelService.findMyParcelsForClient("client-user", null));
+
+        SoftAssertions softly = new SoftAssertions();
+        endpoints.forEach((endpoint, call) -> {
+            entityManager.clear();
+            statistics.clear();
+
+            Collection<ParcelResponseDTO> parcels = call.get();
+
+            softly.assertThat(parcels).as(endpoint).isNotEmpty();
+            softly.assertThat(parcels).as(endpoint)
+                    .allSatisfy(parcel -> {
+                        softly.assertThat(parcel.getSenderClientName()).isEqualTo("Ahmed Benali");
+                        softly.assertThat(parcel.getProductCount()).isEqualTo(2);
+                    });
+            softly.assertThat(statistics.getPrepareStatementCount()).as(endpoint).isLessThanOrEqualTo(4);
+        });
+        softly.assertAll();
+    }
+
+    @Test
+    @DisplayName("Should read list rows as projections matching the entity mapping")
+    void listEndpoints_ProjectionMatchesMapper() {
+        entityManager.clear();
+        statistics.clear();
+
+        List<ParcelResponseDTO> parcels = parcelService.findAll();
+
+        assertThat(parcels).hasSize(PARCELS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        for (ParcelResponseDTO projected : parcels) {
+            Parcel entity = entityManager.find(Parcel.class, projected.getId());
+            assertThat(projected)
+                    .usingRecursiveComparison()
+                    .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                    .isEqualTo(parcelMapper.toResponseDTO(entity));
+        }
+    }
+}
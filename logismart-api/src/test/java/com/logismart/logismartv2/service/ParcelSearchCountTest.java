@@ -0,0 +1,124 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class,
+        ParcelSearchCountCacheEvictor.class})
+@DisplayName("Parcel Search Count Tests")
+class ParcelSearchCountTest {
+
+    private static final int PARCELS = 11;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ParcelSearchCountCacheEvictor cacheEvictor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PARCEL_SEARCH_COUNTS).clear();
+
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+
+        for (int i = 0; i < PARCELS; i++) {
+            entityManager.persist(TestFixtures.parcel(senderClient, recipient).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should page a slice without a total")
+    void searchParcelsSlice_NoCount() {
+        Slice<ParcelResponseDTO> first = parcelService.searchParcelsSlice(ParcelStatus.CREATED,
+                null, null, null, null, null, null, null, PageRequest.of(0, 5), null);
+
+        assertThat(first).isNotInstanceOf(Page.class);
+        assertThat(first.getContent()).hasSize(5);
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<ParcelResponseDTO> last = parcelService.searchParcelsSlice(ParcelStatus.CREATED,
+                null, null, null, null, null, null, null, PageRequest.of(2, 5), null);
+
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reuse the total for equivalent filters until a parcel change is committed")
+    void searchParcels_CachesTotalPerFilterSignature() {
+        Page<ParcelResponseDTO> first = parcelService.searchParcels(ParcelStatus.CREATED,
+                null, null, "Casa", null, null, null, null, PageRequest.of(0, 5), null);
+        assertThat(first.getTotalElements()).isEqualTo(PARCELS);
+
+        // Written without a ParcelChangedEvent, so only a fresh count sees it
+        entityManager.persistAndFlush(TestFixtures.parcel(senderClient, recipient).build());
+
+        // Same rows selected: city case and unassignedOnly=false do not change the signature
+        Page<ParcelResponseDTO> second = parcelService.searchParcels(ParcelStatus.CREATED,
+                null, null, "casa", null, null, null, false, PageRequest.of(1, 5), null);
+        assertThat(second.getTotalElements()).isEqualTo(PARCELS);
+
+        cacheEvictor.onParcelChanged(new ParcelChangedEvent(this, null, null));
+
+        Page<ParcelResponseDTO> third = parcelService.searchParcels(ParcelStatus.CREATED,
+                null, null, "casa", null, null, null, null, PageRequest.of(0, 5), null);
+        assertThat(third.getTotalElements()).isEqualTo(PARCELS + 1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the exact total when no planner estimate is available")
+    void findAll_EstimatedTotalFallsBackToExactCount() {
+        Page<ParcelResponseDTO> page = parcelService.findAll(PageRequest.of(0, 5), true, null);
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(PARCELS);
+    }
+}
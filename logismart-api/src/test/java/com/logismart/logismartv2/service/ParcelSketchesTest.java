@@ -0,0 +1,131 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.DistributionStatisticsDTO;
+import com.logismart.logismartv2.dto.statistics.StatisticsMode;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.exception.ServiceUnavailableException;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({StatisticsService.class, ParcelSketches.class, LiveParcelCounters.class,
+        ParcelColumnarSnapshot.class, ThroughputService.class})
+@DisplayName("Parcel Sketches Tests")
+class ParcelSketchesTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ParcelSketches parcelSketches;
+
+    private SenderClient senderClient;
+
+    @BeforeEach
+    void setUp() {
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+
+        String[] cities = {"Casablanca", "Rabat", "Fes", "Tanger"};
+        for (int i = 0; i < 20; i++) {
+            Recipient recipient = entityManager.persist(TestFixtures.recipient(i));
+            Parcel parcel = entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                    .weight(String.valueOf(i + 1))
+                    .status(i % 2 == 0 ? ParcelStatus.DELIVERED : ParcelStatus.IN_TRANSIT)
+                    .destinationCity(cities[i % cities.length])
+                    .build());
+
+            if (parcel.getStatus() == ParcelStatus.DELIVERED) {
+                DeliveryHistory delivered = new DeliveryHistory(parcel, ParcelStatus.DELIVERED, null);
+                entityManager.persist(delivered);
+            }
+        }
+        entityManager.flush();
+        parcelSketches.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should match exact values on small data and report error bounds")
+    void getDistributionStatistics_ApproximateMatchesExact() {
+        DistributionStatisticsDTO exact = statisticsService.getDistributionStatistics(StatisticsMode.EXACT);
+        DistributionStatisticsDTO approximate = statisticsService.getDistributionStatistics(StatisticsMode.APPROXIMATE);
+
+        assertThat(exact.getMode()).isEqualTo(StatisticsMode.EXACT);
+        assertThat(exact.getDistinctDestinationCities().getValue()).isEqualTo(4.0);
+        assertThat(exact.getDistinctRecipients().getValue()).isEqualTo(20.0);
+        assertThat(exact.getDistinctSenders().getValue()).isEqualTo(1.0);
+        assertThat(exact.getWeightPercentiles()).containsEntry("p50", 10.0).containsEntry("p99", 20.0);
+        assertThat(exact.getDeliveriesMeasured()).isEqualTo(10L);
+        assertThat(exact.getPercentileRankError()).isZero();
+
+        assertThat(approximate.getMode()).isEqualTo(StatisticsMode.APPROXIMATE);
+        assertThat(approximate.getDistinctDestinationCities().getValue()).isEqualTo(4.0);
+        assertThat(approximate.getDistinctRecipients().getValue()).isEqualTo(20.0);
+        assertThat(approximate.getDistinctRecipients().getLowerBound()).isLessThanOrEqualTo(20.0);
+        assertThat(approximate.getDistinctRecipients().getUpperBound()).isGreaterThanOrEqualTo(20.0);
+        assertThat(approximate.getWeightPercentiles()).isEqualTo(exact.getWeightPercentiles());
+        assertThat(approximate.getDeliveriesMeasured()).isEqualTo(10L);
+        assertThat(approximate.getDistinctCountRelativeError()).isPositive();
+        assertThat(approximate.getPercentileRankError()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should answer APPROXIMATE with 503 until the sketches are built, EXACT from the database")
+    void getDistributionStatistics_NotBuiltYet() {
+        // As right after startup; setUp rebuilds them for the other tests
+        ReflectionTestUtils.setField(parcelSketches, "sketches", null);
+
+        assertThatThrownBy(() -> statisticsService.getDistributionStatistics(StatisticsMode.APPROXIMATE))
+                .isInstanceOf(ServiceUnavailableException.class);
+        DistributionStatisticsDTO exact = statisticsService.getDistributionStatistics(StatisticsMode.EXACT);
+        assertThat(exact.getParcelsMeasured()).isEqualTo(20L);
+        assertThat(exact.getWeightPercentiles())
+                .containsExactly(entry("p50", 10.0), entry("p90", 18.0), entry("p99", 20.0));
+    }
+
+    @Test
+    @DisplayName("Should add committed parcels to the sketches")
+    void onParcelChanged_AddsNewValues() {
+        ParcelSnapshot created = new ParcelSnapshot("new-parcel", null, null, ParcelStatus.CREATED,
+                ParcelPriority.EXPRESS, new BigDecimal("50.00"), "Agadir", LocalDateTime.now(),
+                senderClient.getId(), "new-recipient");
+        parcelSketches.onParcelChanged(new ParcelChangedEvent(this, null, created));
+
+        DistributionStatisticsDTO approximate = statisticsService.getDistributionStatistics(StatisticsMode.APPROXIMATE);
+
+        assertThat(approximate.getDistinctDestinationCities().getValue()).isEqualTo(5.0);
+        assertThat(approximate.getDistinctRecipients().getValue()).isEqualTo(21.0);
+        assertThat(approximate.getDistinctSenders().getValue()).isEqualTo(1.0);
+        assertThat(approximate.getParcelsMeasured()).isEqualTo(21L);
+        assertThat(approximate.getWeightPercentiles()).containsEntry("p99", 50.0);
+    }
+}
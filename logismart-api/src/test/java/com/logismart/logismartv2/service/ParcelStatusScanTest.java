@@ -0,0 +1,168 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanItemResultDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanResultDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.exception.ResourceNotFoundException;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.repository.DeliveryHistoryRepository;
+import com.logismart.logismartv2.repository.ThroughputBucketRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ParcelBulkService.class, ParcelMapperImpl.class, ProductCatalog.class,
+        ParcelCounterService.class, ThroughputService.class,
+        ValidationAutoConfiguration.class})
+@DisplayName("Parcel Status Scan Tests")
+class ParcelStatusScanTest {
+
+    private static final int PARCELS = 100;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelBulkService parcelBulkService;
+
+    @Autowired
+    private DeliveryHistoryRepository deliveryHistoryRepository;
+
+    @Autowired
+    private ThroughputBucketRepository throughputBucketRepository;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private DeliveryPerson courier;
+    private DeliveryPerson otherCourier;
+
+    @BeforeEach
+    void setUp() {
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+        courier = entityManager.persist(TestFixtures.courier());
+        otherCourier = entityManager.persist(TestFixtures.courier(1));
+
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should apply valid scans and report rejected ones by position")
+    void scanStatuses_ReportsPerItemResults() {
+        Parcel first = persistParcel(courier);
+        Parcel second = persistParcel(courier);
+        Parcel stocked = persistParcel(courier);
+        Parcel foreign = persistParcel(otherCourier);
+        entityManager.flush();
+        entityManager.clear();
+
+        LocalDateTime scannedAt = LocalDateTime.now().minusMinutes(30).truncatedTo(ChronoUnit.SECONDS);
+        List<ParcelStatusScanDTO> scans = List.of(
+                new ParcelStatusScanDTO(first.getId(), ParcelStatus.IN_TRANSIT, null),
+                new ParcelStatusScanDTO("missing-parcel", ParcelStatus.IN_TRANSIT, null),
+                new ParcelStatusScanDTO(foreign.getId(), ParcelStatus.IN_TRANSIT, null),
+                new ParcelStatusScanDTO(second.getId(), ParcelStatus.IN_TRANSIT, null),
+                new ParcelStatusScanDTO(first.getId(), ParcelStatus.DELIVERED, null),
+                new ParcelStatusScanDTO(stocked.getId(), ParcelStatus.IN_STOCK, scannedAt),
+                new ParcelStatusScanDTO(second.getId(), null, null));
+
+        ParcelStatusScanResultDTO result = parcelBulkService.scanStatuses(scans, "courier-user");
+        entityManager.clear();
+
+        assertThat(result.getRequested()).isEqualTo(7);
+        assertThat(result.getUpdated()).isEqualTo(3);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getResults()).extracting(ParcelStatusScanItemResultDTO::isUpdated)
+                .containsExactly(true, false, false, true, false, true, false);
+        assertThat(result.getResults().get(0).getPreviousStatus()).isEqualTo(ParcelStatus.COLLECTED);
+        assertThat(result.getResults().get(1).getErrors())
+                .containsExactly("Parcel not found with id : 'missing-parcel'");
+        assertThat(result.getResults().get(2).getErrors())
+                .containsExactly("You can only update status for parcels assigned to you");
+        assertThat(result.getResults().get(4).getErrors())
+                .containsExactly("Parcel is scanned more than once in this batch");
+        assertThat(result.getResults().get(6).getErrors()).containsExactly("Status is required");
+
+        Parcel updated = entityManager.find(Parcel.class, first.getId());
+        assertThat(updated.getStatus()).isEqualTo(ParcelStatus.IN_TRANSIT);
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(entityManager.find(Parcel.class, stocked.getId()).getStatus()).isEqualTo(ParcelStatus.IN_STOCK);
+        assertThat(entityManager.find(Parcel.class, foreign.getId()).getStatus()).isEqualTo(ParcelStatus.COLLECTED);
+
+        List<DeliveryHistory> history = deliveryHistoryRepository.findByParcelIdOrderByChangedAtAsc(stocked.getId());
+        assertThat(history).singleElement().satisfies(entry -> {
+            assertThat(entry.getStatus()).isEqualTo(ParcelStatus.IN_STOCK);
+            assertThat(entry.getChangedAt()).isEqualTo(scannedAt);
+            assertThat(entry.getComment()).isEqualTo("Status updated from COLLECTED to IN_STOCK by delivery person scan");
+        });
+    }
+
+    @Test
+    @DisplayName("Should apply a whole depot load with its history and throughput rollups")
+    void scanStatuses_AppliesDepotLoad() {
+        List<ParcelStatusScanDTO> scans = new ArrayList<>();
+        for (int i = 0; i < PARCELS; i++) {
+            ParcelStatus target = i % 2 == 0 ? ParcelStatus.IN_TRANSIT : ParcelStatus.IN_STOCK;
+            scans.add(new ParcelStatusScanDTO(persistParcel(courier).getId(), target, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ParcelStatusScanResultDTO result = parcelBulkService.scanStatuses(scans, "courier-user");
+        entityManager.flush();
+
+        assertThat(result.getUpdated()).isEqualTo(PARCELS);
+
+        entityManager.clear();
+        assertThat(deliveryHistoryRepository.countByStatus(ParcelStatus.IN_TRANSIT)).isEqualTo(PARCELS / 2L);
+        // One hourly and one daily throughput bucket per target status
+        assertThat(throughputBucketRepository.findAll())
+                .hasSize(4)
+                .allSatisfy(bucket -> assertThat(bucket.getChangeCount()).isEqualTo(PARCELS / 2));
+    }
+
+    @Test
+    @DisplayName("Should reject empty batches and callers without a delivery person profile")
+    void scanStatuses_RejectsInvalidRequests() {
+        assertThatThrownBy(() -> parcelBulkService.scanStatuses(List.of(), "courier-user"))
+                .isInstanceOf(BadRequestException.class);
+        List<ParcelStatusScanDTO> scans = List.of(new ParcelStatusScanDTO("any", ParcelStatus.IN_TRANSIT, null));
+        assertThatThrownBy(() -> parcelBulkService.scanStatuses(scans, "unknown-user"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private Parcel persistParcel(DeliveryPerson deliveryPerson) {
+        return entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                .status(ParcelStatus.COLLECTED).deliveryPerson(deliveryPerson).build());
+    }
+}
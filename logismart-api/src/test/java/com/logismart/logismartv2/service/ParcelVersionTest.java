@@ -0,0 +1,200 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.controller.ParcelController;
+import com.logismart.logismartv2.dto.deliveryhistory.DeliveryHistoryCreateDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelUpdateDTO;
+import com.logismart.logismartv2.dto.parcelproduct.ParcelProductCreateDTO;
+import com.logismart.logismartv2.dto.recipient.RecipientUpdateDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.ResourceNotFoundException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelProductMapperImpl;
+import com.logismart.logismartv2.mapper.RecipientMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class,
+        ParcelProductService.class, ParcelProductMapperImpl.class, DeliveryHistoryService.class,
+        RecipientService.class, RecipientMapperImpl.class})
+@DisplayName("Parcel Version Tests")
+class ParcelVersionTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ParcelProductService parcelProductService;
+
+    @Autowired
+    private DeliveryHistoryService deliveryHistoryService;
+
+    @Autowired
+    private RecipientService recipientService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Parcel parcel;
+    private Product product;
+    private DeliveryPerson courier;
+    private Recipient recipient;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PARCELS).clear();
+
+        SenderClient senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+        courier = entityManager.persist(TestFixtures.courier());
+        product = entityManager.persist(TestFixtures.product("Phone", "1500.00"));
+        parcel = entityManager.persist(TestFixtures.parcel(senderClient, recipient).build());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should read the version and reject unknown parcels")
+    void getParcelVersion_ReadsVersion() {
+        assertThat(parcelService.getParcelVersion(parcel.getId())).isZero();
+
+        assertThatThrownBy(() -> parcelService.getParcelVersion("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should bump the version on parcel, product line and history changes")
+    void version_ChangesWithEveryRepresentationChange() {
+        ParcelUpdateDTO update = new ParcelUpdateDTO();
+        update.setId(parcel.getId());
+        update.setDescription("Fragile");
+        parcelService.update(update);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(parcelService.getParcelVersion(parcel.getId())).isEqualTo(1);
+
+        ParcelProductCreateDTO line = new ParcelProductCreateDTO();
+        line.setParcelId(parcel.getId());
+        line.setProductId(product.getId());
+        line.setQuantity(1);
+        line.setPrice(product.getPrice());
+        parcelProductService.create(line);
+        entityManager.clear();
+        assertThat(parcelService.getParcelVersion(parcel.getId())).isEqualTo(2);
+
+        DeliveryHistoryCreateDTO history = new DeliveryHistoryCreateDTO();
+        history.setParcelId(parcel.getId());
+        history.setStatus(ParcelStatus.COLLECTED);
+        history.setComment("Picked up");
+        deliveryHistoryService.create(history);
+        entityManager.clear();
+        assertThat(parcelService.getParcelVersion(parcel.getId())).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reload a cached parcel mapped from an older version")
+    void findById_ReloadsStaleCachedVersion() {
+        ParcelResponseDTO cached = parcelService.findVersionedById(parcel.getId(), 0L).response();
+        assertThat(parcelService.findVersionedById(parcel.getId(), 0L).response()).isSameAs(cached);
+
+        ParcelUpdateDTO update = new ParcelUpdateDTO();
+        update.setId(parcel.getId());
+        update.setDescription("Fragile");
+        parcelService.update(update);
+        entityManager.flush();
+        entityManager.clear();
+
+        // The after-commit eviction has not run: the entry is stale but its version says so
+        ParcelResponseDTO fresh = parcelService.findVersionedById(parcel.getId(), 1L).response();
+        assertThat(fresh).isNotSameAs(cached);
+        assertThat(fresh.getDescription()).isEqualTo("Fragile");
+    }
+
+    @Test
+    @DisplayName("Should change the my-parcels version when a parcel joins or changes in the collection")
+    void myParcelsVersion_TracksMembershipAndChanges() {
+        String empty = parcelService.getMyParcelsVersionForDeliveryPerson("courier-user");
+        String client = parcelService.getMyParcelsVersionForClient("client-user");
+
+        ParcelUpdateDTO assign = new ParcelUpdateDTO();
+        assign.setId(parcel.getId());
+        assign.setDeliveryPersonId(courier.getId());
+        parcelService.update(assign);
+        entityManager.flush();
+        entityManager.clear();
+
+        String assigned = parcelService.getMyParcelsVersionForDeliveryPerson("courier-user");
+        assertThat(assigned).isNotEqualTo(empty).startsWith("1-");
+        assertThat(parcelService.getMyParcelsVersionForDeliveryPerson("courier-user")).isEqualTo(assigned);
+        // Same parcel set for the sender, but the parcel itself changed
+        assertThat(parcelService.getMyParcelsVersionForClient("client-user")).isNotEqualTo(client);
+    }
+
+    @Test
+    @DisplayName("Should answer 200 to a stale If-None-Match once the recipient is edited")
+    void getParcelById_RecipientEditInvalidatesETag() {
+        ParcelController controller = new ParcelController(parcelService, null, null);
+        ResponseEntity<ParcelResponseDTO> first = controller.getParcelById(parcel.getId(), null, webRequest(null));
+        String eTag = first.getHeaders().getETag();
+        assertThat(controller.getParcelById(parcel.getId(), null, webRequest(eTag))).isNull();
+
+        RecipientUpdateDTO update = new RecipientUpdateDTO();
+        update.setId(recipient.getId());
+        update.setPhone("+212600000099");
+        recipientService.update(update);
+        entityManager.flush();
+        entityManager.clear();
+
+        ResponseEntity<ParcelResponseDTO> second = controller.getParcelById(parcel.getId(), null, webRequest(eTag));
+        assertThat(second).isNotNull();
+        assertThat(second.getStatusCode().value()).isEqualTo(200);
+        assertThat(second.getHeaders().getETag()).isNotEqualTo(eTag);
+        assertThat(second.getBody().getRecipientPhone()).isEqualTo("+212600000099");
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/parcels/id");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
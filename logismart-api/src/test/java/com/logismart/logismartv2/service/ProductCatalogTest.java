@@ -0,0 +1,160 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.parcel.ParcelCreateDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelProductItemDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelResponseDTO;
+import com.logismart.logismartv2.dto.product.ProductCreateDTO;
+import com.logismart.logismartv2.dto.product.ProductResponseDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.mapper.ProductMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ParcelService.class, ParcelMapperImpl.class, DeliveryHistoryMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class,
+        ProductService.class, ProductMapperImpl.class, NdjsonWriter.class, JacksonAutoConfiguration.class})
+@DisplayName("Product Catalog Tests")
+class ProductCatalogTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private Product phone;
+    private Product charger;
+
+    @BeforeEach
+    void setUp() {
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+
+        phone = entityManager.persist(TestFixtures.product("Phone", "Electronics", "1500.00"));
+        charger = entityManager.persist(TestFixtures.product("Charger", "Accessories", "120.00"));
+
+        entityManager.flush();
+        entityManager.clear();
+        // Other test classes share the catalog bean: start from a snapshot of this test's products
+        productCatalog.invalidate();
+    }
+
+    @Test
+    @DisplayName("Should validate and reference the products of a new parcel without loading them")
+    void create_UsesCatalogForProductLines() {
+        assertThat(productCatalog.contains(phone.getId())).isTrue();
+
+        ParcelCreateDTO dto = new ParcelCreateDTO();
+        dto.setWeight(new BigDecimal("1.50"));
+        dto.setPriority(ParcelPriority.NORMAL);
+        dto.setDestinationCity("Casablanca");
+        dto.setSenderClientId(senderClient.getId());
+        dto.setRecipientId(recipient.getId());
+        dto.setProducts(new ArrayList<>(List.of(
+                new ParcelProductItemDTO(phone.getId(), 1, phone.getPrice()),
+                new ParcelProductItemDTO(charger.getId(), 2, charger.getPrice()))));
+        ParcelResponseDTO created = parcelService.create(dto);
+        entityManager.flush();
+
+        // Lines point at uninitialized references: the catalog did the validation
+        assertThat(entityManager.find(Parcel.class, created.getId()).getParcelProducts())
+                .allSatisfy(line -> assertThat(Hibernate.isInitialized(line.getProduct())).isFalse());
+        entityManager.clear();
+        Parcel parcel = entityManager.find(Parcel.class, created.getId());
+        assertThat(parcel.getParcelProducts())
+                .extracting(line -> line.getProduct().getId())
+                .containsExactlyInAnyOrder(phone.getId(), charger.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve lookups and categories from one load")
+    void searchAndCategories_ServedFromSnapshot() {
+        assertThat(productService.findAllCategories()).containsExactly("Accessories", "Electronics");
+        long version = productCatalog.version();
+
+        assertThat(productService.findAllCategories()).containsExactly("Accessories", "Electronics");
+        assertThat(productService.searchByNameOrCategory("ELEC"))
+                .extracting(ProductResponseDTO::getName)
+                .containsExactly("Phone");
+        assertThat(productService.searchByNameOrCategory("ch"))
+                .extracting(ProductResponseDTO::getFormattedPrice)
+                .containsExactly("120.00 MAD");
+        assertThat(productCatalog.version()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Should find products added since the load through the database and reload")
+    void contains_FallsBackToDatabase() {
+        assertThat(productCatalog.categories()).doesNotContain("Books");
+        long version = productCatalog.version();
+
+        Product book = entityManager.persist(TestFixtures.product("Novel", "Books", "80.00"));
+        entityManager.flush();
+
+        assertThat(productCatalog.contains(book.getId())).isTrue();
+        assertThat(productCatalog.version()).isGreaterThan(version);
+        assertThat(productCatalog.categories()).contains("Books");
+        assertThat(productCatalog.contains("missing-product")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop the snapshot once a product write completes, even when it rolls back")
+    void productWrite_InvalidatesAfterCompletion() {
+        ProductCreateDTO dto = new ProductCreateDTO();
+        dto.setName("Tablet");
+        dto.setCategory("Tablets");
+        dto.setWeight(new BigDecimal("0.50"));
+        dto.setPrice(new BigDecimal("2500.00"));
+        ProductResponseDTO tablet = productService.create(dto);
+
+        // Loaded inside the writing transaction, so the snapshot sees the uncommitted product
+        assertThat(productCatalog.contains(tablet.getId())).isTrue();
+        long version = productCatalog.version();
+
+        TestTransaction.end();
+
+        assertThat(productCatalog.version()).isGreaterThan(version);
+        assertThat(productCatalog.categories()).doesNotContain("Tablets");
+        assertThat(productCatalog.contains(tablet.getId())).isFalse();
+    }
+}
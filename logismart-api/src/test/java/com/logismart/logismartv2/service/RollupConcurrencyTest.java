@@ -0,0 +1,236 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanDTO;
+import com.logismart.logismartv2.dto.parcel.ParcelStatusScanResultDTO;
+import com.logismart.logismartv2.entity.BucketGranularity;
+import com.logismart.logismartv2.entity.DeliveryPerson;
+import com.logismart.logismartv2.entity.Parcel;
+import com.logismart.logismartv2.entity.ParcelPriority;
+import com.logismart.logismartv2.entity.ParcelStatus;
+import com.logismart.logismartv2.entity.Recipient;
+import com.logismart.logismartv2.entity.SenderClient;
+import com.logismart.logismartv2.entity.ThroughputBucket;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
+import com.logismart.logismartv2.event.ParcelChangedEvent;
+import com.logismart.logismartv2.event.ParcelSnapshot;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.repository.DeliveryHistoryRepository;
+import com.logismart.logismartv2.repository.DeliveryPersonRepository;
+import com.logismart.logismartv2.repository.ParcelCounterRepository;
+import com.logismart.logismartv2.repository.ParcelRepository;
+import com.logismart.logismartv2.repository.RecipientRepository;
+import com.logismart.logismartv2.repository.SenderClientRepository;
+import com.logismart.logismartv2.repository.ThroughputBucketRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rollup rows and parcel statuses written by concurrent, committed transactions: runs outside the test transaction.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ThroughputService.class, ParcelCounterService.class, ParcelBulkService.class, ParcelMapperImpl.class,
+        ProductCatalog.class, ValidationAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Rollup Concurrency Tests")
+class RollupConcurrencyTest {
+
+    private static final int WRITERS = 8;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ThroughputService throughputService;
+
+    @Autowired
+    private ThroughputBucketRepository throughputBucketRepository;
+
+    @Autowired
+    private ParcelCounterService parcelCounterService;
+
+    @Autowired
+    private ParcelCounterRepository parcelCounterRepository;
+
+    @Autowired
+    private ParcelBulkService parcelBulkService;
+
+    @Autowired
+    private ParcelRepository parcelRepository;
+
+    @Autowired
+    private DeliveryHistoryRepository deliveryHistoryRepository;
+
+    @Autowired
+    private DeliveryPersonRepository deliveryPersonRepository;
+
+    @Autowired
+    private SenderClientRepository senderClientRepository;
+
+    @Autowired
+    private RecipientRepository recipientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        throughputBucketRepository.deleteAll();
+        parcelCounterRepository.deleteAll();
+        deliveryHistoryRepository.deleteAll();
+        parcelRepository.deleteAll();
+        deliveryPersonRepository.deleteAll();
+        senderClientRepository.deleteAll();
+        recipientRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should count every creation when concurrent writers open the same throughput bucket")
+    void throughputBucket_ConcurrentFirstWrites() throws Exception {
+        LocalDateTime changedAt = LocalDateTime.now();
+        ParcelSnapshot parcel = snapshot();
+
+        runConcurrently(() -> throughputService.onDeliveryHistoryRecorded(
+                new DeliveryHistoryRecordedEvent(this, parcel, ParcelStatus.CREATED, changedAt, 1)));
+
+        // One hourly and one daily bucket, each counting every writer
+        assertThat(throughputBucketRepository.findAll())
+                .hasSize(BucketGranularity.values().length)
+                .extracting(ThroughputBucket::getChangeCount)
+                .containsOnly((long) WRITERS);
+    }
+
+    @Test
+    @DisplayName("Should count every parcel when concurrent writers create the first parcel of a group")
+    void parcelCounter_ConcurrentFirstWrites() throws Exception {
+        ParcelSnapshot parcel = snapshot();
+
+        runConcurrently(() -> parcelCounterService.onParcelChanged(new ParcelChangedEvent(this, null, parcel)));
+
+        assertThat(parcelCounterRepository.findAll()).singleElement().satisfies(counter -> {
+            assertThat(counter.getParcelCount()).isEqualTo(WRITERS);
+            assertThat(counter.getTotalWeight())
+                    .isEqualByComparingTo(new BigDecimal("1.50").multiply(BigDecimal.valueOf(WRITERS)));
+        });
+    }
+
+    @Test
+    @DisplayName("Should scan the status committed by a concurrent update rather than overwrite it")
+    void scanStatuses_WaitsForConcurrentStatusChange() throws Exception {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Parcel parcel = template.execute(status -> persistAssignedParcel());
+        CountDownLatch locked = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> update = executor.submit(() -> template.executeWithoutResult(status -> {
+                Parcel current = entityManager.find(Parcel.class, parcel.getId(), LockModeType.PESSIMISTIC_WRITE);
+                current.setStatus(ParcelStatus.IN_TRANSIT);
+                entityManager.flush();
+                locked.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            ParcelStatusScanResultDTO result = template.execute(status -> parcelBulkService.scanStatuses(
+                    List.of(new ParcelStatusScanDTO(parcel.getId(), ParcelStatus.DELIVERED, null)), "courier-user"));
+            update.get(30, TimeUnit.SECONDS);
+
+            assertThat(result.getResults()).singleElement()
+                    .satisfies(item -> assertThat(item.getPreviousStatus()).isEqualTo(ParcelStatus.IN_TRANSIT));
+            assertThat(parcelRepository.findVersionById(parcel.getId())).contains(2L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Parcel persistAssignedParcel() {
+        SenderClient senderClient = senderClientRepository.save(TestFixtures.senderClient());
+        Recipient recipient = recipientRepository.save(TestFixtures.recipient());
+        DeliveryPerson courier = deliveryPersonRepository.save(TestFixtures.courier());
+        return parcelRepository.save(TestFixtures.parcel(senderClient, recipient)
+                .weight("1.50").status(ParcelStatus.COLLECTED).deliveryPerson(courier).build());
+    }
+
+    /**
+     * Starts {@link #WRITERS} transactions at once, each holding its write open for a moment so the others
+     * reach the same row before it commits. Fails if any of them fails.
+     */
+    private void runConcurrently(Runnable write) throws Exception {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    template.executeWithoutResult(status -> {
+                        write.run();
+                        pause();
+                    });
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ParcelSnapshot snapshot() {
+        return new ParcelSnapshot("parcel-1", null, null, ParcelStatus.CREATED, ParcelPriority.NORMAL,
+                new BigDecimal("1.50"), "Casablanca", LocalDateTime.now(), "sender-1", "recipient-1");
+    }
+}
@@ -0,0 +1,141 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.statistics.DeliveryPersonStatisticsDTO;
+import com.logismart.logismartv2.support.TestFixtures;
+import com.logismart.logismartv2.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({StatisticsService.class, ParcelCounterService.class, LiveParcelCounters.class,
+        ParcelColumnarSnapshot.class, ThroughputService.class, ParcelSketches.class})
+@DisplayName("Statistics Service Query Count Tests")
+class StatisticsServiceQueryCountTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ParcelCounterService parcelCounterService;
+
+    private Statistics statistics;
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private Zone zone;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        zone = entityManager.persist(TestFixtures.zone("Casablanca Centre", "20000"));
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+    }
+
+    @Test
+    @DisplayName("Should build all courier statistics with a constant number of statements")
+    void getAllDeliveryPersonStatistics_StatementCountIndependentOfCourierCount() {
+        addDeliveryPersons(3);
+        long fewCouriers = countStatements(() -> statisticsService.getAllDeliveryPersonStatistics());
+
+        addDeliveryPersons(30);
+        long manyCouriers = countStatements(() -> statisticsService.getAllDeliveryPersonStatistics());
+
+        assertThat(fewCouriers).isEqualTo(1);
+        assertThat(manyCouriers).isEqualTo(fewCouriers);
+    }
+
+    @Test
+    @DisplayName("Should aggregate parcels per courier and keep couriers without parcels")
+    void getAllDeliveryPersonStatistics_AggregatesPerCourier() {
+        DeliveryPerson busy = persistCourier(zone);
+        DeliveryPerson idle = persistCourier(null);
+        persistParcel(busy, ParcelStatus.DELIVERED, "2.00");
+        persistParcel(busy, ParcelStatus.DELIVERED, "1.00");
+        persistParcel(busy, ParcelStatus.IN_TRANSIT, "3.00");
+        entityManager.flush();
+        parcelCounterService.rebuild();
+        entityManager.clear();
+
+        List<DeliveryPersonStatisticsDTO> result = statisticsService.getAllDeliveryPersonStatistics();
+
+        assertThat(result).hasSize(2);
+        DeliveryPersonStatisticsDTO busyStats = result.stream()
+                .filter(s -> s.getDeliveryPersonId().equals(busy.getId())).findFirst().orElseThrow();
+        assertThat(busyStats.getDeliveryPersonName()).isEqualTo("Courier N0");
+        assertThat(busyStats.getZoneName()).isEqualTo("Casablanca Centre");
+        assertThat(busyStats.getTotalParcels()).isEqualTo(3L);
+        assertThat(busyStats.getTotalWeight()).isEqualByComparingTo("6.00");
+        assertThat(busyStats.getAverageWeight()).isEqualByComparingTo("2.00");
+        assertThat(busyStats.getParcelsDelivered()).isEqualTo(2L);
+        assertThat(busyStats.getParcelsInTransit()).isEqualTo(1L);
+        assertThat(busyStats.getDeliveryRate()).isEqualTo(66.67);
+
+        DeliveryPersonStatisticsDTO idleStats = result.stream()
+                .filter(s -> s.getDeliveryPersonId().equals(idle.getId())).findFirst().orElseThrow();
+        assertThat(idleStats.getZoneName()).isEqualTo("Unassigned");
+        assertThat(idleStats.getTotalParcels()).isZero();
+        assertThat(idleStats.getTotalWeight()).isEqualByComparingTo("0");
+        assertThat(idleStats.getDeliveryRate()).isZero();
+    }
+
+    private void addDeliveryPersons(int count) {
+        for (int i = 0; i < count; i++) {
+            DeliveryPerson deliveryPerson = persistCourier(zone);
+            persistParcel(deliveryPerson, ParcelStatus.IN_TRANSIT, "1.50");
+            persistParcel(deliveryPerson, ParcelStatus.DELIVERED, "2.50");
+        }
+        entityManager.flush();
+        parcelCounterService.rebuild();
+        entityManager.clear();
+    }
+
+    private DeliveryPerson persistCourier(Zone assignedZone) {
+        DeliveryPerson deliveryPerson = TestFixtures.courier(sequence++);
+        deliveryPerson.setAssignedZone(assignedZone);
+        return entityManager.persist(deliveryPerson);
+    }
+
+    private void persistParcel(DeliveryPerson deliveryPerson, ParcelStatus status, String weight) {
+        entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                .weight(weight).status(status).zone(zone).deliveryPerson(deliveryPerson).build());
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,207 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.config.CacheConfig;
+import com.logismart.logismartv2.dto.deliveryhistory.DeliveryHistoryCreateDTO;
+import com.logismart.logismartv2.dto.statistics.ThroughputPointDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.event.DeliveryHistoryRecordedEvent;
+import com.logismart.logismartv2.exception.BadRequestException;
+import com.logismart.logismartv2.mapper.DeliveryHistoryMapperImpl;
+import com.logismart.logismartv2.mapper.ParcelMapperImpl;
+import com.logismart.logismartv2.repository.ThroughputBucketRepository;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ThroughputService.class, DeliveryHistoryService.class, DeliveryHistoryMapperImpl.class,
+        NdjsonWriter.class, JacksonAutoConfiguration.class, ParcelService.class, ParcelMapperImpl.class,
+        LiveParcelCounters.class, ParcelColumnarSnapshot.class, ProductCatalog.class, CacheConfig.class})
+@DisplayName("Throughput Service Tests")
+class ThroughputServiceTest {
+
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ThroughputService throughputService;
+
+    @Autowired
+    private DeliveryHistoryService deliveryHistoryService;
+
+    @Autowired
+    private ParcelService parcelService;
+
+    @Autowired
+    private ThroughputBucketRepository throughputBucketRepository;
+
+    private Zone zone;
+    private Parcel parcel;
+
+    @BeforeEach
+    void setUp() {
+        zone = entityManager.persist(TestFixtures.zone("Casablanca Maarif", "20330"));
+        SenderClient senderClient = entityManager.persist(TestFixtures.senderClient());
+        Recipient recipient = entityManager.persist(TestFixtures.recipient());
+
+        parcel = entityManager.persist(TestFixtures.parcel(senderClient, recipient).weight("1.50").zone(zone).build());
+    }
+
+    @Test
+    @DisplayName("Should bucket recorded history and fill empty buckets with zeros")
+    void getTimeseries_GapFilled() {
+        record(ParcelStatus.CREATED, DAY_ONE.plusHours(9).plusMinutes(5), 1);
+        record(ParcelStatus.COLLECTED, DAY_ONE.plusHours(11).plusMinutes(40), 1);
+        record(ParcelStatus.DELIVERED, DAY_ONE.plusDays(2).plusHours(16), 1);
+        entityManager.flush();
+
+        List<ThroughputPointDTO> daily = throughputService.getTimeseries(
+                BucketGranularity.DAY, DAY_ONE, DAY_ONE.plusDays(3), null, null);
+
+        assertThat(daily).extracting(ThroughputPointDTO::getBucketStart)
+                .containsExactly(DAY_ONE, DAY_ONE.plusDays(1), DAY_ONE.plusDays(2));
+        assertThat(daily).extracting(ThroughputPointDTO::getTotalChanges).containsExactly(2L, 0L, 1L);
+        assertThat(daily.get(0).getParcelsCreated()).isEqualTo(1L);
+        assertThat(daily.get(0).getParcelsCollected()).isEqualTo(1L);
+        assertThat(daily.get(2).getParcelsDelivered()).isEqualTo(1L);
+
+        List<ThroughputPointDTO> hourly = throughputService.getTimeseries(
+                BucketGranularity.HOUR, DAY_ONE.plusHours(9), DAY_ONE.plusHours(12), zone.getId(), null);
+
+        assertThat(hourly).extracting(ThroughputPointDTO::getTotalChanges).containsExactly(1L, 0L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should decrement buckets when history is removed")
+    void onDeliveryHistoryRecorded_NegativeDelta() {
+        record(ParcelStatus.CREATED, DAY_ONE.plusHours(8), 1);
+        record(ParcelStatus.CREATED, DAY_ONE.plusHours(8), -1);
+        entityManager.flush();
+
+        List<ThroughputPointDTO> daily = throughputService.getTimeseries(
+                BucketGranularity.DAY, DAY_ONE, DAY_ONE.plusDays(1), null, null);
+
+        assertThat(daily).singleElement().extracting(ThroughputPointDTO::getTotalChanges).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("Should decrement the buckets a removed row was counted in, even after the parcel moved zone")
+    void delete_DecrementsOriginalAttribution() {
+        String historyId = deliveryHistoryService.create(
+                new DeliveryHistoryCreateDTO(parcel.getId(), ParcelStatus.COLLECTED, null)).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Zone otherZone = entityManager.persist(TestFixtures.zone("Rabat Agdal", "10090"));
+        entityManager.find(Parcel.class, parcel.getId()).setZone(otherZone);
+        entityManager.flush();
+        entityManager.clear();
+
+        deliveryHistoryService.delete(historyId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(throughputBucketRepository.findAll())
+                .hasSize(BucketGranularity.values().length)
+                .allSatisfy(bucket -> {
+                    assertThat(bucket.getId().getZoneId()).isEqualTo(zone.getId());
+                    assertThat(bucket.getChangeCount()).isZero();
+                });
+    }
+
+    @Test
+    @DisplayName("Should leave the same buckets as a rebuild after deleting a parcel with history")
+    void parcelDelete_MatchesRebuild() {
+        Parcel kept = entityManager.persist(TestFixtures.parcel(parcel.getSenderClient(), parcel.getRecipient())
+                .weight("2.00").zone(zone).build());
+        deliveryHistoryService.create(new DeliveryHistoryCreateDTO(parcel.getId(), ParcelStatus.CREATED, null));
+        deliveryHistoryService.create(new DeliveryHistoryCreateDTO(parcel.getId(), ParcelStatus.COLLECTED, null));
+        deliveryHistoryService.create(new DeliveryHistoryCreateDTO(kept.getId(), ParcelStatus.CREATED, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        parcelService.delete(parcel.getId());
+        entityManager.flush();
+        entityManager.clear();
+        Map<ThroughputBucketId, Long> incremental = nonEmptyBuckets();
+
+        throughputService.rebuild(LocalDateTime.now().minusDays(1));
+        entityManager.clear();
+
+        assertThat(incremental).isNotEmpty().isEqualTo(nonEmptyBuckets());
+    }
+
+    @Test
+    @DisplayName("Should rebuild buckets from delivery history")
+    void rebuild_FromHistory() {
+        persistHistory(ParcelStatus.CREATED);
+        persistHistory(ParcelStatus.COLLECTED);
+        entityManager.flush();
+
+        int written = throughputService.rebuild(LocalDateTime.now().minusDays(1));
+        entityManager.clear();
+
+        LocalDateTime today = BucketGranularity.DAY.truncate(LocalDateTime.now());
+        List<ThroughputPointDTO> daily = throughputService.getTimeseries(
+                BucketGranularity.DAY, today, today.plusDays(1), zone.getId(), null);
+
+        assertThat(written).isGreaterThanOrEqualTo(4);
+        assertThat(daily).singleElement().satisfies(point -> {
+            assertThat(point.getParcelsCreated()).isEqualTo(1L);
+            assertThat(point.getParcelsCollected()).isEqualTo(1L);
+            assertThat(point.getTotalChanges()).isEqualTo(2L);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject hourly ranges longer than the limit")
+    void getTimeseries_RangeTooLarge() {
+        assertThatThrownBy(() -> throughputService.getTimeseries(
+                BucketGranularity.HOUR, DAY_ONE, DAY_ONE.plusDays(40), null, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void record(ParcelStatus status, LocalDateTime changedAt, int delta) {
+        DeliveryHistory history = new DeliveryHistory(null, status, changedAt, null);
+        history.setParcel(parcel);
+        throughputService.onDeliveryHistoryRecorded(new DeliveryHistoryRecordedEvent(this, history, delta));
+    }
+
+    private Map<ThroughputBucketId, Long> nonEmptyBuckets() {
+        return throughputBucketRepository.findAll().stream()
+                .filter(bucket -> bucket.getChangeCount() != 0)
+                .collect(Collectors.toMap(ThroughputBucket::getId, ThroughputBucket::getChangeCount));
+    }
+
+    private void persistHistory(ParcelStatus status) {
+        entityManager.persist(new DeliveryHistory(parcel, status, null));
+    }
+}
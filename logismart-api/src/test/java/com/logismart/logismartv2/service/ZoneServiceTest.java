@@ -7,6 +7,7 @@ import com.logismart.logismartv2.entity.Zone;
 import com.logismart.logismartv2.exception.DuplicateResourceException;
 import com.logismart.logismartv2.exception.ResourceNotFoundException;
 import com.logismart.logismartv2.mapper.ZoneMapper;
+import com.logismart.logismartv2.repository.ParcelRepository;
 import com.logismart.logismartv2.repository.ZoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +36,12 @@ class ZoneServiceTest {
     @Mock
     private ZoneMapper zoneMapper;
 
+    @Mock
+    private ParcelRepository parcelRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ZoneService zoneService;
 
@@ -163,6 +171,7 @@ class ZoneServiceTest {
         // Then
         assertThat(result).isNotNull();
         verify(zoneRepository).save(zone);
+        verify(parcelRepository).incrementVersionByZoneId(zone.getId());
     }
 
     @Test
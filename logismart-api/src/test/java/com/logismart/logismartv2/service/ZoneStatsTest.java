@@ -0,0 +1,101 @@
+package com.logismart.logismartv2.service;
+
+import com.logismart.logismartv2.dto.zone.ZoneStatsDTO;
+import com.logismart.logismartv2.entity.*;
+import com.logismart.logismartv2.exception.ResourceNotFoundException;
+import com.logismart.logismartv2.mapper.ZoneMapperImpl;
+import com.logismart.logismartv2.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ZoneService.class, ZoneMapperImpl.class, ParcelColumnarSnapshot.class})
+@DisplayName("Zone Stats Tests")
+class ZoneStatsTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackages = "com.logismart.logismartv2.entity")
+    @EnableJpaRepositories(basePackages = "com.logismart.logismartv2.repository")
+    static class JpaTestConfig {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ZoneService zoneService;
+
+    private SenderClient senderClient;
+    private Recipient recipient;
+    private DeliveryPerson deliveryPerson;
+    private Zone busy;
+    private Zone empty;
+
+    @BeforeEach
+    void setUp() {
+        busy = entityManager.persist(TestFixtures.zone("Casablanca Centre", "20000"));
+        empty = entityManager.persist(TestFixtures.zone("Rabat Agdal", "10080"));
+        deliveryPerson = entityManager.persist(TestFixtures.courier());
+        senderClient = entityManager.persist(TestFixtures.senderClient());
+        recipient = entityManager.persist(TestFixtures.recipient());
+
+        persistParcel("2.00", ParcelStatus.IN_TRANSIT, deliveryPerson);
+        persistParcel("1.25", ParcelStatus.DELIVERED, deliveryPerson);
+        persistParcel("0.75", ParcelStatus.CREATED, null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should compute zone statistics")
+    void getStats_Aggregates() {
+        ZoneStatsDTO stats = zoneService.getStats(busy.getId());
+
+        assertThat(stats.getZoneName()).isEqualTo("Casablanca Centre");
+        assertThat(stats.getTotalParcels()).isEqualTo(3L);
+        assertThat(stats.getTotalWeight()).isEqualTo(4.0);
+        assertThat(stats.getInTransitParcels()).isEqualTo(1L);
+        assertThat(stats.getDeliveredParcels()).isEqualTo(1L);
+        assertThat(stats.getUnassignedParcels()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should return stats for several zones in request order, zeros for empty zones")
+    void getStats_Batch() {
+        List<ZoneStatsDTO> stats = zoneService.getStats(List.of(empty.getId(), busy.getId()));
+
+        assertThat(stats).extracting(ZoneStatsDTO::getZoneId).containsExactly(empty.getId(), busy.getId());
+        assertThat(stats.get(0).getTotalParcels()).isZero();
+        assertThat(stats.get(0).getTotalWeight()).isZero();
+        assertThat(stats.get(0).getUnassignedParcels()).isZero();
+        assertThat(stats.get(1).getTotalParcels()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should throw when one of the zones does not exist")
+    void getStats_BatchMissingZone() {
+        assertThatThrownBy(() -> zoneService.getStats(List.of(busy.getId(), "missing")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void persistParcel(String weight, ParcelStatus status, DeliveryPerson courier) {
+        entityManager.persist(TestFixtures.parcel(senderClient, recipient)
+                .weight(weight).status(status).zone(busy).deliveryPerson(courier).build());
+    }
+}
@@ -0,0 +1,161 @@
+package com.logismart.logismartv2.support;
+
+import com.logismart.logismartv2.entity.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Valid, unsaved entities for JPA tests. The no-argument variants are the single sender,
+ * recipient and courier most tests need; the indexed variants get distinct emails, phones
+ * and user ids so several can be persisted side by side.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static SenderClient senderClient() {
+        SenderClient senderClient = new SenderClient();
+        senderClient.setFirstName("Ahmed");
+        senderClient.setLastName("Benali");
+        senderClient.setEmail("ahmed@example.com");
+        senderClient.setPhone("+212600000001");
+        senderClient.setAddress("12 Rue Atlas");
+        senderClient.setUserId("client-user");
+        return senderClient;
+    }
+
+    public static SenderClient senderClient(int index) {
+        SenderClient senderClient = new SenderClient();
+        senderClient.setFirstName("Client");
+        senderClient.setLastName("N" + index);
+        senderClient.setEmail("client" + index + "@example.com");
+        senderClient.setPhone(String.format("+2126000002%02d", index));
+        senderClient.setAddress(index + " Rue Atlas");
+        senderClient.setUserId("client-user-" + index);
+        return senderClient;
+    }
+
+    public static Recipient recipient() {
+        Recipient recipient = new Recipient();
+        recipient.setFirstName("Fatima");
+        recipient.setLastName("Zahra");
+        recipient.setEmail("fatima@example.com");
+        recipient.setPhone("+212600000002");
+        recipient.setAddress("5 Avenue Hassan II");
+        return recipient;
+    }
+
+    public static Recipient recipient(int index) {
+        Recipient recipient = new Recipient();
+        recipient.setFirstName("Recipient");
+        recipient.setLastName("N" + index);
+        recipient.setEmail("recipient" + index + "@example.com");
+        recipient.setPhone(String.format("+2126000001%02d", index));
+        recipient.setAddress(index + " Avenue Hassan II");
+        return recipient;
+    }
+
+    public static DeliveryPerson courier() {
+        DeliveryPerson courier = new DeliveryPerson();
+        courier.setFirstName("Youssef");
+        courier.setLastName("Alami");
+        courier.setPhone("+212600000003");
+        courier.setVehicle("Scooter");
+        courier.setUserId("courier-user");
+        return courier;
+    }
+
+    public static DeliveryPerson courier(int index) {
+        DeliveryPerson courier = new DeliveryPerson();
+        courier.setFirstName("Courier");
+        courier.setLastName("N" + index);
+        courier.setPhone(String.format("+2126100%05d", index));
+        courier.setUserId("courier-user-" + index);
+        return courier;
+    }
+
+    public static Zone zone(String name, String postalCode) {
+        Zone zone = new Zone();
+        zone.setName(name);
+        zone.setPostalCode(postalCode);
+        return zone;
+    }
+
+    public static Product product(String name, String price) {
+        return product(name, null, price);
+    }
+
+    public static Product product(String name, String category, String price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory(category);
+        product.setWeight(new BigDecimal("0.30"));
+        product.setPrice(new BigDecimal(price));
+        return product;
+    }
+
+    public static ParcelProduct parcelProduct(Parcel parcel, Product product, int quantity) {
+        ParcelProduct line = new ParcelProduct();
+        line.setParcel(parcel);
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        line.setPrice(product.getPrice());
+        return line;
+    }
+
+    /**
+     * A 1.00 kg, normal-priority parcel to Casablanca in status CREATED, with no zone or courier.
+     */
+    public static ParcelBuilder parcel(SenderClient senderClient, Recipient recipient) {
+        return new ParcelBuilder(senderClient, recipient);
+    }
+
+    public static final class ParcelBuilder {
+
+        private final Parcel parcel = new Parcel();
+
+        private ParcelBuilder(SenderClient senderClient, Recipient recipient) {
+            parcel.setSenderClient(senderClient);
+            parcel.setRecipient(recipient);
+            parcel.setWeight(new BigDecimal("1.00"));
+            parcel.setStatus(ParcelStatus.CREATED);
+            parcel.setPriority(ParcelPriority.NORMAL);
+            parcel.setDestinationCity("Casablanca");
+        }
+
+        public ParcelBuilder weight(String weight) {
+            parcel.setWeight(new BigDecimal(weight));
+            return this;
+        }
+
+        public ParcelBuilder status(ParcelStatus status) {
+            parcel.setStatus(status);
+            return this;
+        }
+
+        public ParcelBuilder priority(ParcelPriority priority) {
+            parcel.setPriority(priority);
+            return this;
+        }
+
+        public ParcelBuilder destinationCity(String destinationCity) {
+            parcel.setDestinationCity(destinationCity);
+            return this;
+        }
+
+        public ParcelBuilder zone(Zone zone) {
+            parcel.setZone(zone);
+            return this;
+        }
+
+        public ParcelBuilder deliveryPerson(DeliveryPerson deliveryPerson) {
+            parcel.setDeliveryPerson(deliveryPerson);
+            return this;
+        }
+
+        public Parcel build() {
+            return parcel;
+        }
+    }
+}